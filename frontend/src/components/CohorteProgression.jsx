@@ -0,0 +1,127 @@
+// src/components/CohorteProgression.jsx
+import { useRef, useState } from 'react';
+import {
+  Alert,
+  Box,
+  Button,
+  Card,
+  CardContent,
+  Chip,
+  LinearProgress,
+  Typography
+} from '@mui/material';
+import { Groups as GroupsIcon, UploadFile as UploadFileIcon, Stop as StopIcon } from '@mui/icons-material';
+import api from '../services/api';
+
+// Nombre de lignes de résultat gardées à l'écran (les plus récentes)
+const LIGNES_AFFICHEES = 20;
+
+function formaterDuree(secondes) {
+  if (secondes == null) return '—';
+  if (secondes < 60) return `${Math.ceil(secondes)} s`;
+  return `${Math.floor(secondes / 60)} min ${Math.ceil(secondes % 60)} s`;
+}
+
+export default function CohorteProgression() {
+  const [progression, setProgression] = useState(null);
+  const [lignes, setLignes] = useState([]);
+  const [bilan, setBilan] = useState(null);
+  const [erreur, setErreur] = useState('');
+  const [enCours, setEnCours] = useState(false);
+  const annulation = useRef(null);
+
+  // Fichier JSON : même corps que POST /api/mgp/calculer/cohorte
+  // ([{ nomEtudiant, ues: [{ nom, credits, note }] }, ...])
+  const handleFichier = async (event) => {
+    const fichier = event.target.files?.[0];
+    event.target.value = '';
+    if (!fichier) return;
+
+    setErreur('');
+    setBilan(null);
+    setLignes([]);
+    setProgression(null);
+    setEnCours(true);
+    annulation.current = new AbortController();
+    try {
+      const entrees = JSON.parse(await fichier.text());
+      const resultat = await api.suivreCalculCohorte(entrees, (evenement) => {
+        setProgression(evenement);
+        if (evenement.resultats?.length) {
+          setLignes(precedentes => [...precedentes, ...evenement.resultats].slice(-LIGNES_AFFICHEES));
+        }
+      }, { signal: annulation.current.signal });
+      setProgression(resultat);
+      setBilan(resultat);
+    } catch (error) {
+      if (error.name !== 'AbortError') {
+        setErreur(error.message || 'Erreur lors du calcul de la cohorte');
+      }
+    } finally {
+      setEnCours(false);
+      annulation.current = null;
+    }
+  };
+
+  const handleArreter = () => {
+    annulation.current?.abort();
+  };
+
+  const pourcentage = progression?.total ? (progression.traites / progression.total) * 100 : 0;
+
+  return (
+    <Card sx={{ maxWidth: 900, mx: 'auto', mt: 4 }}>
+      <CardContent>
+        <Box sx={{ display: 'flex', alignItems: 'center', mb: 2 }}>
+          <GroupsIcon sx={{ mr: 2, color: 'primary.main' }} />
+          <Typography variant="h6">Calcul d'une cohorte</Typography>
+        </Box>
+
+        <Box sx={{ display: 'flex', gap: 2, mb: 2 }}>
+          <Button
+            component="label"
+            variant="contained"
+            startIcon={<UploadFileIcon />}
+            disabled={enCours}
+          >
+            Charger un fichier JSON
+            <input type="file" accept="application/json,.json" hidden onChange={handleFichier} />
+          </Button>
+          {enCours && (
+            <Button variant="outlined" color="error" startIcon={<StopIcon />} onClick={handleArreter}>
+              Arrêter
+            </Button>
+          )}
+        </Box>
+
+        {erreur && <Alert severity="error" sx={{ mb: 2 }}>{erreur}</Alert>}
+
+        {progression && (
+          <Box sx={{ mb: 2 }}>
+            <LinearProgress variant="determinate" value={pourcentage} sx={{ height: 8, borderRadius: 4, mb: 1 }} />
+            <Box sx={{ display: 'flex', flexWrap: 'wrap', gap: 1 }}>
+              <Chip size="small" label={`${progression.traites} / ${progression.total} étudiants`} />
+              <Chip size="small" color={progression.echecs ? 'warning' : 'default'}
+                    label={`${progression.echecs} en erreur`} />
+              <Chip size="small" label={`${progression.debit != null ? progression.debit.toFixed(0) : '—'} / s`} />
+              {!bilan && <Chip size="small" label={`Reste ${formaterDuree(progression.secondesRestantes)}`} />}
+            </Box>
+          </Box>
+        )}
+
+        {bilan && (
+          <Alert severity="success" sx={{ mb: 2 }}>
+            Calcul terminé : {bilan.traites} étudiants, dont {bilan.echecs} en erreur
+          </Alert>
+        )}
+
+        {lignes.map(ligne => (
+          <Typography key={ligne.index} variant="body2" color={ligne.erreur ? 'error' : 'text.primary'}>
+            {ligne.nomEtudiant || `Entrée ${ligne.index + 1}`} :{' '}
+            {ligne.erreur || `${ligne.resultat.mgp.toFixed(2)} (${ligne.resultat.mention})`}
+          </Typography>
+        ))}
+      </CardContent>
+    </Card>
+  );
+}
@@ -3,6 +3,7 @@ import { Container, Typography, Box, Button, Breadcrumbs, Link } from '@mui/mate
 import { useNavigate } from 'react-router-dom';
 import { Home, Calculate, ArrowBack } from '@mui/icons-material';
 import UeInputForm from '../components/UeInputForm';
+import CohorteProgression from '../components/CohorteProgression';
 
 export default function CalculatorPage() {
   const navigate = useNavigate();
@@ -132,6 +133,9 @@ export default function CalculatorPage() {
 
       {/* Formulaire Principal */}
       <UeInputForm />
+
+      {/* Cohorte complète, avancement en direct */}
+      <CohorteProgression />
     </Container>
   );
 }
\ No newline at end of file
@@ -1,7 +1,9 @@
 import axios from 'axios';
 
+const BASE_URL = 'http://localhost:8080/api/mgp';
+
 const api = axios.create({
-  baseURL: 'http://localhost:8080/api/mgp',
+  baseURL: BASE_URL,
   headers: {
     'Content-Type': 'application/json'
   }
@@ -36,5 +38,52 @@ export default {
       console.error('Erreur PDF:', error);
       throw error;
     }
+  },
+
+  // Calcul d'une cohorte suivi en direct (Server-Sent Events sur POST) :
+  // onProgression reçoit { traites, total, echecs, debit, secondesRestantes, resultats }
+  // au plus quatre fois par seconde (par défaut) ; la promesse renvoie le bilan final.
+  // Annuler le signal interrompt aussi le calcul côté serveur.
+  async suivreCalculCohorte(entrees, onProgression, { bareme, autoSave = true, signal } = {}) {
+    const params = new URLSearchParams({ autoSave });
+    if (bareme) params.set('bareme', bareme);
+    const response = await fetch(`${BASE_URL}/calculer/cohorte?${params}`, {
+      method: 'POST',
+      headers: { 'Content-Type': 'application/json', Accept: 'text/event-stream' },
+      body: JSON.stringify(entrees),
+      signal
+    });
+    if (response.status === 429) {
+      const delai = response.headers.get('Retry-After');
+      throw new Error(`Serveur occupé, réessayez dans ${delai || 'quelques'} s`);
+    }
+    if (!response.ok) {
+      throw new Error(`Erreur serveur (${response.status})`);
+    }
+
+    const lecteur = response.body.pipeThrough(new TextDecoderStream()).getReader();
+    let tampon = '';
+    for (;;) {
+      const { value, done } = await lecteur.read();
+      if (done) break;
+      tampon += value.replace(/\r\n/g, '\n');
+      let fin;
+      while ((fin = tampon.indexOf('\n\n')) >= 0) {
+        const bloc = tampon.slice(0, fin);
+        tampon = tampon.slice(fin + 2);
+        let evenement = 'message';
+        const donnees = [];
+        for (const ligne of bloc.split('\n')) {
+          if (ligne.startsWith('event:')) evenement = ligne.slice(6).trim();
+          else if (ligne.startsWith('data:')) donnees.push(ligne.slice(5));
+        }
+        if (donnees.length === 0) continue;
+        const contenu = JSON.parse(donnees.join('\n'));
+        if (evenement === 'progression') onProgression(contenu);
+        else if (evenement === 'fin') return contenu;
+        else if (evenement === 'erreur') throw new Error(contenu.message);
+      }
+    }
+    throw new Error('Flux interrompu avant la fin du calcul');
   }
 };
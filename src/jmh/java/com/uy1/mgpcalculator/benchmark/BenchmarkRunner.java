@@ -0,0 +1,48 @@
+package com.uy1.mgpcalculator.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+
+/**
+ * Lance les benchmarks JMH une fois par nombre de threads demandé
+ * Chaque exécution produit un fichier JSON (jmh-t{threads}.json) exploitable
+ * pour comparer les versions entre elles
+ *
+ * Arguments : répertoire de sortie, inclusions, threads (ex: "1,4"),
+ * forks, itérations de chauffe, itérations de mesure
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException {
+        File repertoire = new File(args.length > 0 ? args[0] : "target/jmh");
+        String inclusions = args.length > 1 ? args[1] : ".*Benchmark.*";
+        String threads = args.length > 2 ? args[2] : "1," + Runtime.getRuntime().availableProcessors();
+        int forks = args.length > 3 ? Integer.parseInt(args[3]) : 1;
+        int chauffe = args.length > 4 ? Integer.parseInt(args[4]) : 3;
+        int mesures = args.length > 5 ? Integer.parseInt(args[5]) : 5;
+
+        repertoire.mkdirs();
+
+        for (String valeur : threads.split(",")) {
+            int nombreThreads = Integer.parseInt(valeur.trim());
+            Options options = new OptionsBuilder()
+                    .include(inclusions)
+                    .exclude(BenchmarkRunner.class.getSimpleName())
+                    .threads(nombreThreads)
+                    .forks(forks)
+                    .warmupIterations(chauffe)
+                    .measurementIterations(mesures)
+                    .jvmArgsAppend("-Dspring.devtools.restart.enabled=false")
+                    .resultFormat(ResultFormatType.JSON)
+                    .result(new File(repertoire, "jmh-t" + nombreThreads + ".json").getPath())
+                    .build();
+
+            new Runner(options).run();
+        }
+    }
+}
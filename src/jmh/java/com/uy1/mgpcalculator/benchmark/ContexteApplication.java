@@ -0,0 +1,41 @@
+package com.uy1.mgpcalculator.benchmark;
+
+import com.uy1.mgpcalculator.MgpCalculatorUy1Application;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Contexte Spring partagé par tous les threads d'un benchmark
+ * Démarre l'application sans serveur web, avec la base H2 embarquée
+ */
+@State(Scope.Benchmark)
+public class ContexteApplication {
+
+    private ConfigurableApplicationContext contexte;
+
+    @Setup
+    public void demarrer() {
+        contexte = new SpringApplicationBuilder(MgpCalculatorUy1Application.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                    "spring.main.banner-mode=off",
+                    "spring.datasource.url=jdbc:h2:mem:mgpbench;DB_CLOSE_ON_EXIT=FALSE",
+                    "spring.jpa.show-sql=false",
+                    "logging.level.root=WARN")
+                .run();
+    }
+
+    @TearDown
+    public void arreter() {
+        contexte.close();
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return contexte.getBean(type);
+    }
+}
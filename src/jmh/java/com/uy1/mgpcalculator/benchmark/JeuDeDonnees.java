@@ -0,0 +1,31 @@
+package com.uy1.mgpcalculator.benchmark;
+
+import com.uy1.mgpcalculator.model.UE;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Génère des UE réalistes et reproductibles pour les benchmarks
+ */
+final class JeuDeDonnees {
+
+    private JeuDeDonnees() {}
+
+    /**
+     * @param nombreUE Nombre d'UE à générer
+     * @param graine Graine du générateur (même graine = mêmes UE)
+     * @return Une nouvelle liste d'UE, notes réparties entre 20 et 95
+     */
+    static List<UE> genererUEs(int nombreUE, long graine) {
+        Random random = new Random(graine);
+        List<UE> ues = new ArrayList<>(nombreUE);
+        for (int i = 0; i < nombreUE; i++) {
+            int credits = random.nextBoolean() ? 3 : 6;
+            double note = Math.round((20 + random.nextDouble() * 75) * 100) / 100.0;
+            ues.add(new UE("UE " + (i + 1), credits, note));
+        }
+        return ues;
+    }
+}
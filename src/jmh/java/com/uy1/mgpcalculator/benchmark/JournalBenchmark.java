@@ -0,0 +1,77 @@
+package com.uy1.mgpcalculator.benchmark;
+
+import com.uy1.mgpcalculator.model.ResultatMGP;
+import com.uy1.mgpcalculator.model.UE;
+import com.uy1.mgpcalculator.repository.JournalResultatStore;
+import com.uy1.mgpcalculator.utils.NotationUtils;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mesure le démarrage du journal des résultats : relecture de tous les
+ * segments, vérification des CRC et reconstruction de l'index
+ * Le journal est écrit une fois avant les mesures (fichiers dans le cache
+ * du système : la mesure ne comprend pas la lecture du disque)
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class JournalBenchmark {
+
+    private static final long TAILLE_SEGMENT = 64L * 1024 * 1024;
+    private static final int TAILLE_LOT = 1000;
+
+    @Param({"1000000"})
+    public int nombreResultats;
+
+    @Param({"5"})
+    public int nombreUE;
+
+    private Path repertoire;
+
+    @Setup(Level.Trial)
+    public void ecrireJournal() throws IOException {
+        repertoire = Files.createTempDirectory("mgp-journal-bench");
+        try (JournalResultatStore journal = new JournalResultatStore(repertoire, TAILLE_SEGMENT, false)) {
+            List<ResultatMGP> lot = new ArrayList<>(TAILLE_LOT);
+            for (int i = 0; i < nombreResultats; i++) {
+                lot.add(resultat(i));
+                if (lot.size() == TAILLE_LOT) {
+                    journal.sauvegarderTous(lot);
+                    lot.clear();
+                }
+            }
+            journal.sauvegarderTous(lot);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void supprimerJournal() throws IOException {
+        FileSystemUtils.deleteRecursively(repertoire);
+    }
+
+    @Benchmark
+    public long recuperer() {
+        try (JournalResultatStore journal = new JournalResultatStore(repertoire, TAILLE_SEGMENT, false)) {
+            if (journal.getNombreRecuperes() != nombreResultats) {
+                throw new IllegalStateException("Récupération incomplète : " + journal.getNombreRecuperes());
+            }
+            return journal.getNombreRecuperes();
+        }
+    }
+
+    private ResultatMGP resultat(int i) {
+        List<UE> ues = JeuDeDonnees.genererUEs(nombreUE, i);
+        double mgp = NotationUtils.calculerMGP(ues);
+        int credits = ues.stream().mapToInt(UE::getCredits).sum();
+        double points = ues.stream().mapToDouble(UE::getPointsTotaux).sum();
+        return new ResultatMGP(ues, mgp, NotationUtils.convertirMgpEnMention(mgp), credits, points, "Etudiant " + i);
+    }
+}
@@ -0,0 +1,65 @@
+package com.uy1.mgpcalculator.benchmark;
+
+import com.uy1.mgpcalculator.model.ResultatMGP;
+import com.uy1.mgpcalculator.model.UE;
+import com.uy1.mgpcalculator.service.MGPService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mesure le calcul complet d'un résultat et son aller-retour de sauvegarde
+ * dans la base H2 embarquée
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+public class MGPServiceBenchmark {
+
+    private static final int RESULTATS_PAR_LOT = 100;
+
+    @Param({"5", "10", "20", "40", "60"})
+    public int nombreUE;
+
+    private MGPService mgpService;
+    private List<UE> ues;
+
+    @Setup
+    public void preparer(ContexteApplication contexte) {
+        mgpService = contexte.getBean(MGPService.class);
+        ues = JeuDeDonnees.genererUEs(nombreUE, 42L);
+    }
+
+    @Benchmark
+    public ResultatMGP calculerResultatMGP() {
+        return mgpService.calculerResultatMGP(ues, "Etudiant Benchmark");
+    }
+
+    /**
+     * Les UE sont recréées à chaque appel : une entité sauvegardée ne peut pas
+     * être réinsérée. Leur construction fait donc partie de la mesure.
+     */
+    @Benchmark
+    public ResultatMGP sauvegarderResultat() {
+        List<UE> nouvellesUEs = JeuDeDonnees.genererUEs(nombreUE, 42L);
+        ResultatMGP resultat = mgpService.calculerResultatMGP(nouvellesUEs, "Etudiant Benchmark");
+        return mgpService.sauvegarderResultat(resultat);
+    }
+
+    /**
+     * Sauvegarde groupée de résultats en une seule transaction
+     * Le score est exprimé par résultat sauvegardé
+     */
+    @Benchmark
+    @OperationsPerInvocation(RESULTATS_PAR_LOT)
+    public List<ResultatMGP> sauvegarderResultats() {
+        List<ResultatMGP> resultats = new ArrayList<>(RESULTATS_PAR_LOT);
+        for (int i = 0; i < RESULTATS_PAR_LOT; i++) {
+            List<UE> nouvellesUEs = JeuDeDonnees.genererUEs(nombreUE, 42L + i);
+            resultats.add(mgpService.calculerResultatMGP(nouvellesUEs, "Etudiant Benchmark"));
+        }
+        return mgpService.sauvegarderResultats(resultats);
+    }
+}
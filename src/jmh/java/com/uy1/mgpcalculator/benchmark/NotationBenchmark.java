@@ -0,0 +1,32 @@
+package com.uy1.mgpcalculator.benchmark;
+
+import com.uy1.mgpcalculator.model.UE;
+import com.uy1.mgpcalculator.utils.NotationUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mesure le calcul pur du MGP (NotationUtils.calculerMGP)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+public class NotationBenchmark {
+
+    @Param({"5", "10", "20", "40", "60"})
+    public int nombreUE;
+
+    private List<UE> ues;
+
+    @Setup
+    public void preparer() {
+        ues = JeuDeDonnees.genererUEs(nombreUE, 42L);
+    }
+
+    @Benchmark
+    public double calculerMGP() {
+        return NotationUtils.calculerMGP(ues);
+    }
+}
@@ -0,0 +1,43 @@
+package com.uy1.mgpcalculator.benchmark;
+
+import com.itextpdf.text.DocumentException;
+import com.uy1.mgpcalculator.model.ResultatMGP;
+import com.uy1.mgpcalculator.service.MGPService;
+import com.uy1.mgpcalculator.service.PDFService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mesure la génération du bulletin PDF d'un résultat déjà calculé
+ * (modèle préparé de PDFService, et rendu d'origine par PdfPTable pour comparaison)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+public class PDFServiceBenchmark {
+
+    @Param({"5", "10", "20", "40", "60"})
+    public int nombreUE;
+
+    private PDFService pdfService;
+    private final BulletinPdfPTable reference = new BulletinPdfPTable();
+    private ResultatMGP resultat;
+
+    @Setup
+    public void preparer(ContexteApplication contexte) {
+        pdfService = contexte.getBean(PDFService.class);
+        resultat = contexte.getBean(MGPService.class)
+                .calculerResultatMGP(JeuDeDonnees.genererUEs(nombreUE, 42L), "Etudiant Benchmark");
+    }
+
+    @Benchmark
+    public byte[] genererBulletinMGP() throws DocumentException {
+        return pdfService.genererBulletinMGP(resultat);
+    }
+
+    @Benchmark
+    public byte[] genererBulletinReference() throws DocumentException {
+        return reference.genererBulletinMGP(resultat);
+    }
+}
@@ -0,0 +1,67 @@
+package com.uy1.mgpcalculator.benchmark;
+
+import com.uy1.mgpcalculator.service.MGPService;
+import com.uy1.mgpcalculator.service.StatistiquesCohorte;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mesure le calcul des statistiques de cohorte sur une table volumineuse
+ * Les résultats sont insérés directement en SQL (sans UE) : seule la table
+ * resultat_mgp intervient dans les statistiques
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class StatistiquesBenchmark {
+
+    /** Identifiants hors de la plage de la séquence */
+    private static final long PREMIER_ID = 1_000_000_000L;
+
+    @Param({"100000", "1000000"})
+    public int nombreResultats;
+
+    private MGPService mgpService;
+    private EntityManager entityManager;
+    private TransactionTemplate transaction;
+
+    @Setup
+    public void preparer(ContexteApplication contexte) {
+        mgpService = contexte.getBean(MGPService.class);
+        entityManager = contexte.getBean(EntityManager.class);
+        transaction = contexte.getBean(TransactionTemplate.class);
+
+        transaction.executeWithoutResult(statut -> {
+            entityManager.createNativeQuery("delete from resultat_mgp where id >= " + PREMIER_ID).executeUpdate();
+            // MGP pseudo-aléatoire sur [0, 4], mention et décision cohérentes
+            entityManager.createNativeQuery(
+                "insert into resultat_mgp (id, admis, mgp, centieme_mgp, nombre_ue, total_credits, total_points, " +
+                "date_calcul, version, mention, nom_etudiant, nom_normalise) " +
+                "select " + PREMIER_ID + " + x, m >= 2.0, m, floor(m * 100), 10, 45, m * 45, current_timestamp, 0, " +
+                "case when m < 1.0 then 'Échec' when m < 1.5 then 'CANT' when m < 2.0 then 'Passable' " +
+                "when m < 2.5 then 'Assez Bien' when m < 3.0 then 'Bien' when m < 3.5 then 'Très Bien' " +
+                "else 'Excellent' end, 'Etudiant ' || x, 'etudiant ' || x " +
+                "from (select x, mod(x * 7919, 4001) / 1000.0 as m from system_range(1, " + nombreResultats + "))")
+                .executeUpdate();
+        });
+    }
+
+    /**
+     * H2 réutilise le résultat d'une requête tant qu'aucune table n'a changé :
+     * une ligne est modifiée avant chaque appel pour mesurer un vrai parcours
+     */
+    @Setup(Level.Invocation)
+    public void modifierTable() {
+        transaction.executeWithoutResult(statut -> entityManager
+            .createNativeQuery("update resultat_mgp set version = version + 1 where id = " + (PREMIER_ID + 1))
+            .executeUpdate());
+    }
+
+    @Benchmark
+    public StatistiquesCohorte calculerStatistiques() {
+        return mgpService.calculerStatistiques(10);
+    }
+}
@@ -0,0 +1,109 @@
+package com.uy1.mgpcalculator.charge;
+
+import com.uy1.mgpcalculator.model.ResultatMGP;
+import com.uy1.mgpcalculator.model.UE;
+import com.uy1.mgpcalculator.service.MGPService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Données réalistes et reproductibles : relevés de 6 à 12 UE, noms d'étudiants,
+ * résultats sauvegardés avant la charge pour les bulletins et l'historique
+ */
+final class DonneesCharge {
+
+    private static final String[] PRENOMS = {
+        "Awa", "Paul", "Marie", "Jean", "Aïcha", "Serge", "Brigitte", "Ibrahim",
+        "Christelle", "Hervé", "Nadège", "Yannick", "Mireille", "Boris", "Estelle", "Samuel"
+    };
+    private static final String[] NOMS = {
+        "Ngono", "Mbarga", "Essomba", "Fotso", "Tchoumi", "Nkoulou", "Abena", "Bello",
+        "Kamga", "Manga", "Ndzana", "Owona", "Talla", "Ekambi", "Djoumessi", "Atangana"
+    };
+    private static final int TAILLE_LOT = 500;
+
+    private final Random random;
+    private final List<Long> identifiants = new ArrayList<>();
+    private final List<String> noms = new ArrayList<>();
+
+    DonneesCharge(long graine) {
+        this.random = new Random(graine);
+    }
+
+    /**
+     * Calcule et sauvegarde des résultats, par lots
+     *
+     * @param mgpService Service de l'application démarrée
+     * @param nombre Nombre de résultats à sauvegarder
+     */
+    void enregistrer(MGPService mgpService, int nombre) {
+        List<ResultatMGP> lot = new ArrayList<>(TAILLE_LOT);
+        for (int i = 0; i < nombre; i++) {
+            String nom = nomEtudiant(i);
+            lot.add(mgpService.calculerResultatMGP(genererUEs(), nom));
+            if (lot.size() == TAILLE_LOT || i == nombre - 1) {
+                for (ResultatMGP sauvegarde : mgpService.sauvegarderResultats(lot)) {
+                    identifiants.add(sauvegarde.getId());
+                }
+                lot.clear();
+            }
+        }
+        for (String prenom : PRENOMS) {
+            for (String nom : NOMS) {
+                noms.add(prenom + " " + nom);
+            }
+        }
+    }
+
+    /** Identifiant d'un résultat sauvegardé, parcourus en boucle */
+    long identifiant(long numero) {
+        return identifiants.get((int) (numero % identifiants.size()));
+    }
+
+    /** Nom complet d'un étudiant sauvegardé, parcourus en boucle */
+    String nom(long numero) {
+        return noms.get((int) (numero % noms.size()));
+    }
+
+    /**
+     * Corps JSON d'une demande de calcul
+     * Le nom est unique : chaque demande est un nouveau calcul, pas une répétition
+     * servie par l'idempotence
+     */
+    String corpsCalcul(long numero) {
+        List<UE> ues;
+        synchronized (random) {
+            ues = genererUEs();
+        }
+        StringBuilder json = new StringBuilder(64 + ues.size() * 48);
+        json.append("{\"nomEtudiant\":\"").append(nomEtudiant(numero)).append(" charge-").append(numero)
+            .append("\",\"ues\":[");
+        for (int i = 0; i < ues.size(); i++) {
+            UE ue = ues.get(i);
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"nom\":\"").append(ue.getNom()).append("\",\"credits\":").append(ue.getCredits())
+                .append(",\"note\":").append(ue.getNote()).append('}');
+        }
+        return json.append("]}").toString();
+    }
+
+    private String nomEtudiant(long numero) {
+        return PRENOMS[(int) (numero % PRENOMS.length)] + " "
+            + NOMS[(int) ((numero / PRENOMS.length) % NOMS.length)];
+    }
+
+    private List<UE> genererUEs() {
+        int nombreUE = 6 + random.nextInt(7);
+        List<UE> ues = new ArrayList<>(nombreUE);
+        for (int i = 0; i < nombreUE; i++) {
+            int credits = random.nextBoolean() ? 3 : 6;
+            double note = Math.round((20 + random.nextDouble() * 75) * 100) / 100.0;
+            ues.add(new UE("UE " + (i + 1), credits, note));
+        }
+        return ues;
+    }
+}
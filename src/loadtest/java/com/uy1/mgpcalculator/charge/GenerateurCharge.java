@@ -0,0 +1,97 @@
+package com.uy1.mgpcalculator.charge;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Générateur de charge en modèle ouvert pour un scénario
+ * Les arrivées suivent un processus de Poisson au débit visé, indépendamment
+ * des réponses : un serveur lent ne ralentit pas la charge. La latence est
+ * comptée depuis l'instant d'envoi prévu, retard du générateur compris
+ * (pas d'omission coordonnée).
+ */
+final class GenerateurCharge implements Runnable {
+
+    /** Au-delà, les requêtes ne sont plus envoyées et comptent comme erreurs */
+    private static final int EN_VOL_MAX = 10_000;
+
+    private final Scenario scenario;
+    private final HttpClient client;
+    private final long debutMesure;
+    private final long fin;
+    private final Random random;
+    private final AtomicInteger enVol = new AtomicInteger();
+
+    /**
+     * @param debutMesure Instant (System.nanoTime) à partir duquel les réponses sont comptées
+     * @param fin Instant (System.nanoTime) de la dernière arrivée
+     * @param graine Graine des intervalles entre arrivées
+     */
+    GenerateurCharge(Scenario scenario, HttpClient client, long debutMesure, long fin, long graine) {
+        this.scenario = scenario;
+        this.client = client;
+        this.debutMesure = debutMesure;
+        this.fin = fin;
+        this.random = new Random(graine);
+    }
+
+    @Override
+    public void run() {
+        if (scenario.getDebit() <= 0) {
+            return;
+        }
+        Mesures mesures = scenario.getMesures();
+        long prochain = System.nanoTime();
+        long numero = 0;
+        while (prochain < fin) {
+            attendreJusqua(prochain);
+            long prevu = prochain;
+            boolean mesure = prevu >= debutMesure;
+            if (enVol.get() >= EN_VOL_MAX) {
+                if (mesure) {
+                    mesures.erreur(Mesures.NON_ENVOYEE);
+                }
+            } else {
+                enVol.incrementAndGet();
+                client.sendAsync(scenario.requete(numero++), HttpResponse.BodyHandlers.discarding())
+                        .whenComplete((reponse, erreur) -> {
+                            long latence = System.nanoTime() - prevu;
+                            enVol.decrementAndGet();
+                            if (!mesure) {
+                                return;
+                            }
+                            if (erreur != null) {
+                                mesures.erreur(Mesures.SANS_REPONSE);
+                            } else if (reponse.statusCode() / 100 != 2) {
+                                mesures.erreur(reponse.statusCode());
+                            } else {
+                                mesures.succes(latence);
+                            }
+                        });
+            }
+            prochain += (long) (-Math.log(1 - random.nextDouble()) / scenario.getDebit() * 1e9);
+        }
+    }
+
+    /**
+     * Attend la fin des requêtes en vol
+     *
+     * @param delaiMaxNanos Attente maximale
+     */
+    void terminer(long delaiMaxNanos) {
+        long limite = System.nanoTime() + delaiMaxNanos;
+        while (enVol.get() > 0 && System.nanoTime() < limite) {
+            LockSupport.parkNanos(10_000_000L);
+        }
+    }
+
+    private static void attendreJusqua(long instant) {
+        long reste;
+        while ((reste = instant - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(reste);
+        }
+    }
+}
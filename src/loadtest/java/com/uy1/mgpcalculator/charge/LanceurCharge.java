@@ -0,0 +1,120 @@
+package com.uy1.mgpcalculator.charge;
+
+import com.uy1.mgpcalculator.MgpCalculatorUy1Application;
+import com.uy1.mgpcalculator.service.MGPService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test de charge de bout en bout sur un nœud, sans accès réseau
+ * Démarre l'application sur un port libre (base H2 en mémoire), sauvegarde
+ * des résultats, puis envoie en parallèle les requêtes des trois scénarios
+ * (calcul, bulletin PDF, historique) à leur débit d'arrivée. Le générateur
+ * partage la machine avec l'application : les débits obtenus sont un minimum.
+ *
+ * Argument : répertoire de sortie du rapport JSON
+ * Code de sortie 1 si un seuil est dépassé et charge.slo.bloquant=true
+ */
+public class LanceurCharge {
+
+    public static void main(String[] args) throws Exception {
+        File repertoire = new File(args.length > 0 ? args[0] : "target/charge");
+        ParametresCharge parametres = new ParametresCharge();
+
+        ConfigurableApplicationContext contexte = new SpringApplicationBuilder(MgpCalculatorUy1Application.class)
+                // Arguments de ligne de commande : prioritaires sur application.properties
+                .run(
+                    "--server.port=0",
+                    "--spring.main.banner-mode=off",
+                    "--spring.datasource.url=jdbc:h2:mem:mgpcharge;DB_CLOSE_ON_EXIT=FALSE",
+                    "--spring.jpa.show-sql=false",
+                    "--logging.level.root=WARN");
+        int code;
+        try {
+            int port = ((WebServerApplicationContext) contexte).getWebServer().getPort();
+            String base = "http://localhost:" + port + "/api/mgp";
+
+            DonneesCharge donnees = new DonneesCharge(42);
+            donnees.enregistrer(contexte.getBean(MGPService.class), parametres.nombreResultats);
+            System.out.printf("Application sur le port %d, %d résultats sauvegardés%n", port, parametres.nombreResultats);
+
+            Duration delaiMax = Duration.ofSeconds(parametres.delaiMaxSecondes);
+            List<Scenario> scenarios = List.of(
+                new Scenario("calculer", "POST /api/mgp/calculer",
+                    parametres.debit("calculer", 10),
+                    parametres.seuil("p99", "calculer", 250), parametres.seuil("p999", "calculer", 1000),
+                    n -> HttpRequest.newBuilder(URI.create(base + "/calculer"))
+                        .timeout(delaiMax)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(donnees.corpsCalcul(n)))
+                        .build()),
+                new Scenario("pdf", "GET /api/mgp/pdf/{id}",
+                    parametres.debit("pdf", 2),
+                    parametres.seuil("p99", "pdf", 500), parametres.seuil("p999", "pdf", 2000),
+                    n -> HttpRequest.newBuilder(URI.create(base + "/pdf/" + donnees.identifiant(n)))
+                        .timeout(delaiMax)
+                        .GET()
+                        .build()),
+                new Scenario("historique", "GET /api/mgp/historique/{nom}",
+                    parametres.debit("historique", 10),
+                    parametres.seuil("p99", "historique", 150), parametres.seuil("p999", "historique", 1000),
+                    n -> HttpRequest.newBuilder(URI.create(base + "/historique/" + encoder(donnees.nom(n))))
+                        .timeout(delaiMax)
+                        .GET()
+                        .build()));
+
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(delaiMax)
+                    .build();
+
+            long debut = System.nanoTime();
+            long debutMesure = debut + TimeUnit.SECONDS.toNanos(parametres.chauffe);
+            long fin = debutMesure + TimeUnit.SECONDS.toNanos(parametres.duree);
+            System.out.printf("Chauffe %d s, mesure %d s%n", parametres.chauffe, parametres.duree);
+
+            List<GenerateurCharge> generateurs = new ArrayList<>();
+            List<Thread> threads = new ArrayList<>();
+            long graine = 1;
+            for (Scenario scenario : scenarios) {
+                GenerateurCharge generateur = new GenerateurCharge(scenario, client, debutMesure, fin, graine++);
+                Thread thread = new Thread(generateur, "charge-" + scenario.getNom());
+                generateurs.add(generateur);
+                threads.add(thread);
+                thread.start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            for (GenerateurCharge generateur : generateurs) {
+                generateur.terminer(delaiMax.plusSeconds(1).toNanos());
+            }
+
+            RapportCharge rapport = new RapportCharge(scenarios, parametres.duree, parametres.tauxErreurMax);
+            rapport.afficher();
+            File fichier = new File(repertoire, "rapport.json");
+            rapport.ecrire(fichier);
+            System.out.println("Rapport écrit dans " + fichier.getPath());
+            code = rapport.isSloRespectes() || !parametres.sloBloquant ? 0 : 1;
+        } finally {
+            contexte.close();
+        }
+        System.exit(code);
+    }
+
+    private static String encoder(String segment) {
+        return URLEncoder.encode(segment, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+}
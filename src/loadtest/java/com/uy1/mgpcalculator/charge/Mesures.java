@@ -0,0 +1,58 @@
+package com.uy1.mgpcalculator.charge;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Latences et erreurs relevées pour un scénario pendant la période de mesure
+ * Toutes les latences sont conservées : les centiles sont exacts
+ */
+final class Mesures {
+
+    /** Statut utilisé pour les requêtes sans réponse (délai dépassé, connexion refusée) */
+    static final int SANS_REPONSE = -1;
+    /** Statut utilisé pour les requêtes non envoyées (trop de requêtes en vol) */
+    static final int NON_ENVOYEE = 0;
+
+    private long[] latences = new long[4096];
+    private int nombre;
+    private final Map<Integer, Long> erreurs = new TreeMap<>();
+
+    synchronized void succes(long latenceNanos) {
+        if (nombre == latences.length) {
+            latences = Arrays.copyOf(latences, nombre * 2);
+        }
+        latences[nombre++] = latenceNanos;
+    }
+
+    synchronized void erreur(int statut) {
+        erreurs.merge(statut, 1L, Long::sum);
+    }
+
+    synchronized long getNombreSucces() {
+        return nombre;
+    }
+
+    synchronized long getNombreErreurs() {
+        return erreurs.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    synchronized Map<Integer, Long> getErreurs() {
+        return new TreeMap<>(erreurs);
+    }
+
+    /**
+     * @param centile Centile demandé, entre 0 et 1 (0.99 pour p99)
+     * @return La latence en millisecondes (méthode du rang le plus proche), 0 sans mesure
+     */
+    synchronized double centile(double centile) {
+        if (nombre == 0) {
+            return 0;
+        }
+        long[] triees = Arrays.copyOf(latences, nombre);
+        Arrays.sort(triees);
+        int rang = (int) Math.ceil(centile * nombre);
+        return triees[Math.max(0, Math.min(nombre, rang) - 1)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,34 @@
+package com.uy1.mgpcalculator.charge;
+
+/**
+ * Paramètres d'une campagne de charge, lus dans les propriétés système (-Dcharge.*)
+ * Débits en requêtes par seconde, durées en secondes, seuils en millisecondes
+ * Un seuil à 0 n'est pas vérifié
+ */
+final class ParametresCharge {
+
+    final int duree = entier("charge.duree", 30);
+    final int chauffe = entier("charge.chauffe", 5);
+    final int nombreResultats = entier("charge.donnees", 2000);
+    final int delaiMaxSecondes = entier("charge.delai-max", 10);
+    final double tauxErreurMax = decimal("charge.slo.taux-erreur", 0.01);
+    final boolean sloBloquant = Boolean.parseBoolean(System.getProperty("charge.slo.bloquant", "true"));
+
+    double debit(String scenario, double defaut) {
+        return decimal("charge.debit." + scenario, defaut);
+    }
+
+    double seuil(String centile, String scenario, double defaut) {
+        return decimal("charge.slo." + centile + "." + scenario, defaut);
+    }
+
+    private static int entier(String cle, int defaut) {
+        String valeur = System.getProperty(cle);
+        return valeur == null || valeur.isBlank() ? defaut : Integer.parseInt(valeur.trim());
+    }
+
+    private static double decimal(String cle, double defaut) {
+        String valeur = System.getProperty(cle);
+        return valeur == null || valeur.isBlank() ? defaut : Double.parseDouble(valeur.trim());
+    }
+}
@@ -0,0 +1,100 @@
+package com.uy1.mgpcalculator.charge;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Rapport d'une campagne : débit, latences (p50, p99, p999), taux d'erreur
+ * par scénario, comparés aux seuils. Affiché et écrit en JSON.
+ */
+final class RapportCharge {
+
+    private final List<Map<String, Object>> lignes = new ArrayList<>();
+    private final double tauxErreurMax;
+    private boolean sloRespectes = true;
+
+    RapportCharge(List<Scenario> scenarios, int dureeMesure, double tauxErreurMax) {
+        this.tauxErreurMax = tauxErreurMax;
+        for (Scenario scenario : scenarios) {
+            Mesures mesures = scenario.getMesures();
+            long succes = mesures.getNombreSucces();
+            long erreurs = mesures.getNombreErreurs();
+            long total = succes + erreurs;
+            double tauxErreur = total == 0 ? 0 : (double) erreurs / total;
+            double p99 = mesures.centile(0.99);
+            double p999 = mesures.centile(0.999);
+
+            List<String> depassements = new ArrayList<>();
+            if (scenario.getSeuilP99() > 0 && p99 > scenario.getSeuilP99()) {
+                depassements.add("p99");
+            }
+            if (scenario.getSeuilP999() > 0 && p999 > scenario.getSeuilP999()) {
+                depassements.add("p999");
+            }
+            if (tauxErreur > tauxErreurMax) {
+                depassements.add("erreurs");
+            }
+            sloRespectes &= depassements.isEmpty();
+
+            Map<String, Object> ligne = new LinkedHashMap<>();
+            ligne.put("scenario", scenario.getNom());
+            ligne.put("chemin", scenario.getChemin());
+            ligne.put("debitVise", scenario.getDebit());
+            ligne.put("debitObtenu", arrondi((double) succes / dureeMesure));
+            ligne.put("requetes", total);
+            ligne.put("p50Ms", arrondi(mesures.centile(0.5)));
+            ligne.put("p99Ms", arrondi(p99));
+            ligne.put("p999Ms", arrondi(p999));
+            ligne.put("tauxErreur", tauxErreur);
+            ligne.put("erreursParStatut", mesures.getErreurs());
+            ligne.put("seuilP99Ms", scenario.getSeuilP99());
+            ligne.put("seuilP999Ms", scenario.getSeuilP999());
+            ligne.put("depassements", depassements);
+            lignes.add(ligne);
+        }
+    }
+
+    boolean isSloRespectes() {
+        return sloRespectes;
+    }
+
+    void afficher() {
+        System.out.println();
+        System.out.printf(Locale.ROOT, "%-11s %9s %9s %9s %9s %9s %9s  %s%n",
+                "Scénario", "visé/s", "obtenu/s", "p50 ms", "p99 ms", "p999 ms", "erreurs", "SLO");
+        for (Map<String, Object> ligne : lignes) {
+            List<?> depassements = (List<?>) ligne.get("depassements");
+            System.out.printf(Locale.ROOT, "%-11s %9.1f %9.1f %9.1f %9.1f %9.1f %8.2f%%  %s%n",
+                    ligne.get("scenario"), ligne.get("debitVise"), ligne.get("debitObtenu"),
+                    ligne.get("p50Ms"), ligne.get("p99Ms"), ligne.get("p999Ms"),
+                    (Double) ligne.get("tauxErreur") * 100,
+                    depassements.isEmpty() ? "respecté" : "DÉPASSÉ " + depassements);
+            Map<?, ?> erreurs = (Map<?, ?>) ligne.get("erreursParStatut");
+            if (!erreurs.isEmpty()) {
+                System.out.println("            erreurs par statut HTTP (-1 sans réponse, 0 non envoyée) : " + erreurs);
+            }
+        }
+        System.out.println();
+    }
+
+    void ecrire(File fichier) throws IOException {
+        fichier.getParentFile().mkdirs();
+        Map<String, Object> rapport = new LinkedHashMap<>();
+        rapport.put("tauxErreurMax", tauxErreurMax);
+        rapport.put("sloRespectes", sloRespectes);
+        rapport.put("scenarios", lignes);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(fichier, rapport);
+    }
+
+    private static double arrondi(double valeur) {
+        return Math.round(valeur * 10) / 10.0;
+    }
+}
@@ -0,0 +1,40 @@
+package com.uy1.mgpcalculator.charge;
+
+import java.net.http.HttpRequest;
+import java.util.function.LongFunction;
+
+/**
+ * Point d'accès soumis à la charge : débit d'arrivée visé, seuils de latence (SLO)
+ * et fabrique de la n-ième requête
+ */
+final class Scenario {
+
+    private final String nom;
+    private final String chemin;
+    private final double debit;
+    private final double seuilP99;
+    private final double seuilP999;
+    private final LongFunction<HttpRequest> requetes;
+    private final Mesures mesures = new Mesures();
+
+    Scenario(String nom, String chemin, double debit, double seuilP99, double seuilP999,
+             LongFunction<HttpRequest> requetes) {
+        this.nom = nom;
+        this.chemin = chemin;
+        this.debit = debit;
+        this.seuilP99 = seuilP99;
+        this.seuilP999 = seuilP999;
+        this.requetes = requetes;
+    }
+
+    HttpRequest requete(long numero) {
+        return requetes.apply(numero);
+    }
+
+    String getNom() { return nom; }
+    String getChemin() { return chemin; }
+    double getDebit() { return debit; }
+    double getSeuilP99() { return seuilP99; }
+    double getSeuilP999() { return seuilP999; }
+    Mesures getMesures() { return mesures; }
+}
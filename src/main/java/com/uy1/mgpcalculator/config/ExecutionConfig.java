@@ -0,0 +1,115 @@
+package com.uy1.mgpcalculator.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.support.ExecutorServiceAdapter;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// Configuration des pools d'exécution internes
+// Avec spring.threads.virtual.enabled=true (Java 21), les mêmes pools
+// s'exécutent sur des threads virtuels, à concurrence égale
+// Tâches planifiées : relecture des barèmes de notation (BaremeService)
+@Configuration
+@EnableScheduling
+public class ExecutionConfig {
+
+    /**
+     * Pool fork-join borné utilisé pour les calculs de MGP en masse (cohortes)
+     * Le parallélisme vaut par défaut le nombre de processeurs disponibles
+     */
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ExecutorService cohorteExecutor(
+            @Value("${mgp.cohorte.parallelisme:0}") int parallelisme) {
+        return new ForkJoinPool(niveau(parallelisme));
+    }
+
+    /**
+     * Pool borné de génération des bulletins PDF pour les exports en masse
+     */
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ExecutorService pdfExecutor(
+            @Value("${mgp.pdf.export.parallelisme:0}") int parallelisme) {
+        return Executors.newFixedThreadPool(niveau(parallelisme), new CustomizableThreadFactory("pdf-export-"));
+    }
+
+    /**
+     * Calculs de cohorte sur threads virtuels, concurrence limitée au même niveau
+     */
+    @Bean(name = "cohorteExecutor", destroyMethod = "")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public ExecutorService cohorteExecutorVirtuel(
+            @Value("${mgp.cohorte.parallelisme:0}") int parallelisme) {
+        return executeurVirtuel("cohorte-", niveau(parallelisme));
+    }
+
+    /**
+     * Génération des bulletins sur threads virtuels, concurrence limitée au même niveau
+     */
+    @Bean(name = "pdfExecutor", destroyMethod = "")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public ExecutorService pdfExecutorVirtuel(
+            @Value("${mgp.pdf.export.parallelisme:0}") int parallelisme) {
+        return executeurVirtuel("pdf-export-", niveau(parallelisme));
+    }
+
+    /**
+     * Pool des travaux en arrière-plan (calculs de cohorte, exports de bulletins)
+     * La file est bornée : quand elle est pleine, les nouveaux travaux sont refusés
+     * Threads de plateforme dans les deux modes : peu de travaux longs, qui
+     * délèguent eux-mêmes leurs calculs aux pools ci-dessus
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ThreadPoolExecutor jobExecutor(
+            @Value("${mgp.jobs.parallelisme:2}") int parallelisme,
+            @Value("${mgp.jobs.taille-file:16}") int tailleFile) {
+        int niveau = Math.max(1, parallelisme);
+        return new ThreadPoolExecutor(niveau, niveau, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, tailleFile)),
+                new CustomizableThreadFactory("job-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Voie réservée aux bulletins PDF demandés en ligne (/pdf/{id}, POST /pdf)
+     * Le rendu occupe le processeur : la voie n'en prend par défaut que la moitié,
+     * le reste est laissé aux calculs interactifs. Au-delà de la file, les
+     * demandes sont refusées immédiatement (429) au lieu d'occuper les threads
+     * de Tomcat. Threads de plateforme dans les deux modes, comme pour les travaux.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ThreadPoolExecutor bulletinExecutor(
+            @Value("${mgp.pdf.requetes.parallelisme:0}") int parallelisme,
+            @Value("${mgp.pdf.requetes.taille-file:32}") int tailleFile) {
+        int niveau = parallelisme > 0 ? parallelisme : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new ThreadPoolExecutor(niveau, niveau, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, tailleFile)),
+                new CustomizableThreadFactory("pdf-requete-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    private static int niveau(int parallelisme) {
+        return parallelisme > 0 ? parallelisme : Runtime.getRuntime().availableProcessors();
+    }
+
+    private static ExecutorService executeurVirtuel(String prefixe, int limite) {
+        SimpleAsyncTaskExecutor executeur = new SimpleAsyncTaskExecutor(prefixe);
+        executeur.setVirtualThreads(true);
+        // Au-delà de la limite, la soumission attend qu'une tâche se termine
+        executeur.setConcurrencyLimit(limite);
+        return new ExecutorServiceAdapter(executeur);
+    }
+}
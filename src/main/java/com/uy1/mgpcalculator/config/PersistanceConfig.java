@@ -0,0 +1,65 @@
+package com.uy1.mgpcalculator.config;
+
+import com.uy1.mgpcalculator.repository.JournalResultatStore;
+import com.uy1.mgpcalculator.repository.JpaResultatStore;
+import com.uy1.mgpcalculator.repository.ResultatMGPRepository;
+import com.uy1.mgpcalculator.repository.ResultatStore;
+import com.uy1.mgpcalculator.repository.UERepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+
+import jakarta.persistence.EntityManager;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+// Choix du stockage des résultats (mgp.persistance.backend = jpa | journal)
+@Configuration
+public class PersistanceConfig {
+
+    /**
+     * Stockage JPA (par défaut)
+     */
+    @Bean
+    @ConditionalOnProperty(name = "mgp.persistance.backend", havingValue = "jpa", matchIfMissing = true)
+    public ResultatStore jpaResultatStore(
+            ResultatMGPRepository resultatRepository, UERepository ueRepository, EntityManager entityManager,
+            @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int tailleLot) {
+        return new JpaResultatStore(resultatRepository, ueRepository, entityManager, tailleLot);
+    }
+
+    /**
+     * Journal en ajout seul sur segments projetés en mémoire
+     * L'index est reconstruit au démarrage ; la durée de récupération est publiée
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "mgp.persistance.backend", havingValue = "journal")
+    public ResultatStore journalResultatStore(
+            @Value("${mgp.journal.repertoire:./data/journal}") String repertoire,
+            @Value("${mgp.journal.taille-segment:64MB}") DataSize tailleSegment,
+            @Value("${mgp.journal.forcer-ecriture:true}") boolean forcerEcriture,
+            MeterRegistry registry) {
+        JournalResultatStore journal = new JournalResultatStore(
+            Path.of(repertoire), tailleSegment.toBytes(), forcerEcriture);
+
+        Gauge.builder("mgp.journal.resultats", journal, JournalResultatStore::getNombreResultats)
+                .description("Résultats présents dans le journal")
+                .register(registry);
+        Gauge.builder("mgp.journal.recuperation.enregistrements", journal, JournalResultatStore::getNombreRecuperes)
+                .description("Enregistrements relus au démarrage")
+                .register(registry);
+        TimeGauge.builder("mgp.journal.recuperation.duree", journal, TimeUnit.NANOSECONDS,
+                        JournalResultatStore::getDureeRecuperationNanos)
+                .description("Durée de reconstruction de l'index au démarrage")
+                .register(registry);
+        return journal;
+    }
+}
@@ -17,8 +17,9 @@ public class WebConfig {
             public void addCorsMappings(CorsRegistry registry) {
                 registry.addMapping("/**") // autorise tous les endpoints
                         .allowedOrigins("http://localhost:5173") // ton frontend
-                        .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
+                        .allowedMethods("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS")
                         .allowedHeaders("*")
+                        .exposedHeaders("X-Curseur-Suivant", "Location", "Retry-After")
                         .allowCredentials(true);
             }
         };
@@ -0,0 +1,124 @@
+package com.uy1.mgpcalculator.controller;
+
+import com.uy1.mgpcalculator.dto.CalculMGPPayload;
+import com.uy1.mgpcalculator.dto.ExportBulletinsPayload;
+import com.uy1.mgpcalculator.service.BaremeService;
+import com.uy1.mgpcalculator.service.JobService;
+import com.uy1.mgpcalculator.service.JobService.Job;
+import com.uy1.mgpcalculator.utils.BaremeNotation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.*;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Travaux en arrière-plan : calculs de cohorte et exports de bulletins trop
+ * longs pour une requête. Soumission (202 + identifiant), suivi, téléchargement
+ * du résultat. File pleine : 429 avec Retry-After.
+ */
+@RestController
+@RequestMapping("/api/mgp/jobs")
+public class JobController {
+
+    private final JobService jobService;
+    private final BaremeService baremeService;
+    private final long delaiNouvelEssai;
+
+    public JobController(JobService jobService, BaremeService baremeService,
+                         @Value("${mgp.jobs.delai-nouvel-essai:30}") long delaiNouvelEssai) {
+        this.jobService = jobService;
+        this.baremeService = baremeService;
+        this.delaiNouvelEssai = delaiNouvelEssai;
+    }
+
+    /**
+     * Soumet le calcul d'une cohorte (même corps que /calculer/cohorte)
+     * @param autoSave true pour sauvegarder les résultats par lots (défaut: true)
+     * @param bareme Identifiant du barème de notation (défaut: mgp.baremes.defaut)
+     */
+    @PostMapping("/calcul")
+    public ResponseEntity<Job> soumettreCalcul(
+            @RequestBody List<CalculMGPPayload> payloads,
+            @RequestParam(defaultValue = "true") boolean autoSave,
+            @RequestParam(required = false) String bareme) {
+
+        Optional<BaremeNotation> baremeChoisi = baremeService.trouver(bareme);
+        if (payloads == null || payloads.isEmpty() || baremeChoisi.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return accepter(jobService.soumettreCalcul(payloads, autoSave, baremeChoisi.get()));
+    }
+
+    /**
+     * Soumet l'export des bulletins (même corps que /pdf/archive)
+     */
+    @PostMapping("/bulletins")
+    public ResponseEntity<Job> soumettreBulletins(@RequestBody ExportBulletinsPayload payload) {
+        boolean sansIds = payload.getIds() == null || payload.getIds().isEmpty();
+        boolean sansNom = payload.getNom() == null || payload.getNom().isBlank();
+        if (sansIds && sansNom) {
+            return ResponseEntity.badRequest().build();
+        }
+        return accepter(jobService.soumettreBulletins(payload.getIds(), payload.getNom()));
+    }
+
+    /**
+     * État d'un travail : statut, éléments traités, en échec, total et débit
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<Job> consulter(@PathVariable String id) {
+        return ResponseEntity.ok(trouver(id));
+    }
+
+    /**
+     * Résultat d'un travail terminé (NDJSON pour un calcul, ZIP pour des bulletins)
+     * Réponse 409 tant que le travail n'est pas terminé
+     */
+    @GetMapping("/{id}/resultat")
+    public ResponseEntity<Resource> telecharger(@PathVariable String id) {
+        Job job = trouver(id);
+        Path fichier = job.resultat()
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.CONFLICT, "Travail " + job.getStatut()));
+
+        boolean archive = job.getType() == JobService.TypeJob.BULLETINS;
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(archive ? MediaType.parseMediaType("application/zip") : MediaType.APPLICATION_NDJSON);
+        headers.setContentDisposition(
+            ContentDisposition.attachment()
+                .filename(archive ? "bulletins.zip" : "cohorte.ndjson")
+                .build());
+        return new ResponseEntity<>(new FileSystemResource(fichier), headers, HttpStatus.OK);
+    }
+
+    /**
+     * Annule un travail et supprime son résultat
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> supprimer(@PathVariable String id) {
+        return jobService.supprimer(id)
+            ? ResponseEntity.noContent().build()
+            : ResponseEntity.notFound().build();
+    }
+
+    private Job trouver(String id) {
+        return jobService.trouver(id)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+    }
+
+    private ResponseEntity<Job> accepter(Optional<Job> job) {
+        return job
+            .map(soumis -> ResponseEntity.accepted()
+                .location(URI.create("/api/mgp/jobs/" + soumis.getId()))
+                .body(soumis))
+            .orElseGet(() -> ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(delaiNouvelEssai))
+                .build());
+    }
+}
@@ -1,122 +1,482 @@
 package com.uy1.mgpcalculator.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.itextpdf.text.DocumentException;
+import com.uy1.mgpcalculator.dto.CalculMGPPayload;
+import com.uy1.mgpcalculator.dto.ExportBulletinsPayload;
+import com.uy1.mgpcalculator.dto.ResultatMGPDTO;
 import com.uy1.mgpcalculator.model.ResultatMGP;
-import com.uy1.mgpcalculator.model.UE;
-import com.uy1.mgpcalculator.repository.ResultatMGPRepository;
+import com.uy1.mgpcalculator.service.BaremeService;
+import com.uy1.mgpcalculator.service.BulletinCacheService;
+import com.uy1.mgpcalculator.service.CloisonPdfService;
+import com.uy1.mgpcalculator.service.CohorteService;
+import com.uy1.mgpcalculator.service.ExportBulletinService;
+import com.uy1.mgpcalculator.service.IdempotenceService;
+import com.uy1.mgpcalculator.service.ImportService;
 import com.uy1.mgpcalculator.service.MGPService;
 import com.uy1.mgpcalculator.service.PDFService;
+import com.uy1.mgpcalculator.service.ProgressionService;
+import com.uy1.mgpcalculator.service.StatistiquesCohorte;
+import com.uy1.mgpcalculator.utils.BaremeNotation;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.OptimisticLockException;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Future;
 
 @RestController
 @RequestMapping("/api/mgp")
 public class MGPController {
 
+    static final String EN_TETE_CURSEUR = "X-Curseur-Suivant";
+
     private final MGPService mgpService;
     private final PDFService pdfService;
-    private final ResultatMGPRepository resultatRepository;
+    private final CohorteService cohorteService;
+    private final BulletinCacheService bulletinCache;
+    private final ExportBulletinService exportService;
+    private final IdempotenceService idempotence;
+    private final ImportService importService;
+    private final CloisonPdfService cloisonPdf;
+    private final BaremeService baremeService;
+    private final ProgressionService progressionService;
+    private final ObjectMapper objectMapper;
+    private final boolean cachePdfActif;
+    private final long delaiNouvelEssaiPdf;
+    private final long delaiNouvelEssaiCalcul;
+    private final Counter rejetsValidation;
+    private final Counter rejetsArgument;
 
-    public MGPController(MGPService mgpService, PDFService pdfService, 
-                        ResultatMGPRepository resultatRepository) {
+    public MGPController(MGPService mgpService, @Lazy PDFService pdfService, 
+                        CohorteService cohorteService, BulletinCacheService bulletinCache,
+                        ExportBulletinService exportService, IdempotenceService idempotence,
+                        ImportService importService, CloisonPdfService cloisonPdf,
+                        BaremeService baremeService, ProgressionService progressionService,
+                        ObjectMapper objectMapper, MeterRegistry registry,
+                        @Value("${mgp.pdf.cache.actif:true}") boolean cachePdfActif,
+                        @Value("${mgp.pdf.requetes.delai-nouvel-essai:1}") long delaiNouvelEssaiPdf,
+                        @Value("${mgp.jobs.delai-nouvel-essai:30}") long delaiNouvelEssaiCalcul) {
         this.mgpService = mgpService;
         this.pdfService = pdfService;
-        this.resultatRepository = resultatRepository;
+        this.cohorteService = cohorteService;
+        this.bulletinCache = bulletinCache;
+        this.exportService = exportService;
+        this.idempotence = idempotence;
+        this.importService = importService;
+        this.cloisonPdf = cloisonPdf;
+        this.baremeService = baremeService;
+        this.progressionService = progressionService;
+        this.objectMapper = objectMapper;
+        this.cachePdfActif = cachePdfActif;
+        this.delaiNouvelEssaiPdf = delaiNouvelEssaiPdf;
+        this.delaiNouvelEssaiCalcul = delaiNouvelEssaiCalcul;
+        this.rejetsValidation = Counter.builder("mgp.calcul.rejets")
+                .description("Demandes de calcul rejetées")
+                .tag("raison", "validation")
+                .register(registry);
+        this.rejetsArgument = Counter.builder("mgp.calcul.rejets")
+                .description("Demandes de calcul rejetées")
+                .tag("raison", "argument")
+                .register(registry);
     }
 
     /**
      * Nouveau endpoint unifié pour calculer et sauvegarder
      * @param payload Données de calcul
+     * Une demande répétée (même contenu ou même en-tête Idempotency-Key)
+     * renvoie le résultat déjà calculé et sauvegardé ; un en-tête déjà utilisé
+     * avec un autre contenu est refusé (422)
      * @param autoSave true pour sauvegarder automatiquement (défaut: true)
+     * @param bareme Identifiant du barème de notation (défaut: mgp.baremes.defaut)
+     * @param cleIdempotence Clé fournie par le client (optionnelle)
      */
     @PostMapping("/calculer")
-    public ResponseEntity<ResultatMGP> calculerMGP(
+    public ResponseEntity<ResultatMGPDTO> calculerMGP(
             @RequestBody CalculMGPPayload payload,
-            @RequestParam(defaultValue = "true") boolean autoSave) {
+            @RequestParam(defaultValue = "true") boolean autoSave,
+            @RequestParam(required = false) String bareme,
+            @RequestHeader(value = "Idempotency-Key", required = false) String cleIdempotence) {
         
         try {
             if (!mgpService.validerUEs(payload.getUes())) {
+                rejetsValidation.increment();
                 return ResponseEntity.badRequest().build();
             }
+            BaremeNotation baremeChoisi = baremeService.trouver(bareme)
+                .orElseThrow(() -> new IllegalArgumentException("Barème inconnu : " + bareme));
 
-            ResultatMGP resultat = mgpService.calculerResultatMGP(
-                payload.getUes(), 
-                payload.getNomEtudiant()
-            );
-
-            if (autoSave) {
-                resultat = mgpService.sauvegarderResultat(resultat);
-            }
+            String empreinte = idempotence.empreinte(
+                payload.getUes(), payload.getNomEtudiant(), autoSave, baremeChoisi.getId());
+            String cle = idempotence.construireCle(cleIdempotence, empreinte);
+            ResultatMGPDTO resultat = idempotence.executer(cle, empreinte, () -> {
+                ResultatMGP calcule = mgpService.calculerResultatMGP(
+                    payload.getUes(), 
+                    payload.getNomEtudiant(),
+                    baremeChoisi
+                );
+                return ResultatMGPDTO.depuis(autoSave ? mgpService.sauvegarderResultat(calcule) : calcule);
+            });
 
             return ResponseEntity.ok(resultat);
+        } catch (IdempotenceService.DemandeDifferenteException e) {
+            return ResponseEntity.unprocessableEntity().build();
         } catch (IllegalArgumentException e) {
+            rejetsArgument.increment();
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Calcul du MGP pour toute une cohorte
+     * Les résultats sont renvoyés en NDJSON (une ligne JSON par étudiant)
+     * au fur et à mesure du calcul
+     * @param autoSave true pour sauvegarder les résultats par lots (défaut: true)
+     * @param bareme Identifiant du barème de notation (défaut: mgp.baremes.defaut)
+     */
+    @PostMapping(value = "/calculer/cohorte", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> calculerCohorte(
+            @RequestBody List<CalculMGPPayload> payloads,
+            @RequestParam(defaultValue = "true") boolean autoSave,
+            @RequestParam(required = false) String bareme) {
+
+        Optional<BaremeNotation> baremeChoisi = baremeService.trouver(bareme);
+        if (payloads == null || payloads.isEmpty() || baremeChoisi.isEmpty()) {
             return ResponseEntity.badRequest().build();
         }
+
+        StreamingResponseBody corps = outputStream -> {
+            try {
+                cohorteService.calculerCohorte(payloads, autoSave, baremeChoisi.get(), ligne -> {
+                    try {
+                        outputStream.write(objectMapper.writeValueAsBytes(ligne));
+                        outputStream.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(corps);
+    }
+
+    /**
+     * Calcul du MGP pour toute une cohorte, suivi en direct (Accept: text/event-stream)
+     * Événements "progression" (traités, débit, temps restant et lignes
+     * terminées, regroupées au plus une fois par mgp.progression.intervalle),
+     * puis "fin" ou "erreur". Le calcul s'exécute dans le pool des travaux :
+     * file pleine => 429 avec Retry-After. Client déconnecté => calcul annulé.
+     * @param autoSave true pour sauvegarder les résultats par lots (défaut: true)
+     * @param bareme Identifiant du barème de notation (défaut: mgp.baremes.defaut)
+     */
+    @PostMapping(value = "/calculer/cohorte", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> suivreCalculCohorte(
+            @RequestBody List<CalculMGPPayload> payloads,
+            @RequestParam(defaultValue = "true") boolean autoSave,
+            @RequestParam(required = false) String bareme) {
+
+        Optional<BaremeNotation> baremeChoisi = baremeService.trouver(bareme);
+        if (payloads == null || payloads.isEmpty() || baremeChoisi.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        // Délai par défaut : spring.mvc.async.request-timeout
+        SseEmitter emetteur = new SseEmitter();
+        Optional<Future<?>> calcul = progressionService.suivreCalcul(payloads, autoSave, baremeChoisi.get(),
+            new ProgressionService.Emetteur() {
+                @Override
+                public void envoyer(String evenement, Object donnees) throws IOException {
+                    emetteur.send(SseEmitter.event().name(evenement).data(donnees, MediaType.APPLICATION_JSON));
+                }
+
+                @Override
+                public void terminer() {
+                    emetteur.complete();
+                }
+            });
+        if (calcul.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(delaiNouvelEssaiCalcul))
+                    .build();
+        }
+        emetteur.onTimeout(() -> calcul.get().cancel(true));
+        emetteur.onError(erreur -> calcul.get().cancel(true));
+        return ResponseEntity.ok(emetteur);
+    }
+
+    /**
+     * Import d'un relevé de notes CSV (etudiant, ue, credits, note)
+     * Le fichier est lu en flux, les lignes d'un même étudiant doivent se suivre
+     * Le compte rendu est renvoyé en NDJSON : une ligne par étudiant calculé
+     * ou par ligne en erreur, puis une dernière ligne {"bilan": ...}
+     * @param autoSave true pour sauvegarder les résultats par lots (défaut: true)
+     * @param bareme Identifiant du barème de notation (défaut: mgp.baremes.defaut)
+     */
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE,
+                 produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> importerReleve(
+            @RequestParam("fichier") MultipartFile fichier,
+            @RequestParam(defaultValue = "true") boolean autoSave,
+            @RequestParam(required = false) String bareme) {
+
+        Optional<BaremeNotation> baremeChoisi = baremeService.trouver(bareme);
+        if (fichier.isEmpty() || baremeChoisi.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        StreamingResponseBody corps = outputStream -> {
+            try (InputStream csv = fichier.getInputStream()) {
+                ImportService.BilanImport bilan = importService.importer(csv, autoSave, baremeChoisi.get(), ligne -> {
+                    try {
+                        outputStream.write(objectMapper.writeValueAsBytes(ligne));
+                        outputStream.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                outputStream.write(objectMapper.writeValueAsBytes(Map.of("bilan", bilan)));
+                outputStream.write('\n');
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(corps);
     }
 
     /**
      * Génération PDF à partir d'un ID sauvegardé
+     * Les bulletins déjà générés sont servis depuis le cache ; les autres sont
+     * rendus dans la voie dédiée aux bulletins : sans cache, le PDF est écrit
+     * dans la réponse au fil de la génération. Voie saturée : 429 avec Retry-After.
      */
     @GetMapping("/pdf/{id}")
-    public ResponseEntity<byte[]> genererPdfParId(@PathVariable Long id) {
-        try {
-            ResultatMGP resultat = resultatRepository.findById(id)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+    public WebAsyncTask<Void> genererPdfParId(@PathVariable Long id, HttpServletResponse response) throws IOException {
+        // UE chargées d'avance : la session est fermée avant le rendu du PDF
+        ResultatMGP resultat = mgpService.trouverResultat(id)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        String fichier = "bulletin-" + resultat.getNomEtudiant() + ".pdf";
 
-            return preparerReponsePdf(pdfService.genererBulletinMGP(resultat), 
-                                    "bulletin-" + resultat.getNomEtudiant() + ".pdf");
-        } catch (DocumentException e) {
-            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Erreur de génération PDF");
+        if (!cachePdfActif) {
+            return rendrePdf(response, fichier, sortie -> pdfService.genererBulletinMGP(resultat, sortie));
+        }
+        byte[] enCache = bulletinCache.lireEnCache(resultat);
+        if (enCache != null) {
+            response.setContentLength(enCache.length);
+            preparerReponsePdf(response, fichier).write(enCache);
+            return null;
         }
+        // Seul le remplissage du cache produit le document complet en mémoire
+        return rendrePdf(response, fichier, sortie -> sortie.write(bulletinCache.obtenirBulletin(resultat)));
     }
 
     /**
      * Génération PDF directe (pour cas spéciaux)
+     * Rendue dans la voie dédiée aux bulletins et écrite dans la réponse au fil
+     * de la génération ; voie saturée : 429 avec Retry-After
      */
     @PostMapping("/pdf")
-    public ResponseEntity<byte[]> genererPdfDirect(@RequestBody ResultatMGP resultat) {
-        try {
-            return preparerReponsePdf(pdfService.genererBulletinMGP(resultat), 
-                                    "bulletin-temporaire.pdf");
-        } catch (DocumentException e) {
-            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Erreur de génération PDF");
-        }
+    public WebAsyncTask<Void> genererPdfDirect(@RequestBody ResultatMGP resultat, HttpServletResponse response) {
+        return rendrePdf(response, "bulletin-temporaire.pdf", sortie -> pdfService.genererBulletinMGP(resultat, sortie));
     }
 
-    // Méthodes utilitaires et classes internes
-    private ResponseEntity<byte[]> preparerReponsePdf(byte[] pdf, String filename) {
+    /**
+     * Export des bulletins d'une classe dans une archive ZIP
+     * Sélection par liste d'identifiants, ou à défaut par début de nom
+     */
+    @PostMapping(value = "/pdf/archive", produces = "application/zip")
+    public ResponseEntity<StreamingResponseBody> exporterBulletins(@RequestBody ExportBulletinsPayload payload) {
+        boolean sansIds = payload.getIds() == null || payload.getIds().isEmpty();
+        boolean sansNom = payload.getNom() == null || payload.getNom().isBlank();
+        if (sansIds && sansNom) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        StreamingResponseBody corps = outputStream ->
+            exportService.exporterArchive(payload.getIds(), payload.getNom(), outputStream);
+
         HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_PDF);
+        headers.setContentType(MediaType.parseMediaType("application/zip"));
         headers.setContentDisposition(
             ContentDisposition.attachment()
-                .filename(filename)
+                .filename("bulletins.zip")
                 .build());
-        return new ResponseEntity<>(pdf, headers, HttpStatus.OK);
+        return new ResponseEntity<>(corps, headers, HttpStatus.OK);
     }
 
+    /**
+     * File d'attente des bulletins pleine : le client réessaie plus tard
+     */
+    @ExceptionHandler(CloisonPdfService.VoieSatureeException.class)
+    public ResponseEntity<Void> voiePdfSaturee() {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(delaiNouvelEssaiPdf))
+            .build();
+    }
+
+    // Méthodes utilitaires et classes internes
+    private WebAsyncTask<Void> rendrePdf(HttpServletResponse response, String fichier, RenduPdf rendu) {
+        // La tâche n'est soumise à la voie qu'une fois la requête passée en mode asynchrone
+        return new WebAsyncTask<>(null, cloisonPdf.getVoie(), () -> {
+            try {
+                rendu.rendre(preparerReponsePdf(response, fichier));
+            } catch (DocumentException e) {
+                throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Erreur de génération PDF");
+            }
+            return null;
+        });
+    }
+
+    private static OutputStream preparerReponsePdf(HttpServletResponse response, String fichier) throws IOException {
+        response.setContentType(MediaType.APPLICATION_PDF_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+            ContentDisposition.attachment().filename(fichier).build().toString());
+        return response.getOutputStream();
+    }
+
+    @FunctionalInterface
+    private interface RenduPdf {
+        void rendre(OutputStream sortie) throws DocumentException, IOException;
+    }
+
+    /**
+     * Historique des résultats d'un étudiant, par pages
+     * Les pages déjà lues sont servies depuis un cache, invalidé à chaque
+     * sauvegarde ou correction d'un résultat de cet étudiant
+     * L'en-tête X-Curseur-Suivant donne la valeur de "apres" pour la page suivante
+     * @param apres Curseur renvoyé par la page précédente (absent pour la première page)
+     * @param taille Nombre de résultats par page (défaut: 20, maximum: 100)
+     */
     @GetMapping("/historique/{nom}")
-    public ResponseEntity<List<ResultatMGP>> getHistorique(@PathVariable String nom) {
-        return ResponseEntity.ok(mgpService.rechercherHistorique(nom));
+    public ResponseEntity<List<ResultatMGPDTO>> getHistorique(
+            @PathVariable String nom,
+            @RequestParam(required = false) Long apres,
+            @RequestParam(defaultValue = "20") int taille) {
+
+        List<ResultatMGPDTO> page = mgpService.consulterHistorique(nom, apres, taille);
+
+        ResponseEntity.BodyBuilder reponse = ResponseEntity.ok();
+        if (!page.isEmpty() && page.size() >= Math.min(taille, MGPService.TAILLE_PAGE_MAX)) {
+            reponse.header(EN_TETE_CURSEUR, String.valueOf(page.get(page.size() - 1).getId()));
+        }
+        return reponse.body(page);
+    }
+
+    /**
+     * Correction de la note d'une UE d'un résultat sauvegardé
+     * Le MGP, la mention et la décision sont mis à jour sans recalculer les autres UE
+     * La correction suit le barème enregistré avec le résultat
+     * Réponse 409 si le résultat a été modifié en même temps, ou si son barème
+     * n'est plus disponible
+     */
+    @PatchMapping("/resultats/{id}/ues/{ueId}")
+    public ResponseEntity<MGPService.CorrectionUE> corrigerUE(
+            @PathVariable Long id,
+            @PathVariable Long ueId,
+            @RequestBody CorrectionUEPayload payload) {
+
+        try {
+            MGPService.CorrectionUE correction = mgpService
+                .corrigerUE(id, ueId, payload.getNote(), payload.getCredits())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+            bulletinCache.invalider(id);
+            idempotence.invaliderResultat(id);
+            return ResponseEntity.ok(correction);
+        } catch (IllegalArgumentException e) {
+            rejetsArgument.increment();
+            return ResponseEntity.badRequest().build();
+        } catch (OptimisticLockException | OptimisticLockingFailureException | IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    /**
+     * Statistiques de tous les résultats sauvegardés
+     * @param pas Largeur des classes de la distribution des MGP (défaut: 0.1, de 0.01 à 4)
+     */
+    @GetMapping("/statistiques")
+    public ResponseEntity<StatistiquesCohorte> getStatistiques(
+            @RequestParam(defaultValue = "0.1") double pas) {
+        try {
+            return ResponseEntity.ok(mgpService.calculerStatistiques((int) Math.round(pas * 100)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Barèmes de notation disponibles (paramètre bareme des calculs)
+     */
+    @GetMapping("/baremes")
+    public List<BaremeInfo> listerBaremes() {
+        String idDefaut = baremeService.getIdDefaut();
+        return baremeService.lister().stream()
+            .map(b -> new BaremeInfo(b.getId(), b.getLibelle(), b.getMgpAdmission(), b.getMgpCant(),
+                b.getId().equals(idDefaut)))
+            .toList();
     }
 
     // Ancien endpoint gardé pour compatibilité
     @Deprecated
     @PostMapping("/sauvegarder")
-    public ResponseEntity<ResultatMGP> sauvegarderResultat(@RequestBody ResultatMGP resultat) {
-        return ResponseEntity.ok(mgpService.sauvegarderResultat(resultat));
+    public ResponseEntity<ResultatMGPDTO> sauvegarderResultat(@RequestBody ResultatMGP resultat) {
+        return ResponseEntity.ok(ResultatMGPDTO.depuis(mgpService.sauvegarderResultat(resultat)));
+    }
+
+    public static class BaremeInfo {
+        private final String id;
+        private final String libelle;
+        private final double mgpAdmission;
+        private final double mgpCant;
+        private final boolean defaut;
+
+        public BaremeInfo(String id, String libelle, double mgpAdmission, double mgpCant, boolean defaut) {
+            this.id = id;
+            this.libelle = libelle;
+            this.mgpAdmission = mgpAdmission;
+            this.mgpCant = mgpCant;
+            this.defaut = defaut;
+        }
+
+        public String getId() { return id; }
+        public String getLibelle() { return libelle; }
+        public double getMgpAdmission() { return mgpAdmission; }
+        public double getMgpCant() { return mgpCant; }
+        public boolean isDefaut() { return defaut; }
     }
 
-    public static class CalculMGPPayload {
-        private List<UE> ues;
-        private String nomEtudiant;
+    public static class CorrectionUEPayload {
+        private Double note;
+        private Integer credits;
 
         // Getters & Setters
-        public List<UE> getUes() { return ues; }
-        public void setUes(List<UE> ues) { this.ues = ues; }
-        public String getNomEtudiant() { return nomEtudiant; }
-        public void setNomEtudiant(String nomEtudiant) { this.nomEtudiant = nomEtudiant; }
+        public Double getNote() { return note; }
+        public void setNote(Double note) { this.note = note; }
+        public Integer getCredits() { return credits; }
+        public void setCredits(Integer credits) { this.credits = credits; }
     }
-}
\ No newline at end of file
+}
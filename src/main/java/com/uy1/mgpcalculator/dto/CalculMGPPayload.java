@@ -0,0 +1,20 @@
+package com.uy1.mgpcalculator.dto;
+
+import com.uy1.mgpcalculator.model.UE;
+
+import java.util.List;
+
+/**
+ * Corps d'une demande de calcul de MGP : les UE d'un étudiant et son nom
+ * Reçu seul par /calculer, en liste pour une cohorte ou un travail de calcul
+ */
+public class CalculMGPPayload {
+    private List<UE> ues;
+    private String nomEtudiant;
+
+    // Getters & Setters
+    public List<UE> getUes() { return ues; }
+    public void setUes(List<UE> ues) { this.ues = ues; }
+    public String getNomEtudiant() { return nomEtudiant; }
+    public void setNomEtudiant(String nomEtudiant) { this.nomEtudiant = nomEtudiant; }
+}
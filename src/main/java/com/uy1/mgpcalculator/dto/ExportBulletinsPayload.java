@@ -0,0 +1,18 @@
+package com.uy1.mgpcalculator.dto;
+
+import java.util.List;
+
+/**
+ * Corps d'une demande d'export de bulletins : les identifiants des résultats
+ * et le nom de l'archive produite
+ */
+public class ExportBulletinsPayload {
+    private List<Long> ids;
+    private String nom;
+
+    // Getters & Setters
+    public List<Long> getIds() { return ids; }
+    public void setIds(List<Long> ids) { this.ids = ids; }
+    public String getNom() { return nom; }
+    public void setNom(String nom) { this.nom = nom; }
+}
@@ -0,0 +1,102 @@
+package com.uy1.mgpcalculator.dto;
+
+import com.uy1.mgpcalculator.model.ResultatMGP;
+import com.uy1.mgpcalculator.model.UE;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Vue en lecture seule d'un résultat MGP, telle que renvoyée par l'API
+ * Même forme JSON que l'entité, mais les valeurs dérivées (pourcentage de
+ * réussite, UE validées et en échec, décision, MGP formaté) sont calculées
+ * une seule fois, en un parcours des UE, au moment de la construction.
+ * La sérialisation ne fait plus que lire des champs et ne déclenche aucun
+ * chargement paresseux : les UE doivent être chargées quand la vue est construite.
+ */
+public class ResultatMGPDTO {
+
+    private final Long id;
+    private final String nomEtudiant;
+    private final List<UEDTO> ues;
+    private final Double mgp;
+    private final String mention;
+    private final Integer totalCredits;
+    private final Double totalPoints;
+    private final Integer nombreUE;
+    private final LocalDateTime dateCalcul;
+    private final Boolean admis;
+    private final String baremeId;
+    private final Long version;
+    private final Double pourcentageReussite;
+    private final long nombreUEValidees;
+    private final long nombreUEEnEchec;
+    private final String decisionFinale;
+    private final String mgpFormate;
+
+    private ResultatMGPDTO(ResultatMGP resultat) {
+        this.id = resultat.getId();
+        this.nomEtudiant = resultat.getNomEtudiant();
+        this.mgp = resultat.getMgp();
+        this.mention = resultat.getMention();
+        this.totalCredits = resultat.getTotalCredits();
+        this.totalPoints = resultat.getTotalPoints();
+        this.nombreUE = resultat.getNombreUE();
+        this.dateCalcul = resultat.getDateCalcul();
+        this.admis = resultat.getAdmis();
+        this.baremeId = resultat.getBaremeId();
+        this.version = resultat.getVersion();
+
+        List<UE> source = resultat.getUes();
+        long validees = 0;
+        long echecs = 0;
+        if (source == null) {
+            this.ues = null;
+        } else {
+            List<UEDTO> vues = new ArrayList<>(source.size());
+            for (UE ue : source) {
+                UEDTO vue = UEDTO.depuis(ue);
+                if (vue.isValidee()) {
+                    validees++;
+                } else if (vue.isEnEchec()) {
+                    echecs++;
+                }
+                vues.add(vue);
+            }
+            this.ues = Collections.unmodifiableList(vues);
+        }
+        this.nombreUEValidees = validees;
+        this.nombreUEEnEchec = echecs;
+        this.pourcentageReussite = ues == null || ues.isEmpty() ? 0.0 : (double) validees / ues.size() * 100;
+        this.decisionFinale = mgp != null ? resultat.getDecisionFinale() : null;
+        this.mgpFormate = String.format("%.2f", mgp);
+    }
+
+    /**
+     * Construit la vue d'un résultat dont les UE sont déjà chargées
+     */
+    public static ResultatMGPDTO depuis(ResultatMGP resultat) {
+        return new ResultatMGPDTO(resultat);
+    }
+
+    // Getters
+    public Long getId() { return id; }
+    public String getNomEtudiant() { return nomEtudiant; }
+    public List<UEDTO> getUes() { return ues; }
+    public Double getMgp() { return mgp; }
+    public String getMention() { return mention; }
+    public Integer getTotalCredits() { return totalCredits; }
+    public Double getTotalPoints() { return totalPoints; }
+    public Integer getNombreUE() { return nombreUE; }
+    public LocalDateTime getDateCalcul() { return dateCalcul; }
+    public Boolean getAdmis() { return admis; }
+    public String getBaremeId() { return baremeId; }
+    public Long getVersion() { return version; }
+    public Double getPourcentageReussite() { return pourcentageReussite; }
+    public long getNombreUEValidees() { return nombreUEValidees; }
+    public long getNombreUEEnEchec() { return nombreUEEnEchec; }
+    public String getDecisionFinale() { return decisionFinale; }
+    public String getMgpFormate() { return mgpFormate; }
+}
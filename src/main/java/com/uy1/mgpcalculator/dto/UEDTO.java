@@ -0,0 +1,51 @@
+package com.uy1.mgpcalculator.dto;
+
+import com.uy1.mgpcalculator.model.UE;
+
+/**
+ * Vue en lecture seule d'une UE, telle que renvoyée par l'API
+ * Même forme JSON que l'entité ; les valeurs dérivées (points totaux,
+ * validation, échec) sont calculées une fois à la construction
+ */
+public class UEDTO {
+
+    private final Long id;
+    private final String nom;
+    private final Integer credits;
+    private final Double note;
+    private final String cote;
+    private final Double qualitePoints;
+    private final String mention;
+    private final Double pointsTotaux;
+    private final boolean validee;
+    private final boolean enEchec;
+
+    private UEDTO(UE ue) {
+        this.id = ue.getId();
+        this.nom = ue.getNom();
+        this.credits = ue.getCredits();
+        this.note = ue.getNote();
+        this.cote = ue.getCote();
+        this.qualitePoints = ue.getQualitePoints();
+        this.mention = ue.getMention();
+        this.pointsTotaux = ue.getPointsTotaux();
+        this.validee = ue.isValidee();
+        this.enEchec = ue.isEnEchec();
+    }
+
+    public static UEDTO depuis(UE ue) {
+        return new UEDTO(ue);
+    }
+
+    // Getters
+    public Long getId() { return id; }
+    public String getNom() { return nom; }
+    public Integer getCredits() { return credits; }
+    public Double getNote() { return note; }
+    public String getCote() { return cote; }
+    public Double getQualitePoints() { return qualitePoints; }
+    public String getMention() { return mention; }
+    public Double getPointsTotaux() { return pointsTotaux; }
+    public boolean isValidee() { return validee; }
+    public boolean isEnEchec() { return enEchec; }
+}
@@ -1,10 +1,16 @@
 package com.uy1.mgpcalculator.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.uy1.mgpcalculator.utils.BaremeNotation;
+import com.uy1.mgpcalculator.utils.NomUtils;
+import com.uy1.mgpcalculator.utils.NotationUtils;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Représente le résultat complet du calcul de MGP
@@ -12,11 +18,18 @@ import java.util.List;
  * et générer le rapport PDF du calcul de MGP
  */
 @Entity
-@Table(name = "resultat_mgp")
+@Table(name = "resultat_mgp", indexes = {
+    @Index(name = "idx_resultat_mgp_statistiques", columnList = "centieme_mgp, mention, admis")
+})
 public class ResultatMGP {
     
+    /**
+     * Identifiant tiré d'une séquence par blocs de 50 (optimiseur pooled)
+     * pour permettre les insertions JDBC par lots
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "resultat_mgp_seq")
+    @SequenceGenerator(name = "resultat_mgp_seq", sequenceName = "resultat_mgp_seq", allocationSize = 50)
     private Long id;
     
     /**
@@ -26,12 +39,34 @@ public class ResultatMGP {
     @Column(name = "nom_etudiant", length = 100)
     private String nomEtudiant;
     
+    /**
+     * Nom de l'étudiant sans accents, en minuscules
+     * Maintenu automatiquement à partir de nomEtudiant
+     */
+    @JsonIgnore
+    @Column(name = "nom_normalise", length = 100)
+    private String nomNormalise;
+
+    /**
+     * Mots du nom normalisé (clés de recherche de l'historique), une ligne par
+     * mot dans resultat_mot ; l'index (mot, resultat_id) sert chaque mot
+     * recherché dans l'ordre des identifiants
+     * Maintenus automatiquement à partir de nomEtudiant
+     */
+    @JsonIgnore
+    @ElementCollection(fetch = FetchType.LAZY)
+    @CollectionTable(name = "resultat_mot", joinColumns = @JoinColumn(name = "resultat_id"),
+        indexes = @Index(name = "idx_resultat_mot_mot_id", columnList = "mot, resultat_id"))
+    @Column(name = "mot", length = 100, nullable = false)
+    private Set<String> mots = new HashSet<>();
+    
     /**
      * Liste des UE utilisées pour le calcul
      * Relation OneToMany avec cascade pour sauvegarder automatiquement les UE
+     * La clé étrangère non nulle est écrite dans l'INSERT de l'UE (pas d'UPDATE en plus)
      */
     @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
-    @JoinColumn(name = "resultat_mgp_id")
+    @JoinColumn(name = "resultat_mgp_id", nullable = false, updatable = false)
     private List<UE> ues = new ArrayList<>();
     
     /**
@@ -43,6 +78,14 @@ public class ResultatMGP {
     @DecimalMin(value = "0.0", message = "Le MGP doit être positif")
     @DecimalMax(value = "4.0", message = "Le MGP ne peut pas dépasser 4.0")
     private Double mgp;
+
+    /**
+     * MGP tronqué au centième (0 à 400), clé de regroupement des statistiques
+     * Entier pour que la base compte sans évaluer d'expression par ligne
+     */
+    @JsonIgnore
+    @Column(name = "centieme_mgp")
+    private Short centiemeMgp;
     
     /**
      * Mention générale basée sur le MGP
@@ -89,6 +132,25 @@ public class ResultatMGP {
      */
     @Column(nullable = false)
     private Boolean admis;
+
+    /**
+     * Décision finale (ADMIS, CANT, ECHEC) donnée par le barème du calcul
+     */
+    @Column(name = "decision_finale", length = 10)
+    private String decisionFinale;
+
+    /**
+     * Identifiant du barème de notation du calcul, repris par les corrections
+     */
+    @Column(name = "bareme_id", length = 50)
+    private String baremeId;
+    
+    /**
+     * Version du contenu, incrémentée à chaque modification du résultat
+     * Sert aussi de clé de fraîcheur pour le cache des bulletins PDF
+     */
+    @Version
+    private Long version;
     
     // Constructeurs
     
@@ -117,8 +179,11 @@ public class ResultatMGP {
         this.totalCredits = totalCredits;
         this.totalPoints = totalPoints;
         this.nombreUE = ues.size();
-        this.admis = mgp >= 2.0; // Seuil d'admission à UY1
-        this.nomEtudiant = nomEtudiant;
+        setNomEtudiant(nomEtudiant);
+        // Barème UY1 tant qu'un autre n'est pas appliqué (appliquerBareme)
+        this.baremeId = NotationUtils.BAREME_UY1.getId();
+        this.admis = NotationUtils.BAREME_UY1.isAdmis(mgp);
+        this.decisionFinale = NotationUtils.BAREME_UY1.decider(mgp);
     }
 
     
@@ -139,6 +204,17 @@ public class ResultatMGP {
     
     public void setNomEtudiant(String nomEtudiant) {
         this.nomEtudiant = nomEtudiant;
+        this.nomNormalise = NomUtils.normaliser(nomEtudiant);
+        this.mots.clear();
+        this.mots.addAll(NomUtils.mots(nomNormalise));
+    }
+    
+    public String getNomNormalise() {
+        return nomNormalise;
+    }
+
+    public Set<String> getMots() {
+        return mots;
     }
     
     public List<UE> getUes() {
@@ -156,6 +232,11 @@ public class ResultatMGP {
     
     public void setMgp(Double mgp) {
         this.mgp = mgp;
+        this.centiemeMgp = centieme(mgp);
+    }
+
+    public Short getCentiemeMgp() {
+        return centiemeMgp;
     }
     
     public String getMention() {
@@ -206,7 +287,59 @@ public class ResultatMGP {
         this.admis = admis;
     }
     
+    public String getBaremeId() {
+        return baremeId;
+    }
+
+    public void setBaremeId(String baremeId) {
+        this.baremeId = baremeId;
+    }
+
+    public void setDecisionFinale(String decisionFinale) {
+        this.decisionFinale = decisionFinale;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
     // Méthodes utilitaires
+
+    /**
+     * Applique un barème au MGP courant : mention, admission, décision finale,
+     * et barème enregistré pour les corrections suivantes
+     *
+     * @param bareme Barème de notation du calcul
+     */
+    public void appliquerBareme(BaremeNotation bareme) {
+        this.baremeId = bareme.getId();
+        this.mention = bareme.convertirMgpEnMention(mgp);
+        this.admis = bareme.isAdmis(mgp);
+        this.decisionFinale = bareme.decider(mgp);
+    }
+    
+    /**
+     * Recalcule les clés dérivées (nom normalisé, centième du MGP) avant
+     * écriture, y compris si les champs ont été renseignés sans les setters
+     */
+    @PrePersist
+    @PreUpdate
+    void calculerCles() {
+        this.nomNormalise = NomUtils.normaliser(nomEtudiant);
+        this.centiemeMgp = centieme(mgp);
+    }
+
+    /**
+     * Centième inférieur du MGP ; la petite marge absorbe les erreurs
+     * d'arrondi (2.3 * 100 = 229.99999999999997)
+     */
+    public static Short centieme(Double mgp) {
+        return mgp != null ? (short) Math.floor(mgp * 100 + 1e-9) : null;
+    }
     
     /**
      * Calcule le pourcentage de réussite (UE validées / total UE)
@@ -254,18 +387,18 @@ public class ResultatMGP {
     }
     
     /**
-     * Détermine la décision finale selon les règles d'UY1
+     * Décision finale donnée par le barème du calcul
+     * Sans décision enregistrée (résultat reçu tel quel, ancien enregistrement
+     * du journal), elle est déduite de l'admission avec le seuil du CANT d'UY1
      * 
      * @return La décision finale ("ADMIS", "CANT", "ECHEC")
      */
     public String getDecisionFinale() {
-        if (mgp >= 2.0) {
-            return "ADMIS";
-        } else if (mgp >= 1.0) {
-            return "CANT"; // Crédit Accordé Non Transférable
-        } else {
-            return "ECHEC";
+        if (decisionFinale != null) {
+            return decisionFinale;
         }
+        BaremeNotation bareme = NotationUtils.BAREME_UY1;
+        return bareme.decider(mgp, admis != null ? admis : bareme.isAdmis(mgp));
     }
     
     /**
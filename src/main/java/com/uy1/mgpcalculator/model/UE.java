@@ -8,11 +8,18 @@ import jakarta.validation.constraints.*;
  * Cette classe encapsule toutes les données d'une matière pour le calcul du MGP
  */
 @Entity
-@Table(name = "ue")
+@Table(name = "ue", indexes = {
+    @Index(name = "idx_ue_resultat_mgp_id", columnList = "resultat_mgp_id")
+})
 public class UE {
     
+    /**
+     * Identifiant tiré d'une séquence par blocs de 50 (optimiseur pooled)
+     * pour permettre les insertions JDBC par lots
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ue_seq")
+    @SequenceGenerator(name = "ue_seq", sequenceName = "ue_seq", allocationSize = 50)
     private Long id;
     
     /**
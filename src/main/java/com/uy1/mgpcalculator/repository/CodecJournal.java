@@ -0,0 +1,188 @@
+package com.uy1.mgpcalculator.repository;
+
+import com.uy1.mgpcalculator.model.ResultatMGP;
+import com.uy1.mgpcalculator.model.UE;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Format binaire d'un résultat dans le journal
+ *
+ * Résultat (51 octets fixes) :
+ *   id long | version long | date (secondes UTC) long | date (nanos) int |
+ *   mgp double | totalPoints double | totalCredits int | nombreUE short | admis byte
+ *   puis nomEtudiant et mention (chaînes), et depuis le format 2 baremeId et
+ *   decisionFinale (chaînes)
+ * Chaque UE (25 octets fixes) :
+ *   id long | note double | qualitePoints double | credits byte
+ *   puis nom, cote et mention (chaînes)
+ * Chaîne : longueur short (-1 pour null) puis les octets UTF-8
+ */
+final class CodecJournal {
+
+    /** Format écrit ; le format 1 (sans barème ni décision) reste lisible */
+    static final int FORMAT = 2;
+
+    static final int TAILLE_FIXE_RESULTAT = 51;
+    static final int TAILLE_FIXE_UE = 25;
+
+    private CodecJournal() {
+    }
+
+    /**
+     * Taille maximale de l'encodage (les chaînes UTF-8 font au plus 3 octets par caractère)
+     */
+    static int tailleMax(ResultatMGP resultat) {
+        int taille = TAILLE_FIXE_RESULTAT + tailleMax(resultat.getNomEtudiant()) + tailleMax(resultat.getMention())
+                + tailleMax(resultat.getBaremeId()) + tailleMax(resultat.getDecisionFinale());
+        for (UE ue : resultat.getUes()) {
+            taille += TAILLE_FIXE_UE + tailleMax(ue.getNom()) + tailleMax(ue.getCote()) + tailleMax(ue.getMention());
+        }
+        return taille;
+    }
+
+    /**
+     * Écrit le résultat à la position courante du tampon, au format courant
+     */
+    static void encoder(ResultatMGP resultat, ByteBuffer tampon) {
+        LocalDateTime date = resultat.getDateCalcul();
+        tampon.putLong(resultat.getId());
+        tampon.putLong(resultat.getVersion() != null ? resultat.getVersion() : 0L);
+        tampon.putLong(date.toEpochSecond(ZoneOffset.UTC));
+        tampon.putInt(date.getNano());
+        tampon.putDouble(resultat.getMgp());
+        tampon.putDouble(resultat.getTotalPoints());
+        tampon.putInt(resultat.getTotalCredits());
+        tampon.putShort((short) resultat.getUes().size());
+        tampon.put((byte) (Boolean.TRUE.equals(resultat.getAdmis()) ? 1 : 0));
+        ecrireChaine(tampon, resultat.getNomEtudiant());
+        ecrireChaine(tampon, resultat.getMention());
+        ecrireChaine(tampon, resultat.getBaremeId());
+        ecrireChaine(tampon, resultat.getDecisionFinale());
+
+        for (UE ue : resultat.getUes()) {
+            tampon.putLong(ue.getId());
+            tampon.putDouble(ue.getNote());
+            tampon.putDouble(ue.getQualitePoints() != null ? ue.getQualitePoints() : Double.NaN);
+            tampon.put(ue.getCredits().byteValue());
+            ecrireChaine(tampon, ue.getNom());
+            ecrireChaine(tampon, ue.getCote());
+            ecrireChaine(tampon, ue.getMention());
+        }
+    }
+
+    /**
+     * Lit un résultat encodé à partir de la position donnée (lecture absolue :
+     * la position du tampon n'est pas modifiée)
+     *
+     * @param format Format du segment qui contient l'enregistrement
+     */
+    static ResultatMGP decoder(ByteBuffer tampon, int position, int format) {
+        ResultatMGP resultat = new ResultatMGP();
+        resultat.setId(tampon.getLong(position));
+        resultat.setVersion(tampon.getLong(position + 8));
+        resultat.setDateCalcul(LocalDateTime.ofEpochSecond(
+            tampon.getLong(position + 16), tampon.getInt(position + 24), ZoneOffset.UTC));
+        resultat.setMgp(tampon.getDouble(position + 28));
+        resultat.setTotalPoints(tampon.getDouble(position + 36));
+        resultat.setTotalCredits(tampon.getInt(position + 44));
+        int nombreUE = tampon.getShort(position + 48);
+        resultat.setAdmis(tampon.get(position + 50) == 1);
+
+        int[] curseur = {position + TAILLE_FIXE_RESULTAT};
+        resultat.setNomEtudiant(lireChaine(tampon, curseur));
+        resultat.setMention(lireChaine(tampon, curseur));
+        if (format >= 2) {
+            resultat.setBaremeId(lireChaine(tampon, curseur));
+            resultat.setDecisionFinale(lireChaine(tampon, curseur));
+        }
+
+        List<UE> ues = new ArrayList<>(nombreUE);
+        for (int i = 0; i < nombreUE; i++) {
+            int p = curseur[0];
+            UE ue = new UE();
+            ue.setId(tampon.getLong(p));
+            ue.setNote(tampon.getDouble(p + 8));
+            double qualitePoints = tampon.getDouble(p + 16);
+            ue.setQualitePoints(Double.isNaN(qualitePoints) ? null : qualitePoints);
+            ue.setCredits((int) tampon.get(p + 24));
+            curseur[0] = p + TAILLE_FIXE_UE;
+            ue.setNom(lireChaine(tampon, curseur));
+            ue.setCote(lireChaine(tampon, curseur));
+            ue.setMention(lireChaine(tampon, curseur));
+            ues.add(ue);
+        }
+        resultat.setUes(ues);
+        return resultat;
+    }
+
+    /**
+     * Champs d'un enregistrement utiles aux index en mémoire du journal
+     * (identifiants, nom, MGP, mention, décision), sans décoder les UE
+     */
+    static EnTete lireEnTete(ByteBuffer tampon, int position, int format) {
+        long id = tampon.getLong(position);
+        double mgp = tampon.getDouble(position + 28);
+        int nombreUE = tampon.getShort(position + 48);
+        boolean admis = tampon.get(position + 50) == 1;
+        int[] curseur = {position + TAILLE_FIXE_RESULTAT};
+        String nomEtudiant = lireChaine(tampon, curseur);
+        String mention = lireChaine(tampon, curseur);
+        if (format >= 2) {
+            sauterChaine(tampon, curseur);
+            sauterChaine(tampon, curseur);
+        }
+
+        long maxUe = 0;
+        for (int i = 0; i < nombreUE; i++) {
+            maxUe = Math.max(maxUe, tampon.getLong(curseur[0]));
+            curseur[0] += TAILLE_FIXE_UE;
+            sauterChaine(tampon, curseur);
+            sauterChaine(tampon, curseur);
+            sauterChaine(tampon, curseur);
+        }
+        return new EnTete(id, maxUe, nomEtudiant, mgp, mention, admis);
+    }
+
+    /**
+     * Résumé d'un enregistrement renvoyé par {@link #lireEnTete(ByteBuffer, int, int)}
+     */
+    record EnTete(long id, long maxUe, String nomEtudiant, double mgp, String mention, boolean admis) {
+    }
+
+    private static int tailleMax(String valeur) {
+        return 2 + (valeur != null ? valeur.length() * 3 : 0);
+    }
+
+    private static void ecrireChaine(ByteBuffer tampon, String valeur) {
+        if (valeur == null) {
+            tampon.putShort((short) -1);
+            return;
+        }
+        byte[] octets = valeur.getBytes(StandardCharsets.UTF_8);
+        tampon.putShort((short) octets.length);
+        tampon.put(octets);
+    }
+
+    private static String lireChaine(ByteBuffer tampon, int[] curseur) {
+        int longueur = tampon.getShort(curseur[0]);
+        curseur[0] += 2;
+        if (longueur < 0) {
+            return null;
+        }
+        byte[] octets = new byte[longueur];
+        tampon.get(curseur[0], octets);
+        curseur[0] += longueur;
+        return new String(octets, StandardCharsets.UTF_8);
+    }
+
+    private static void sauterChaine(ByteBuffer tampon, int[] curseur) {
+        int longueur = tampon.getShort(curseur[0]);
+        curseur[0] += 2 + Math.max(0, longueur);
+    }
+}
@@ -0,0 +1,728 @@
+package com.uy1.mgpcalculator.repository;
+
+import com.uy1.mgpcalculator.model.ResultatMGP;
+import com.uy1.mgpcalculator.model.UE;
+import com.uy1.mgpcalculator.utils.NomUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Stockage des résultats dans un journal en ajout seul, sur des segments de
+ * taille fixe projetés en mémoire (segment-000000.journal, segment-000001...)
+ *
+ * Chaque enregistrement est précédé de sa longueur et du CRC32 de son contenu ;
+ * une longueur nulle marque la fin des données d'un segment. La longueur est
+ * écrite en dernier : un enregistrement interrompu par un arrêt brutal est
+ * détecté au démarrage (longueur ou CRC invalide) et le journal est tronqué
+ * à cet endroit. Les segments suivants sont mis de côté (suffixe ".rejete").
+ * Chaque segment porte le format de ses enregistrements : après une mise à
+ * jour du format, les anciens segments restent lisibles et les écritures
+ * reprennent dans un nouveau segment.
+ *
+ * Les identifiants sont attribués par le journal, sans trou : l'index en
+ * mémoire est un tableau de positions indexé par identifiant. Une nouvelle
+ * sauvegarde d'un résultat existant ajoute un enregistrement de version
+ * supérieure, qui remplace le précédent dans l'index.
+ *
+ * L'historique et les statistiques sont servis par des index en mémoire,
+ * reconstruits avec celui des positions au démarrage : un résumé de chaque
+ * résultat (nom normalisé, MGP, mention, décision), pour chaque mot des noms
+ * normalisés les identifiants triés des résultats qui le contiennent, et des
+ * tableaux de comptage par centième de MGP (nombres par mention et décision,
+ * minimum et maximum exacts) tenus à jour à chaque écriture.
+ */
+public class JournalResultatStore implements ResultatStore, AutoCloseable {
+
+    private static final int MAGIE = 0x4D47504A; // "MGPJ"
+    private static final int TAILLE_EN_TETE_SEGMENT = 8;
+    private static final int TAILLE_EN_TETE_ENREGISTREMENT = 8;
+    private static final String PREFIXE_SEGMENT = "segment-";
+    private static final String SUFFIXE_SEGMENT = ".journal";
+
+    /** Une position encode le numéro de segment (bits hauts) et l'offset (32 bits bas) */
+    private static final int BITS_OFFSET = 32;
+
+    private final Path repertoire;
+    private final int tailleSegment;
+    private final boolean forcerEcriture;
+
+    private final ReentrantReadWriteLock verrou = new ReentrantReadWriteLock();
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+    private final List<Integer> formats = new ArrayList<>();
+    private final CRC32 crc = new CRC32();
+    private ByteBuffer tampon = ByteBuffer.allocate(4096);
+
+    private long[] positions = new long[1024];
+    private Resume[] resumes = new Resume[1024];
+    private final Map<String, Identifiants> parMot = new HashMap<>();
+
+    // Statistiques indexées par centième de MGP ; une catégorie vaut 2 * rang de la mention + décision
+    private final List<String> mentions = new ArrayList<>();
+    private final Map<String, Integer> rangsMentions = new HashMap<>();
+    private long[][] nombres = new long[0][];
+    private long[] nombresParCentieme = new long[401];
+    private double[] mgpMin = new double[401];
+    private double[] mgpMax = new double[401];
+    // Un extrême retiré par une nouvelle version est recalculé à la prochaine lecture
+    private boolean[] extremesPerimes = new boolean[401];
+    private long dernierId;
+    private long dernierIdUE;
+    private int offsetEcriture;
+
+    private final long nombreRecuperes;
+    private final long dureeRecuperationNanos;
+    private final boolean tronque;
+
+    /**
+     * Ouvre le journal et reconstruit l'index à partir des segments existants
+     *
+     * @param repertoire Répertoire des segments (créé s'il n'existe pas)
+     * @param tailleSegment Taille de chaque segment, en octets (au plus 1 Go)
+     * @param forcerEcriture true pour forcer l'écriture sur disque à chaque sauvegarde
+     */
+    public JournalResultatStore(Path repertoire, long tailleSegment, boolean forcerEcriture) {
+        if (tailleSegment < 4096 || tailleSegment > (1 << 30)) {
+            throw new IllegalArgumentException("La taille d'un segment doit être comprise entre 4 Ko et 1 Go");
+        }
+        this.repertoire = repertoire;
+        this.tailleSegment = (int) tailleSegment;
+        this.forcerEcriture = forcerEcriture;
+
+        long debut = System.nanoTime();
+        try {
+            Files.createDirectories(repertoire);
+            Recuperation recuperation = recuperer();
+            this.nombreRecuperes = recuperation.nombre;
+            this.tronque = recuperation.tronque;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Ouverture du journal impossible : " + repertoire, e);
+        }
+        this.dureeRecuperationNanos = System.nanoTime() - debut;
+    }
+
+    @Override
+    public ResultatMGP sauvegarder(ResultatMGP resultat) {
+        return sauvegarderTous(List.of(resultat)).get(0);
+    }
+
+    @Override
+    public List<ResultatMGP> sauvegarderTous(List<ResultatMGP> resultats) {
+        verrou.writeLock().lock();
+        try {
+            ecrire(resultats);
+            return resultats;
+        } finally {
+            verrou.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<ResultatMGP> trouver(Long id) {
+        verrou.readLock().lock();
+        try {
+            return Optional.ofNullable(lire(id));
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<ResultatMGP> trouverTous(Collection<Long> ids) {
+        List<Long> tries = new ArrayList<>(ids);
+        tries.sort(Comparator.reverseOrder());
+
+        verrou.readLock().lock();
+        try {
+            List<ResultatMGP> resultats = new ArrayList<>(tries.size());
+            for (Long id : tries) {
+                ResultatMGP resultat = lire(id);
+                if (resultat != null) {
+                    resultats.add(resultat);
+                }
+            }
+            return resultats;
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    /**
+     * Parcourt, à partir du curseur, la liste du mot le moins fréquent ; chaque
+     * autre mot est vérifié par une recherche dichotomique dans sa liste
+     */
+    @Override
+    public List<Long> rechercherIds(List<String> mots, long avantId, int limite) {
+        verrou.readLock().lock();
+        try {
+            Identifiants[] listes = new Identifiants[mots.size()];
+            for (int i = 0; i < listes.length; i++) {
+                listes[i] = parMot.get(mots.get(i));
+                if (listes[i] == null) {
+                    return new ArrayList<>();
+                }
+            }
+            Arrays.sort(listes, Comparator.comparingInt(identifiants -> identifiants.taille));
+
+            List<Long> ids = new ArrayList<>(Math.min(limite, listes[0].taille));
+            Identifiants parcours = listes[0];
+            for (int i = parcours.indexAvant(avantId) - 1; i >= 0 && ids.size() < limite; i--) {
+                long id = parcours.valeurs[i];
+                boolean tous = true;
+                for (int j = 1; j < listes.length && tous; j++) {
+                    tous = listes[j].contient(id);
+                }
+                if (tous) {
+                    ids.add(id);
+                }
+            }
+            return ids;
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    /**
+     * Relit le résultat, applique la correction et ajoute la nouvelle version
+     * au journal, sous le verrou d'écriture : deux corrections du même
+     * résultat ne peuvent pas s'intercaler
+     */
+    @Override
+    public Optional<ResultatMGP> corrigerUE(Long resultatId, Long ueId, BiConsumer<ResultatMGP, UE> correction) {
+        verrou.writeLock().lock();
+        try {
+            ResultatMGP resultat = lire(resultatId);
+            if (resultat == null) {
+                return Optional.empty();
+            }
+            Optional<UE> ue = resultat.getUes().stream().filter(u -> u.getId().equals(ueId)).findFirst();
+            if (ue.isEmpty()) {
+                return Optional.empty();
+            }
+            correction.accept(resultat, ue.get());
+            ecrire(List.of(resultat));
+            return Optional.of(resultat);
+        } finally {
+            verrou.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Lecture des tableaux de comptage : le coût dépend du nombre de centièmes
+     * et de mentions, pas du nombre de résultats
+     */
+    @Override
+    public List<ResultatMGPRepository.AgregatMGP> agregerParCentieme() {
+        verrou.readLock().lock();
+        try {
+            List<ResultatMGPRepository.AgregatMGP> agregats = new ArrayList<>();
+            for (int categorie = 0; categorie < nombres.length; categorie++) {
+                long[] parCentieme = nombres[categorie];
+                for (int centieme = 0; centieme < parCentieme.length; centieme++) {
+                    if (parCentieme[centieme] > 0) {
+                        agregats.add(new Agregat((short) centieme, mentions.get(categorie / 2),
+                            categorie % 2 == 1, parCentieme[centieme]));
+                    }
+                }
+            }
+            return agregats;
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Double trouverMgpMin(short centieme) {
+        return mgpExtreme(centieme, true);
+    }
+
+    @Override
+    public Double trouverMgpMax(short centieme) {
+        return mgpExtreme(centieme, false);
+    }
+
+    private Double mgpExtreme(short centieme, boolean minimum) {
+        verrou.readLock().lock();
+        try {
+            if (centieme < 0 || centieme >= nombresParCentieme.length || nombresParCentieme[centieme] == 0) {
+                return null;
+            }
+            if (!extremesPerimes[centieme]) {
+                return minimum ? mgpMin[centieme] : mgpMax[centieme];
+            }
+        } finally {
+            verrou.readLock().unlock();
+        }
+
+        verrou.writeLock().lock();
+        try {
+            if (extremesPerimes[centieme]) {
+                recalculerExtremes(centieme);
+            }
+            if (nombresParCentieme[centieme] == 0) {
+                return null;
+            }
+            return minimum ? mgpMin[centieme] : mgpMax[centieme];
+        } finally {
+            verrou.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Écrit sur disque les pages modifiées ; les segments sont libérés par le GC
+     */
+    @Override
+    public void close() {
+        verrou.writeLock().lock();
+        try {
+            segments.forEach(MappedByteBuffer::force);
+        } finally {
+            verrou.writeLock().unlock();
+        }
+    }
+
+    public long getNombreResultats() {
+        verrou.readLock().lock();
+        try {
+            return dernierId;
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    public long getNombreRecuperes() {
+        return nombreRecuperes;
+    }
+
+    public long getDureeRecuperationNanos() {
+        return dureeRecuperationNanos;
+    }
+
+    public boolean isTronque() {
+        return tronque;
+    }
+
+    /**
+     * Ajoute les résultats au journal (verrou d'écriture tenu par l'appelant)
+     */
+    private void ecrire(List<ResultatMGP> resultats) {
+        try {
+            // Tout est vérifié avant d'écrire : un lot invalide ne laisse aucune trace
+            for (ResultatMGP resultat : resultats) {
+                verifier(resultat);
+            }
+            int segmentDebut = segments.size() - 1;
+            int offsetDebut = offsetEcriture;
+            for (ResultatMGP resultat : resultats) {
+                ajouter(resultat);
+            }
+            if (forcerEcriture) {
+                forcer(segmentDebut, offsetDebut);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Écriture dans le journal impossible", e);
+        }
+    }
+
+    private void verifier(ResultatMGP resultat) {
+        if (resultat.getUes() == null || resultat.getUes().isEmpty()) {
+            throw new IllegalArgumentException("Un résultat doit contenir au moins une UE");
+        }
+        if (resultat.getId() != null && (resultat.getId() < 1 || resultat.getId() > dernierId)) {
+            throw new IllegalArgumentException("Résultat inconnu du journal : " + resultat.getId());
+        }
+        if (CodecJournal.tailleMax(resultat) + TAILLE_EN_TETE_ENREGISTREMENT > tailleSegment - TAILLE_EN_TETE_SEGMENT) {
+            throw new IllegalArgumentException("Résultat trop volumineux pour un segment du journal");
+        }
+    }
+
+    private void ajouter(ResultatMGP resultat) throws IOException {
+        // Attribution des identifiants (et version suivante pour une mise à jour)
+        if (resultat.getId() == null) {
+            resultat.setId(dernierId + 1);
+            resultat.setVersion(0L);
+        } else {
+            resultat.setVersion(resultat.getVersion() != null ? resultat.getVersion() + 1 : 1L);
+        }
+        for (UE ue : resultat.getUes()) {
+            if (ue.getId() == null) {
+                ue.setId(++dernierIdUE);
+            }
+        }
+
+        int tailleMax = CodecJournal.tailleMax(resultat);
+        if (tampon.capacity() < tailleMax) {
+            tampon = ByteBuffer.allocate(Math.max(tailleMax, tampon.capacity() * 2));
+        }
+        tampon.clear();
+        CodecJournal.encoder(resultat, tampon);
+        tampon.flip();
+        int longueur = tampon.remaining();
+
+        MappedByteBuffer courant = segments.get(segments.size() - 1);
+        if (offsetEcriture + TAILLE_EN_TETE_ENREGISTREMENT + longueur > courant.capacity()) {
+            if (forcerEcriture) {
+                courant.force();
+            }
+            ouvrirSegment(segments.size(), true);
+        }
+
+        MappedByteBuffer segment = segments.get(segments.size() - 1);
+        crc.reset();
+        crc.update(tampon.duplicate());
+        segment.put(offsetEcriture + TAILLE_EN_TETE_ENREGISTREMENT, tampon, 0, longueur);
+        segment.putInt(offsetEcriture + 4, (int) crc.getValue());
+        // La longueur en dernier : elle valide l'enregistrement
+        segment.putInt(offsetEcriture, longueur);
+
+        indexer(resultat.getId(), segments.size() - 1, offsetEcriture, new Resume(
+            NomUtils.normaliser(resultat.getNomEtudiant()), resultat.getMgp(), resultat.getMention(),
+            Boolean.TRUE.equals(resultat.getAdmis())));
+        dernierId = Math.max(dernierId, resultat.getId());
+        offsetEcriture += TAILLE_EN_TETE_ENREGISTREMENT + longueur;
+    }
+
+    private ResultatMGP lire(Long id) {
+        if (id == null || id < 1 || id > dernierId) {
+            return null;
+        }
+        long position = positions[(int) (id - 1)];
+        if (position == 0) {
+            return null;
+        }
+        MappedByteBuffer segment = segments.get((int) (position >>> BITS_OFFSET));
+        int offset = (int) position;
+        return CodecJournal.decoder(segment, offset + TAILLE_EN_TETE_ENREGISTREMENT,
+            formats.get((int) (position >>> BITS_OFFSET)));
+    }
+
+    private void indexer(long id, int segment, int offset, Resume resume) {
+        int index = (int) (id - 1);
+        if (index >= positions.length) {
+            positions = Arrays.copyOf(positions, Math.max(index + 1, positions.length * 2));
+            resumes = Arrays.copyOf(resumes, positions.length);
+        }
+        positions[index] = ((long) segment << BITS_OFFSET) | offset;
+
+        Resume precedent = resumes[index];
+        resumes[index] = resume;
+        if (precedent != null) {
+            compter(precedent, -1);
+        }
+        compter(resume, 1);
+
+        // Une nouvelle version peut changer le nom : l'identifiant change alors de listes
+        String ancienNom = precedent != null ? precedent.nomNormalise : null;
+        if (Objects.equals(ancienNom, resume.nomNormalise)) {
+            return;
+        }
+        List<String> anciens = NomUtils.mots(ancienNom);
+        List<String> nouveaux = NomUtils.mots(resume.nomNormalise);
+        for (String mot : anciens) {
+            if (!nouveaux.contains(mot)) {
+                Identifiants identifiants = parMot.get(mot);
+                identifiants.retirer(id);
+                if (identifiants.taille == 0) {
+                    parMot.remove(mot);
+                }
+            }
+        }
+        for (String mot : nouveaux) {
+            if (!anciens.contains(mot)) {
+                parMot.computeIfAbsent(mot, m -> new Identifiants()).ajouter(id);
+            }
+        }
+    }
+
+    /**
+     * Ajoute (sens 1) ou retire (sens -1) un résumé des tableaux de statistiques
+     */
+    private void compter(Resume resume, int sens) {
+        int centieme = ResultatMGP.centieme(resume.mgp);
+        int categorie = categorie(resume.mention, resume.admis);
+        if (centieme >= nombresParCentieme.length) {
+            int taille = Math.max(centieme + 1, nombresParCentieme.length * 2);
+            nombresParCentieme = Arrays.copyOf(nombresParCentieme, taille);
+            mgpMin = Arrays.copyOf(mgpMin, taille);
+            mgpMax = Arrays.copyOf(mgpMax, taille);
+            extremesPerimes = Arrays.copyOf(extremesPerimes, taille);
+        }
+        if (centieme >= nombres[categorie].length) {
+            nombres[categorie] = Arrays.copyOf(nombres[categorie], nombresParCentieme.length);
+        }
+
+        nombres[categorie][centieme] += sens;
+        long nombre = nombresParCentieme[centieme] += sens;
+        if (nombre == 0) {
+            extremesPerimes[centieme] = false;
+        } else if (sens > 0 && nombre == 1) {
+            mgpMin[centieme] = resume.mgp;
+            mgpMax[centieme] = resume.mgp;
+            extremesPerimes[centieme] = false;
+        } else if (sens > 0) {
+            mgpMin[centieme] = Math.min(mgpMin[centieme], resume.mgp);
+            mgpMax[centieme] = Math.max(mgpMax[centieme], resume.mgp);
+        } else if (resume.mgp == mgpMin[centieme] || resume.mgp == mgpMax[centieme]) {
+            extremesPerimes[centieme] = true;
+        }
+    }
+
+    private int categorie(String mention, boolean admis) {
+        Integer rang = rangsMentions.get(mention);
+        if (rang == null) {
+            rang = mentions.size();
+            mentions.add(mention);
+            rangsMentions.put(mention, rang);
+            nombres = Arrays.copyOf(nombres, 2 * mentions.size());
+            nombres[2 * rang] = new long[nombresParCentieme.length];
+            nombres[2 * rang + 1] = new long[nombresParCentieme.length];
+        }
+        return 2 * rang + (admis ? 1 : 0);
+    }
+
+    /**
+     * Un parcours des résumés pour un centième dont un extrême a été retiré
+     * (verrou d'écriture tenu par l'appelant)
+     */
+    private void recalculerExtremes(int centieme) {
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < dernierId; i++) {
+            Resume resume = resumes[i];
+            if (resume != null && ResultatMGP.centieme(resume.mgp) == centieme) {
+                min = Math.min(min, resume.mgp);
+                max = Math.max(max, resume.mgp);
+            }
+        }
+        mgpMin[centieme] = min;
+        mgpMax[centieme] = max;
+        extremesPerimes[centieme] = false;
+    }
+
+    private void forcer(int segmentDebut, int offsetDebut) {
+        int dernier = segments.size() - 1;
+        for (int s = segmentDebut; s <= dernier; s++) {
+            int debut = s == segmentDebut ? offsetDebut : 0;
+            int fin = s == dernier ? offsetEcriture : segments.get(s).capacity();
+            if (fin > debut) {
+                segments.get(s).force(debut, fin - debut);
+            }
+        }
+    }
+
+    /**
+     * Relit les segments dans l'ordre, vérifie chaque enregistrement et
+     * reconstruit l'index ; s'arrête au premier enregistrement invalide
+     */
+    private Recuperation recuperer() throws IOException {
+        List<Path> fichiers;
+        try (Stream<Path> liste = Files.list(repertoire)) {
+            fichiers = liste
+                .filter(f -> f.getFileName().toString().startsWith(PREFIXE_SEGMENT)
+                          && f.getFileName().toString().endsWith(SUFFIXE_SEGMENT))
+                .sorted()
+                .toList();
+        }
+
+        Recuperation recuperation = new Recuperation();
+        for (int i = 0; i < fichiers.size(); i++) {
+            Path fichier = fichiers.get(i);
+            if (recuperation.tronque || !fichier.equals(cheminSegment(i))) {
+                // Après une troncature (ou un segment manquant) plus rien n'est fiable
+                recuperation.tronque = true;
+                Files.move(fichier, fichier.resolveSibling(fichier.getFileName() + ".rejete"),
+                    StandardCopyOption.REPLACE_EXISTING);
+                continue;
+            }
+
+            MappedByteBuffer segment = ouvrirSegment(i, false);
+            int format = segment.getInt(4);
+            if (segment.getInt(0) != MAGIE || format < 1 || format > CodecJournal.FORMAT) {
+                // En-tête illisible : le segment est réinitialisé
+                effacer(segment, 0);
+                ecrireEnTete(segment);
+                formats.set(i, CodecJournal.FORMAT);
+                offsetEcriture = TAILLE_EN_TETE_SEGMENT;
+                recuperation.tronque = true;
+                continue;
+            }
+            formats.set(i, format);
+            offsetEcriture = relireSegment(segment, i, recuperation);
+        }
+
+        // Un segment d'un ancien format n'est pas complété : nouveau segment
+        if (segments.isEmpty() || formats.get(formats.size() - 1) != CodecJournal.FORMAT) {
+            ouvrirSegment(segments.size(), true);
+        }
+        return recuperation;
+    }
+
+    private int relireSegment(MappedByteBuffer segment, int numero, Recuperation recuperation) {
+        int capacite = segment.capacity();
+        int offset = TAILLE_EN_TETE_SEGMENT;
+        ByteBuffer lecture = segment.duplicate();
+        while (offset + TAILLE_EN_TETE_ENREGISTREMENT <= capacite) {
+            int longueur = segment.getInt(offset);
+            if (longueur == 0) {
+                return offset;
+            }
+            int debut = offset + TAILLE_EN_TETE_ENREGISTREMENT;
+            if (longueur < CodecJournal.TAILLE_FIXE_RESULTAT || longueur > capacite - debut) {
+                break;
+            }
+            crc.reset();
+            crc.update(lecture.limit(debut + longueur).position(debut));
+            lecture.clear();
+            if ((int) crc.getValue() != segment.getInt(offset + 4)) {
+                break;
+            }
+
+            CodecJournal.EnTete enTete = CodecJournal.lireEnTete(segment, debut, formats.get(numero));
+            indexer(enTete.id(), numero, offset, new Resume(NomUtils.normaliser(enTete.nomEtudiant()),
+                enTete.mgp(), enTete.mention(), enTete.admis()));
+            dernierId = Math.max(dernierId, enTete.id());
+            dernierIdUE = Math.max(dernierIdUE, enTete.maxUe());
+            recuperation.nombre++;
+            offset = debut + longueur;
+        }
+
+        // Enregistrement invalide : le reste du segment est effacé
+        if (offset + TAILLE_EN_TETE_ENREGISTREMENT <= capacite) {
+            recuperation.tronque = true;
+            effacer(segment, offset);
+        }
+        return offset;
+    }
+
+    private MappedByteBuffer ouvrirSegment(int numero, boolean nouveau) throws IOException {
+        try (FileChannel canal = FileChannel.open(cheminSegment(numero),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // Un segment existant garde sa taille si la configuration a changé
+            long taille = Math.min(Math.max(canal.size(), tailleSegment), Integer.MAX_VALUE);
+            MappedByteBuffer segment = canal.map(FileChannel.MapMode.READ_WRITE, 0, taille);
+            if (nouveau) {
+                ecrireEnTete(segment);
+                offsetEcriture = TAILLE_EN_TETE_SEGMENT;
+            }
+            segments.add(segment);
+            formats.add(CodecJournal.FORMAT);
+            return segment;
+        }
+    }
+
+    private Path cheminSegment(int numero) {
+        return repertoire.resolve(String.format("%s%06d%s", PREFIXE_SEGMENT, numero, SUFFIXE_SEGMENT));
+    }
+
+    private static void ecrireEnTete(MappedByteBuffer segment) {
+        segment.putInt(0, MAGIE);
+        segment.putInt(4, CodecJournal.FORMAT);
+    }
+
+    private static void effacer(MappedByteBuffer segment, int debut) {
+        byte[] zeros = new byte[8192];
+        for (int p = debut; p < segment.capacity(); p += zeros.length) {
+            segment.put(p, zeros, 0, Math.min(zeros.length, segment.capacity() - p));
+        }
+        segment.force();
+    }
+
+    /**
+     * Champs de la dernière version d'un résultat utiles à l'historique et aux statistiques
+     */
+    private record Resume(String nomNormalise, double mgp, String mention, boolean admis) {
+    }
+
+    /**
+     * Ligne d'agrégat des statistiques
+     */
+    private record Agregat(Short centieme, String mention, Boolean admis, Long nombre)
+            implements ResultatMGPRepository.AgregatMGP {
+
+        @Override
+        public Short getCentieme() {
+            return centieme;
+        }
+
+        @Override
+        public String getMention() {
+            return mention;
+        }
+
+        @Override
+        public Boolean getAdmis() {
+            return admis;
+        }
+
+        @Override
+        public Long getNombre() {
+            return nombre;
+        }
+    }
+
+    /**
+     * Identifiants des résultats dont le nom contient un même mot, triés par ordre croissant
+     */
+    private static final class Identifiants {
+        private long[] valeurs = new long[2];
+        private int taille;
+
+        void ajouter(long id) {
+            if (taille == valeurs.length) {
+                valeurs = Arrays.copyOf(valeurs, taille * 2);
+            }
+            // Les nouveaux résultats arrivent en fin de liste ; seul un changement de nom insère au milieu
+            int position = taille == 0 || valeurs[taille - 1] < id
+                ? taille
+                : -Arrays.binarySearch(valeurs, 0, taille, id) - 1;
+            System.arraycopy(valeurs, position, valeurs, position + 1, taille - position);
+            valeurs[position] = id;
+            taille++;
+        }
+
+        void retirer(long id) {
+            int position = Arrays.binarySearch(valeurs, 0, taille, id);
+            if (position >= 0) {
+                System.arraycopy(valeurs, position + 1, valeurs, position, taille - position - 1);
+                taille--;
+            }
+        }
+
+        boolean contient(long id) {
+            return Arrays.binarySearch(valeurs, 0, taille, id) >= 0;
+        }
+
+        /**
+         * Nombre d'identifiants strictement inférieurs au curseur
+         */
+        int indexAvant(long avantId) {
+            int position = Arrays.binarySearch(valeurs, 0, taille, avantId);
+            return position >= 0 ? position : -position - 1;
+        }
+    }
+
+    private static final class Recuperation {
+        private long nombre;
+        private boolean tronque;
+    }
+}
@@ -0,0 +1,136 @@
+package com.uy1.mgpcalculator.repository;
+
+import com.uy1.mgpcalculator.model.ResultatMGP;
+import com.uy1.mgpcalculator.model.UE;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import jakarta.transaction.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+
+/**
+ * Stockage des résultats en base relationnelle, par JPA
+ */
+@Transactional
+public class JpaResultatStore implements ResultatStore {
+
+    private final ResultatMGPRepository resultatRepository;
+    private final UERepository ueRepository;
+    private final EntityManager entityManager;
+    private final int tailleLot;
+
+    public JpaResultatStore(ResultatMGPRepository resultatRepository, UERepository ueRepository,
+                            EntityManager entityManager, int tailleLot) {
+        this.resultatRepository = resultatRepository;
+        this.ueRepository = ueRepository;
+        this.entityManager = entityManager;
+        this.tailleLot = Math.max(1, tailleLot);
+    }
+
+    @Override
+    public ResultatMGP sauvegarder(ResultatMGP resultat) {
+        return resultatRepository.saveAndFlush(resultat);
+    }
+
+    /**
+     * Le contexte de persistance est vidé tous les lots JDBC pour que
+     * la mémoire utilisée ne dépende pas du nombre de résultats
+     */
+    @Override
+    public List<ResultatMGP> sauvegarderTous(List<ResultatMGP> resultats) {
+        List<ResultatMGP> sauvegardes = new ArrayList<>(resultats.size());
+        for (int i = 0; i < resultats.size(); i++) {
+            sauvegardes.add(resultatRepository.save(resultats.get(i)));
+            if ((i + 1) % tailleLot == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        return sauvegardes;
+    }
+
+    @Override
+    public Optional<ResultatMGP> trouver(Long id) {
+        return resultatRepository.findAvecUesById(id);
+    }
+
+    @Override
+    public List<ResultatMGP> trouverTous(Collection<Long> ids) {
+        return resultatRepository.findAvecUesByIdIn(ids);
+    }
+
+    /**
+     * Lecture de l'index (mot, resultat_id) pour le mot le plus long, dans
+     * l'ordre décroissant des identifiants à partir du curseur ; chaque autre
+     * mot est vérifié par une recherche ponctuelle dans le même index. La base
+     * s'arrête à la page remplie : le coût ne dépend pas du nombre de résultats
+     * qui partagent le mot.
+     */
+    @Override
+    public List<Long> rechercherIds(List<String> mots, long avantId, int limite) {
+        // Le mot le plus long est en général le plus rare : il conduit le parcours
+        List<String> ordre = new ArrayList<>(mots);
+        ordre.sort(Comparator.comparingInt(String::length).reversed());
+
+        StringBuilder sql = new StringBuilder(
+            "select m0.resultat_id from resultat_mot m0 where m0.mot = ?1 and m0.resultat_id < ?2");
+        for (int i = 1; i < ordre.size(); i++) {
+            sql.append(" and exists (select 1 from resultat_mot m").append(i)
+               .append(" where m").append(i).append(".resultat_id = m0.resultat_id")
+               .append(" and m").append(i).append(".mot = ?").append(i + 2).append(')');
+        }
+        sql.append(" order by m0.resultat_id desc");
+
+        Query requete = entityManager.createNativeQuery(sql.toString(), Long.class)
+            .setParameter(1, ordre.get(0))
+            .setParameter(2, avantId)
+            .setMaxResults(limite);
+        for (int i = 1; i < ordre.size(); i++) {
+            requete.setParameter(i + 2, ordre.get(i));
+        }
+        @SuppressWarnings("unchecked")
+        List<Long> ids = requete.getResultList();
+        return ids;
+    }
+
+    /**
+     * Ne charge que la ligne du résultat et celle de l'UE (pas les autres UE) ;
+     * les deux lignes sont écrites avant le retour pour renvoyer la nouvelle version
+     */
+    @Override
+    public Optional<ResultatMGP> corrigerUE(Long resultatId, Long ueId, BiConsumer<ResultatMGP, UE> correction) {
+        Optional<ResultatMGP> trouve = resultatRepository.findById(resultatId);
+        Optional<UE> ue = trouve.flatMap(r -> ueRepository.findByIdEtResultat(resultatId, ueId));
+        if (ue.isEmpty()) {
+            return Optional.empty();
+        }
+        correction.accept(trouve.get(), ue.get());
+        entityManager.flush();
+        return trouve;
+    }
+
+    /**
+     * Comptage fait par la base en un seul parcours de l'index idx_resultat_mgp_statistiques
+     */
+    @Override
+    public List<ResultatMGPRepository.AgregatMGP> agregerParCentieme() {
+        return resultatRepository.agregerParCentieme();
+    }
+
+    @Override
+    public Double trouverMgpMin(short centieme) {
+        return resultatRepository.findMgpMinByCentieme(centieme);
+    }
+
+    @Override
+    public Double trouverMgpMax(short centieme) {
+        return resultatRepository.findMgpMaxByCentieme(centieme);
+    }
+}
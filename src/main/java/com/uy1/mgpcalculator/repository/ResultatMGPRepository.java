@@ -2,8 +2,57 @@ package com.uy1.mgpcalculator.repository;
 
 import com.uy1.mgpcalculator.model.ResultatMGP;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ResultatMGPRepository extends JpaRepository<ResultatMGP, Long> {
-    List<ResultatMGP> findByNomEtudiantContainingIgnoreCase(String nom);
-}
\ No newline at end of file
+
+    /**
+     * Charge les résultats et leurs UE en une seule requête
+     */
+    @Query("select distinct r from ResultatMGP r left join fetch r.ues " +
+           "where r.id in :ids order by r.id desc")
+    List<ResultatMGP> findAvecUesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Charge un résultat et ses UE en une seule requête
+     */
+    @Query("select r from ResultatMGP r left join fetch r.ues where r.id = :id")
+    Optional<ResultatMGP> findAvecUesById(@Param("id") Long id);
+
+    /**
+     * Compte tous les résultats par centième de MGP, mention et décision
+     * (au plus quelques centaines de lignes), en lisant seulement l'index
+     * idx_resultat_mgp_statistiques
+     */
+    @Query("select r.centiemeMgp as centieme, r.mention as mention, r.admis as admis, count(r) as nombre " +
+           "from ResultatMGP r where r.centiemeMgp is not null " +
+           "group by r.centiemeMgp, r.mention, r.admis")
+    List<AgregatMGP> agregerParCentieme();
+
+    /**
+     * Plus petit MGP d'un centième (parcours de l'index limité à ce centième)
+     */
+    @Query("select min(r.mgp) from ResultatMGP r where r.centiemeMgp = :centieme")
+    Double findMgpMinByCentieme(@Param("centieme") Short centieme);
+
+    /**
+     * Plus grand MGP d'un centième (parcours de l'index limité à ce centième)
+     */
+    @Query("select max(r.mgp) from ResultatMGP r where r.centiemeMgp = :centieme")
+    Double findMgpMaxByCentieme(@Param("centieme") Short centieme);
+
+    /**
+     * Ligne d'agrégat renvoyée par {@link #agregerParCentieme()}
+     */
+    interface AgregatMGP {
+        Short getCentieme();
+        String getMention();
+        Boolean getAdmis();
+        Long getNombre();
+    }
+}
@@ -0,0 +1,91 @@
+package com.uy1.mgpcalculator.repository;
+
+import com.uy1.mgpcalculator.model.ResultatMGP;
+import com.uy1.mgpcalculator.model.UE;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+
+/**
+ * Stockage des résultats utilisé par MGPService : sauvegarde, lecture par
+ * identifiant, historique par nom, correction d'une UE et statistiques
+ * Implémentations : JPA (par défaut) ou journal en ajout seul
+ * (mgp.persistance.backend=journal)
+ */
+public interface ResultatStore {
+
+    /**
+     * Sauvegarde un résultat et ses UE ; les identifiants sont attribués
+     * s'ils sont absents
+     *
+     * @param resultat Le résultat à sauvegarder
+     * @return Le résultat sauvegardé
+     */
+    ResultatMGP sauvegarder(ResultatMGP resultat);
+
+    /**
+     * Sauvegarde plusieurs résultats en une seule écriture groupée
+     *
+     * @param resultats Résultats à sauvegarder
+     * @return Les résultats sauvegardés, dans le même ordre
+     */
+    List<ResultatMGP> sauvegarderTous(List<ResultatMGP> resultats);
+
+    /**
+     * Lit un résultat et ses UE
+     *
+     * @param id Identifiant du résultat
+     * @return Le résultat, vide s'il n'existe pas
+     */
+    Optional<ResultatMGP> trouver(Long id);
+
+    /**
+     * Lit plusieurs résultats et leurs UE, du plus récent au plus ancien
+     * Les identifiants inconnus sont ignorés
+     *
+     * @param ids Identifiants des résultats
+     * @return Les résultats trouvés
+     */
+    List<ResultatMGP> trouverTous(Collection<Long> ids);
+
+    /**
+     * Page d'identifiants (du plus récent au plus ancien) des résultats dont le
+     * nom contient chacun des mots donnés, strictement avant le curseur
+     *
+     * @param mots Mots recherchés (NomUtils.mots), au moins un, sans doublon
+     * @param avantId Curseur : seuls les identifiants inférieurs sont renvoyés
+     * @param limite Nombre maximal d'identifiants
+     * @return Les identifiants, par ordre décroissant
+     */
+    List<Long> rechercherIds(List<String> mots, long avantId, int limite);
+
+    /**
+     * Corrige une UE d'un résultat sauvegardé puis écrit le résultat modifié
+     * La correction reçoit le résultat et l'UE, et met à jour l'UE et les
+     * agrégats du résultat ; la version du résultat est incrémentée à l'écriture
+     *
+     * @param resultatId Identifiant du résultat
+     * @param ueId Identifiant de l'UE, qui doit appartenir à ce résultat
+     * @param correction Modification à appliquer avant l'écriture
+     * @return Le résultat écrit, vide si le résultat ou l'UE n'existe pas
+     */
+    Optional<ResultatMGP> corrigerUE(Long resultatId, Long ueId, BiConsumer<ResultatMGP, UE> correction);
+
+    /**
+     * Compte tous les résultats par centième de MGP, mention et décision
+     * (au plus quelques centaines de lignes)
+     */
+    List<ResultatMGPRepository.AgregatMGP> agregerParCentieme();
+
+    /**
+     * Plus petit MGP parmi les résultats d'un centième, null s'il n'y en a pas
+     */
+    Double trouverMgpMin(short centieme);
+
+    /**
+     * Plus grand MGP parmi les résultats d'un centième, null s'il n'y en a pas
+     */
+    Double trouverMgpMax(short centieme);
+}
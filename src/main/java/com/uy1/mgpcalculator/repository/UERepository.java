@@ -2,6 +2,16 @@ package com.uy1.mgpcalculator.repository;
 
 import com.uy1.mgpcalculator.model.UE;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
 
 public interface UERepository extends JpaRepository<UE, Long> {
-}
\ No newline at end of file
+
+    /**
+     * Charge une UE seulement si elle appartient au résultat donné
+     */
+    @Query("select u from ResultatMGP r join r.ues u where r.id = :resultatId and u.id = :ueId")
+    Optional<UE> findByIdEtResultat(@Param("resultatId") Long resultatId, @Param("ueId") Long ueId);
+}
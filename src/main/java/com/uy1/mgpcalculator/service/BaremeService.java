@@ -0,0 +1,284 @@
+package com.uy1.mgpcalculator.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.uy1.mgpcalculator.utils.BaremeNotation;
+import com.uy1.mgpcalculator.utils.GrilleNotation;
+import com.uy1.mgpcalculator.utils.NotationUtils;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Registre des barèmes de notation, choisis par identifiant à chaque requête
+ * Le barème UY1 est intégré ; les autres sont des fichiers JSON du répertoire
+ * mgp.baremes.repertoire, relus périodiquement sans redémarrage. Chaque fichier
+ * n'est compilé (GrilleNotation et mentions) que s'il a changé depuis la
+ * dernière lecture. Un fichier invalide est ignoré : sa version précédente
+ * reste en service.
+ */
+@Service
+public class BaremeService {
+
+    private static final Logger log = LoggerFactory.getLogger(BaremeService.class);
+
+    private final ObjectMapper objectMapper;
+    private final Path repertoire;
+    private final String idDefaut;
+
+    // Barèmes compilés par fichier, recompilés seulement quand le fichier change
+    private final Map<Path, FichierBareme> fichiers = new TreeMap<>();
+
+    // Table en lecture seule, remplacée d'un bloc après chaque changement
+    private volatile Map<String, BaremeNotation> baremes;
+
+    private final Counter compilations;
+    private final Counter erreurs;
+
+    public BaremeService(ObjectMapper objectMapper, MeterRegistry registry,
+                         @Value("${mgp.baremes.repertoire:./config/baremes}") String repertoire,
+                         @Value("${mgp.baremes.defaut:uy1}") String idDefaut) {
+        this.objectMapper = objectMapper;
+        this.repertoire = Paths.get(repertoire);
+        this.idDefaut = idDefaut.trim();
+        this.compilations = Counter.builder("mgp.baremes.chargements")
+                .description("Fichiers de barème lus et compilés")
+                .tag("resultat", "succes")
+                .register(registry);
+        this.erreurs = Counter.builder("mgp.baremes.chargements")
+                .description("Fichiers de barème lus et compilés")
+                .tag("resultat", "erreur")
+                .register(registry);
+
+        this.baremes = construireTable();
+        recharger();
+        if (!baremes.containsKey(this.idDefaut)) {
+            throw new IllegalStateException("Barème par défaut introuvable : " + this.idDefaut);
+        }
+        Gauge.builder("mgp.baremes.nombre", this, service -> service.baremes.size())
+                .description("Barèmes disponibles")
+                .register(registry);
+    }
+
+    /**
+     * @param id Identifiant du barème, null ou vide pour le barème par défaut
+     * @return Le barème compilé, vide s'il est inconnu
+     */
+    public Optional<BaremeNotation> trouver(String id) {
+        String cle = id == null || id.isBlank() ? idDefaut : id.trim();
+        return Optional.ofNullable(baremes.get(cle));
+    }
+
+    /**
+     * @return Les barèmes disponibles, par identifiant
+     */
+    public Collection<BaremeNotation> lister() {
+        return baremes.values();
+    }
+
+    public String getIdDefaut() {
+        return idDefaut;
+    }
+
+    /**
+     * Relit le répertoire des barèmes : fichiers nouveaux, modifiés ou supprimés
+     * La table n'est remplacée que si un fichier a changé
+     */
+    @Scheduled(initialDelayString = "${mgp.baremes.rechargement:30s}",
+               fixedDelayString = "${mgp.baremes.rechargement:30s}")
+    public synchronized void recharger() {
+        Map<Path, FichierBareme> lus = new TreeMap<>();
+        if (Files.isDirectory(repertoire)) {
+            try (DirectoryStream<Path> contenu = Files.newDirectoryStream(repertoire, "*.json")) {
+                for (Path fichier : contenu) {
+                    lus.put(fichier, lire(fichier, fichiers.get(fichier)));
+                }
+            } catch (IOException e) {
+                erreurs.increment();
+                log.warn("Répertoire des barèmes illisible ({}) : barèmes actuels conservés", repertoire, e);
+                return;
+            }
+        }
+        if (lus.equals(fichiers)) {
+            return;
+        }
+        fichiers.clear();
+        fichiers.putAll(lus);
+
+        Map<String, BaremeNotation> table = construireTable();
+        if (!table.containsKey(idDefaut)) {
+            log.warn("Barème par défaut {} absent du répertoire {} : barèmes actuels conservés", idDefaut, repertoire);
+            return;
+        }
+        baremes = table;
+    }
+
+    private Map<String, BaremeNotation> construireTable() {
+        Map<String, BaremeNotation> table = new TreeMap<>();
+        table.put(NotationUtils.BAREME_UY1.getId(), NotationUtils.BAREME_UY1);
+        // Un fichier peut remplacer le barème intégré, pas un autre fichier
+        Map<String, Path> sources = new TreeMap<>();
+        for (Map.Entry<Path, FichierBareme> entree : fichiers.entrySet()) {
+            BaremeNotation bareme = entree.getValue().bareme;
+            if (bareme == null) {
+                continue;
+            }
+            Path source = sources.putIfAbsent(bareme.getId(), entree.getKey());
+            if (source != null) {
+                log.warn("Barème {} de {} ignoré : déjà défini par {}", bareme.getId(), entree.getKey(), source);
+                continue;
+            }
+            table.put(bareme.getId(), bareme);
+        }
+        return Collections.unmodifiableMap(table);
+    }
+
+    /**
+     * Compile un fichier s'il a changé depuis la lecture précédente
+     */
+    private FichierBareme lire(Path fichier, FichierBareme precedent) throws IOException {
+        FileTime modification = Files.getLastModifiedTime(fichier);
+        long taille = Files.size(fichier);
+        if (precedent != null && precedent.modification.equals(modification) && precedent.taille == taille) {
+            return precedent;
+        }
+        try {
+            BaremeNotation bareme = compiler(objectMapper.readValue(fichier.toFile(), DefinitionBareme.class));
+            compilations.increment();
+            return new FichierBareme(modification, taille, bareme);
+        } catch (IOException | IllegalArgumentException e) {
+            erreurs.increment();
+            log.warn("Barème {} invalide, version précédente conservée : {}", fichier, e.getMessage());
+            // Noté avec sa nouvelle date : l'erreur n'est signalée qu'une fois par modification
+            return new FichierBareme(modification, taille, precedent != null ? precedent.bareme : null);
+        }
+    }
+
+    /**
+     * Compile une définition en tables immuables
+     *
+     * @throws IllegalArgumentException si la définition est incomplète ou incohérente
+     */
+    static BaremeNotation compiler(DefinitionBareme definition) {
+        List<DefinitionBareme.Tranche> tranches = definition.getTranches();
+        List<DefinitionBareme.MentionMgp> mentions = definition.getMentionsMgp();
+        if (tranches == null || tranches.isEmpty() || mentions == null || mentions.isEmpty()
+                || definition.getMgpAdmission() == null) {
+            throw new IllegalArgumentException("Tranches, mentionsMgp et mgpAdmission sont obligatoires");
+        }
+
+        double[] seuils = new double[tranches.size()];
+        String[] cotes = new String[tranches.size()];
+        double[] qualitePoints = new double[tranches.size()];
+        String[] mentionsUE = new String[tranches.size()];
+        for (int i = 0; i < tranches.size(); i++) {
+            DefinitionBareme.Tranche tranche = tranches.get(i);
+            if (tranche.getCote() == null || tranche.getMention() == null) {
+                throw new IllegalArgumentException("Chaque tranche doit avoir une cote et une mention");
+            }
+            seuils[i] = tranche.getSeuil();
+            cotes[i] = tranche.getCote();
+            qualitePoints[i] = tranche.getQualitePoints();
+            mentionsUE[i] = tranche.getMention();
+        }
+
+        double[] seuilsMgp = new double[mentions.size()];
+        String[] mentionsMgp = new String[mentions.size()];
+        for (int i = 0; i < mentions.size(); i++) {
+            if (mentions.get(i).getMention() == null) {
+                throw new IllegalArgumentException("Chaque tranche de MGP doit avoir une mention");
+            }
+            seuilsMgp[i] = mentions.get(i).getSeuil();
+            mentionsMgp[i] = mentions.get(i).getMention();
+        }
+
+        // Sans seuil du CANT, un résultat non admis est en échec
+        double mgpCant = definition.getMgpCant() != null ? definition.getMgpCant() : definition.getMgpAdmission();
+        return new BaremeNotation(definition.getId(), definition.getLibelle(),
+                new GrilleNotation(seuils, cotes, qualitePoints, mentionsUE),
+                seuilsMgp, mentionsMgp, definition.getMgpAdmission(), mgpCant);
+    }
+
+    private static final class FichierBareme {
+        private final FileTime modification;
+        private final long taille;
+        private final BaremeNotation bareme;
+
+        private FichierBareme(FileTime modification, long taille, BaremeNotation bareme) {
+            this.modification = modification;
+            this.taille = taille;
+            this.bareme = bareme;
+        }
+    }
+
+    /**
+     * Fichier de barème (JSON)
+     */
+    public static class DefinitionBareme {
+        private String id;
+        private String libelle;
+        private List<Tranche> tranches;
+        private List<MentionMgp> mentionsMgp;
+        private Double mgpAdmission;
+        private Double mgpCant;
+
+        // Getters & Setters
+        public String getId() { return id; }
+        public void setId(String id) { this.id = id; }
+        public String getLibelle() { return libelle; }
+        public void setLibelle(String libelle) { this.libelle = libelle; }
+        public List<Tranche> getTranches() { return tranches; }
+        public void setTranches(List<Tranche> tranches) { this.tranches = tranches; }
+        public List<MentionMgp> getMentionsMgp() { return mentionsMgp; }
+        public void setMentionsMgp(List<MentionMgp> mentionsMgp) { this.mentionsMgp = mentionsMgp; }
+        public Double getMgpAdmission() { return mgpAdmission; }
+        public void setMgpAdmission(Double mgpAdmission) { this.mgpAdmission = mgpAdmission; }
+        public Double getMgpCant() { return mgpCant; }
+        public void setMgpCant(Double mgpCant) { this.mgpCant = mgpCant; }
+
+        public static class Tranche {
+            private double seuil;
+            private String cote;
+            private double qualitePoints;
+            private String mention;
+
+            public double getSeuil() { return seuil; }
+            public void setSeuil(double seuil) { this.seuil = seuil; }
+            public String getCote() { return cote; }
+            public void setCote(String cote) { this.cote = cote; }
+            public double getQualitePoints() { return qualitePoints; }
+            public void setQualitePoints(double qualitePoints) { this.qualitePoints = qualitePoints; }
+            public String getMention() { return mention; }
+            public void setMention(String mention) { this.mention = mention; }
+        }
+
+        public static class MentionMgp {
+            private double seuil;
+            private String mention;
+
+            public double getSeuil() { return seuil; }
+            public void setSeuil(double seuil) { this.seuil = seuil; }
+            public String getMention() { return mention; }
+            public void setMention(String mention) { this.mention = mention; }
+        }
+    }
+}
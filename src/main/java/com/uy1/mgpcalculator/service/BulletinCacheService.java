@@ -0,0 +1,203 @@
+package com.uy1.mgpcalculator.service;
+
+import com.itextpdf.text.DocumentException;
+import com.uy1.mgpcalculator.model.ResultatMGP;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache des bulletins PDF déjà générés, par identifiant de résultat
+ * Chaque entrée porte la version du résultat : une modification du résultat
+ * rend l'entrée périmée. Les entrées les moins récemment lues sont évincées
+ * dès que le budget en octets est dépassé. Les demandes simultanées d'un même
+ * bulletin absent du cache partagent une seule génération.
+ */
+@Service
+public class BulletinCacheService {
+
+    private final PDFService pdfService;
+    private final long budgetOctets;
+
+    // Ordre d'accès : la première entrée est la moins récemment lue
+    private final LinkedHashMap<Long, Entree> entrees = new LinkedHashMap<>(16, 0.75f, true);
+    private long tailleOctets;
+
+    private final Map<String, CompletableFuture<byte[]>> generationsEnCours = new ConcurrentHashMap<>();
+
+    private final LongAdder succes = new LongAdder();
+    private final LongAdder echecs = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder regroupements = new LongAdder();
+
+    public BulletinCacheService(@Lazy PDFService pdfService, MeterRegistry registry,
+                                @Value("${mgp.pdf.cache.taille-max:64MB}") DataSize budget) {
+        this.pdfService = pdfService;
+        this.budgetOctets = budget.toBytes();
+
+        FunctionCounter.builder("mgp.pdf.cache.requetes", succes, LongAdder::sum)
+                .tag("resultat", "hit")
+                .description("Bulletins servis depuis le cache")
+                .register(registry);
+        FunctionCounter.builder("mgp.pdf.cache.requetes", echecs, LongAdder::sum)
+                .tag("resultat", "miss")
+                .description("Bulletins absents du cache")
+                .register(registry);
+        FunctionCounter.builder("mgp.pdf.cache.evictions", evictions, LongAdder::sum)
+                .description("Bulletins évincés pour respecter le budget")
+                .register(registry);
+        FunctionCounter.builder("mgp.pdf.cache.regroupements", regroupements, LongAdder::sum)
+                .description("Demandes servies par une génération déjà en cours")
+                .register(registry);
+        Gauge.builder("mgp.pdf.cache.octets", this, BulletinCacheService::getTailleOctets)
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("mgp.pdf.cache.entrees", this, BulletinCacheService::getNombreEntrees)
+                .register(registry);
+    }
+
+    /**
+     * Renvoie le bulletin PDF d'un résultat, depuis le cache si possible
+     * Un résultat non sauvegardé (sans identifiant) est toujours généré
+     *
+     * @param resultat Le résultat à convertir en PDF
+     * @return Le contenu du PDF (à ne pas modifier : il est partagé)
+     * @throws DocumentException en cas d'erreur de génération
+     */
+    public byte[] obtenirBulletin(ResultatMGP resultat) throws DocumentException {
+        if (resultat.getId() == null) {
+            return pdfService.genererBulletinMGP(resultat);
+        }
+
+        long id = resultat.getId();
+        long version = resultat.getVersion() != null ? resultat.getVersion() : 0L;
+
+        byte[] pdf = lire(id, version);
+        if (pdf != null) {
+            succes.increment();
+            return pdf;
+        }
+        echecs.increment();
+
+        String cle = id + "@" + version;
+        CompletableFuture<byte[]> generation = new CompletableFuture<>();
+        CompletableFuture<byte[]> existante = generationsEnCours.putIfAbsent(cle, generation);
+        if (existante != null) {
+            regroupements.increment();
+            return attendre(existante);
+        }
+
+        try {
+            // Une génération concurrente a pu se terminer entre la lecture et l'inscription
+            pdf = lire(id, version);
+            if (pdf == null) {
+                pdf = pdfService.genererBulletinMGP(resultat);
+                ecrire(id, version, pdf);
+            }
+            generation.complete(pdf);
+            return pdf;
+        } catch (DocumentException | RuntimeException e) {
+            generation.completeExceptionally(e);
+            throw e;
+        } finally {
+            generationsEnCours.remove(cle, generation);
+        }
+    }
+
+    /**
+     * Bulletin déjà en cache pour la version courante du résultat, sans génération
+     *
+     * @param resultat Le résultat dont on cherche le bulletin
+     * @return Le contenu du PDF (partagé), null s'il n'est pas en cache
+     */
+    public byte[] lireEnCache(ResultatMGP resultat) {
+        if (resultat.getId() == null) {
+            return null;
+        }
+        byte[] pdf = lire(resultat.getId(), resultat.getVersion() != null ? resultat.getVersion() : 0L);
+        if (pdf != null) {
+            succes.increment();
+        }
+        return pdf;
+    }
+
+    /**
+     * Retire un résultat du cache
+     */
+    public synchronized void invalider(Long id) {
+        Entree entree = entrees.remove(id);
+        if (entree != null) {
+            tailleOctets -= entree.pdf.length;
+        }
+    }
+
+    public synchronized long getTailleOctets() {
+        return tailleOctets;
+    }
+
+    public synchronized int getNombreEntrees() {
+        return entrees.size();
+    }
+
+    private synchronized byte[] lire(long id, long version) {
+        Entree entree = entrees.get(id);
+        return entree != null && entree.version == version ? entree.pdf : null;
+    }
+
+    private synchronized void ecrire(long id, long version, byte[] pdf) {
+        if (pdf.length > budgetOctets) {
+            return;
+        }
+
+        Entree ancienne = entrees.put(id, new Entree(version, pdf));
+        if (ancienne != null) {
+            tailleOctets -= ancienne.pdf.length;
+        }
+        tailleOctets += pdf.length;
+
+        Iterator<Entree> iterateur = entrees.values().iterator();
+        while (tailleOctets > budgetOctets && iterateur.hasNext()) {
+            tailleOctets -= iterateur.next().pdf.length;
+            iterateur.remove();
+            evictions.increment();
+        }
+    }
+
+    private byte[] attendre(CompletableFuture<byte[]> generation) throws DocumentException {
+        try {
+            return generation.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof DocumentException documentException) {
+                throw documentException;
+            }
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    private static final class Entree {
+        private final long version;
+        private final byte[] pdf;
+
+        private Entree(long version, byte[] pdf) {
+            this.version = version;
+            this.pdf = pdf;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.uy1.mgpcalculator.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cloisonnement du rendu des bulletins PDF demandés en ligne
+ * Les rendus s'exécutent dans une voie dédiée, bornée en threads et en file
+ * d'attente : un afflux de demandes de bulletins ne peut occuper ni tous les
+ * threads de Tomcat ni tout le processeur, et les calculs interactifs restent
+ * servis. File pleine : la demande est refusée tout de suite, le client réessaie.
+ * La voie ne fait qu'admettre et exécuter les rendus : le PDF est écrit dans la
+ * réponse au fil de la génération, sans copie complète en mémoire.
+ */
+@Service
+public class CloisonPdfService {
+
+    private final ThreadPoolExecutor bulletinExecutor;
+    private final Counter rejets;
+    private final Timer attente;
+
+    public CloisonPdfService(@Qualifier("bulletinExecutor") ThreadPoolExecutor bulletinExecutor,
+                             MeterRegistry registry) {
+        this.bulletinExecutor = bulletinExecutor;
+
+        this.rejets = Counter.builder("mgp.pdf.requetes.rejets")
+                .description("Bulletins refusés, file d'attente pleine")
+                .register(registry);
+        this.attente = Timer.builder("mgp.pdf.requetes.attente")
+                .description("Attente d'un bulletin dans la file avant son rendu")
+                .publishPercentileHistogram()
+                .register(registry);
+        Gauge.builder("mgp.pdf.requetes.file", bulletinExecutor, executor -> executor.getQueue().size())
+                .description("Bulletins en attente de rendu")
+                .register(registry);
+        Gauge.builder("mgp.pdf.requetes.actifs", bulletinExecutor, ThreadPoolExecutor::getActiveCount)
+                .description("Bulletins en cours de rendu")
+                .register(registry);
+    }
+
+    /**
+     * Voie des bulletins vue comme exécuteur des traitements asynchrones de
+     * Spring MVC (WebAsyncTask) : le rendu démarre une fois la requête passée
+     * en mode asynchrone et écrit le PDF directement dans la réponse
+     * File pleine : {@link VoieSatureeException}, transmise comme résultat de la requête
+     */
+    public AsyncTaskExecutor getVoie() {
+        return this::executer;
+    }
+
+    private void executer(Runnable rendu) {
+        long soumission = System.nanoTime();
+        try {
+            bulletinExecutor.execute(() -> {
+                attente.record(System.nanoTime() - soumission, TimeUnit.NANOSECONDS);
+                rendu.run();
+            });
+        } catch (RejectedExecutionException e) {
+            rejets.increment();
+            throw new VoieSatureeException(e);
+        }
+    }
+
+    /**
+     * File d'attente des bulletins pleine : le client réessaie plus tard
+     */
+    public static class VoieSatureeException extends TaskRejectedException {
+
+        private static final long serialVersionUID = 1L;
+
+        public VoieSatureeException(RejectedExecutionException cause) {
+            super("File d'attente des bulletins pleine", cause);
+        }
+    }
+}
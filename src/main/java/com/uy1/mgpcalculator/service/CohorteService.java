@@ -0,0 +1,177 @@
+package com.uy1.mgpcalculator.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.uy1.mgpcalculator.dto.CalculMGPPayload;
+import com.uy1.mgpcalculator.dto.ResultatMGPDTO;
+import com.uy1.mgpcalculator.model.ResultatMGP;
+import com.uy1.mgpcalculator.model.UE;
+import com.uy1.mgpcalculator.utils.BaremeNotation;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Service de calcul du MGP pour une cohorte complète d'étudiants
+ * Les entrées sont évaluées en parallèle, lot par lot, et les résultats
+ * sont transmis au fur et à mesure dans l'ordre des entrées
+ */
+@Service
+public class CohorteService {
+
+    private final MGPService mgpService;
+    private final ExecutorService cohorteExecutor;
+    private final Validator validator;
+    private final int tailleLot;
+
+    public CohorteService(MGPService mgpService,
+                          @Qualifier("cohorteExecutor") ExecutorService cohorteExecutor,
+                          Validator validator,
+                          @Value("${mgp.cohorte.taille-lot:256}") int tailleLot) {
+        this.mgpService = mgpService;
+        this.cohorteExecutor = cohorteExecutor;
+        this.validator = validator;
+        this.tailleLot = Math.max(1, tailleLot);
+    }
+
+    /**
+     * Calcule le MGP de chaque entrée de la cohorte
+     * Seul un lot de résultats est conservé en mémoire à la fois
+     *
+     * @param entrees Liste des calculs à effectuer
+     * @param sauvegarder true pour sauvegarder chaque lot de résultats (une transaction par lot)
+     * @param bareme Barème de notation des résultats
+     * @param sortie Reçoit chaque ligne de résultat, dans l'ordre des entrées
+     */
+    public void calculerCohorte(List<CalculMGPPayload> entrees, boolean sauvegarder, BaremeNotation bareme,
+                                Consumer<LigneCohorte> sortie) {
+        if (entrees == null || entrees.isEmpty()) {
+            return;
+        }
+
+        for (int debut = 0; debut < entrees.size(); debut += tailleLot) {
+            int fin = Math.min(debut + tailleLot, entrees.size());
+            List<Future<LigneCohorte>> lot = new ArrayList<>(fin - debut);
+
+            for (int i = debut; i < fin; i++) {
+                final int index = i;
+                final CalculMGPPayload entree = entrees.get(i);
+                lot.add(cohorteExecutor.submit(() -> calculerEntree(index, entree, bareme)));
+            }
+
+            List<LigneCohorte> lignes = new ArrayList<>(lot.size());
+            for (int i = 0; i < lot.size(); i++) {
+                lignes.add(attendre(lot.get(i), debut + i, entrees.get(debut + i)));
+            }
+
+            if (sauvegarder) {
+                sauvegarderLot(lignes);
+            }
+            lignes.forEach(sortie);
+        }
+    }
+
+    private void sauvegarderLot(List<LigneCohorte> lignes) {
+        List<ResultatMGP> resultats = new ArrayList<>(lignes.size());
+        for (LigneCohorte ligne : lignes) {
+            if (ligne.getResultat() != null) {
+                resultats.add(ligne.getResultat());
+            }
+        }
+        if (!resultats.isEmpty()) {
+            mgpService.sauvegarderResultats(resultats);
+        }
+    }
+
+    private LigneCohorte calculerEntree(int index, CalculMGPPayload entree, BaremeNotation bareme) {
+        String nom = entree != null ? entree.getNomEtudiant() : null;
+        if (entree == null || !mgpService.validerUEs(entree.getUes())) {
+            return LigneCohorte.erreur(index, nom, "Liste d'UE invalide");
+        }
+
+        // Contraintes de l'entité vérifiées ici pour qu'une UE invalide
+        // n'interrompe pas la sauvegarde de tout le lot
+        for (UE ue : entree.getUes()) {
+            Set<ConstraintViolation<UE>> violations = validator.validate(ue);
+            if (!violations.isEmpty()) {
+                return LigneCohorte.erreur(index, nom, violations.iterator().next().getMessage());
+            }
+        }
+
+        try {
+            return LigneCohorte.succes(index, mgpService.calculerResultatMGP(entree.getUes(), nom, bareme));
+        } catch (IllegalArgumentException e) {
+            return LigneCohorte.erreur(index, nom, e.getMessage());
+        }
+    }
+
+    private LigneCohorte attendre(Future<LigneCohorte> future, int index, CalculMGPPayload entree) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Calcul de cohorte interrompu", e);
+        } catch (ExecutionException e) {
+            String nom = entree != null ? entree.getNomEtudiant() : null;
+            return LigneCohorte.erreur(index, nom, "Erreur de calcul");
+        }
+    }
+
+    /**
+     * Ligne de résultat d'un calcul de cohorte
+     * Contient soit le résultat, soit le message d'erreur de l'entrée
+     * Le résultat est sérialisé sous sa vue DTO, construite à la première
+     * lecture, donc après la sauvegarde du lot (elle porte l'ID attribué)
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class LigneCohorte {
+        private final int index;
+        private final String nomEtudiant;
+        private final ResultatMGP resultat;
+        private final String erreur;
+        private ResultatMGPDTO vue;
+
+        private LigneCohorte(int index, String nomEtudiant, ResultatMGP resultat, String erreur) {
+            this.index = index;
+            this.nomEtudiant = nomEtudiant;
+            this.resultat = resultat;
+            this.erreur = erreur;
+        }
+
+        public static LigneCohorte succes(int index, ResultatMGP resultat) {
+            return new LigneCohorte(index, resultat.getNomEtudiant(), resultat, null);
+        }
+
+        public static LigneCohorte erreur(int index, String nomEtudiant, String erreur) {
+            return new LigneCohorte(index, nomEtudiant, null, erreur);
+        }
+
+        // Getters
+        public int getIndex() { return index; }
+        public String getNomEtudiant() { return nomEtudiant; }
+        @JsonIgnore
+        public ResultatMGP getResultat() { return resultat; }
+        public String getErreur() { return erreur; }
+
+        @JsonProperty("resultat")
+        public ResultatMGPDTO getVue() {
+            if (vue == null && resultat != null) {
+                vue = ResultatMGPDTO.depuis(resultat);
+            }
+            return vue;
+        }
+    }
+}
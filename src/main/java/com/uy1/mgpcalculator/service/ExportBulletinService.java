@@ -0,0 +1,240 @@
+package com.uy1.mgpcalculator.service;
+
+import com.uy1.mgpcalculator.model.ResultatMGP;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Service d'export des bulletins PDF d'une classe en une seule archive ZIP
+ * Les bulletins sont générés en parallèle et chaque entrée est écrite dans
+ * l'archive dès qu'elle est prête. Le nombre de bulletins en mémoire est
+ * limité par une fenêtre fixe, quelle que soit la taille de la cohorte.
+ */
+@Service
+public class ExportBulletinService {
+
+    /** Nombre de résultats chargés par requête */
+    private static final int TAILLE_PAGE = 50;
+
+    private final MGPService mgpService;
+    private final PDFService pdfService;
+    private final ExecutorService pdfExecutor;
+    private final int fenetre;
+
+    public ExportBulletinService(MGPService mgpService, @Lazy PDFService pdfService,
+                                 @Qualifier("pdfExecutor") ExecutorService pdfExecutor,
+                                 @Value("${mgp.pdf.export.fenetre:16}") int fenetre) {
+        this.mgpService = mgpService;
+        this.pdfService = pdfService;
+        this.pdfExecutor = pdfExecutor;
+        this.fenetre = Math.max(1, fenetre);
+    }
+
+    /**
+     * Écrit l'archive ZIP des bulletins sélectionnés
+     * Les bulletins en erreur et les identifiants inconnus sont listés dans
+     * une entrée "erreurs.txt" ; un identifiant répété n'est exporté qu'une fois
+     *
+     * @param ids Identifiants des résultats (prioritaires sur le nom)
+     * @param nom Début du nom des étudiants, utilisé si aucun identifiant n'est donné
+     * @param sortie Le flux qui reçoit l'archive (non fermé)
+     * @return Le nombre de bulletins écrits dans l'archive
+     * @throws IOException en cas d'erreur d'écriture
+     */
+    public int exporterArchive(List<Long> ids, String nom, OutputStream sortie) throws IOException {
+        return exporterArchive(ids, nom, sortie, genere -> { });
+    }
+
+    /**
+     * Écrit l'archive ZIP des bulletins sélectionnés en signalant chaque bulletin traité
+     *
+     * @param progression Appelée pour chaque bulletin, écrit ou en erreur
+     * @see #exporterArchive(List, String, OutputStream)
+     */
+    public int exporterArchive(List<Long> ids, String nom, OutputStream sortie,
+                               Progression progression) throws IOException {
+        SourceResultats source = new SourceResultats(ids, nom);
+        CompletionService<EntreeArchive> generations = new ExecutorCompletionService<>(pdfExecutor);
+        List<String> erreurs = new ArrayList<>();
+        int enCours = 0;
+        int ecrits = 0;
+
+        ZipOutputStream zip = new ZipOutputStream(sortie);
+        // Les PDF sont déjà compressés : inutile d'y passer du temps
+        zip.setLevel(Deflater.BEST_SPEED);
+
+        try {
+            while (true) {
+                while (enCours < fenetre && source.hasNext()) {
+                    ResultatMGP resultat = source.next();
+                    generations.submit(() -> generer(resultat));
+                    enCours++;
+                }
+                while (!source.introuvables.isEmpty()) {
+                    erreurs.add(source.introuvables.poll() + " : introuvable");
+                    progression.bulletinTraite(false);
+                }
+                if (enCours == 0) {
+                    break;
+                }
+
+                EntreeArchive entree = attendre(generations.take());
+                enCours--;
+                if (entree.pdf == null) {
+                    erreurs.add(entree.id + " : erreur de génération");
+                    progression.bulletinTraite(false);
+                    continue;
+                }
+
+                zip.putNextEntry(new ZipEntry(entree.nomFichier));
+                zip.write(entree.pdf);
+                zip.closeEntry();
+                zip.flush();
+                ecrits++;
+                progression.bulletinTraite(true);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Export des bulletins interrompu", e);
+        }
+
+        if (!erreurs.isEmpty()) {
+            zip.putNextEntry(new ZipEntry("erreurs.txt"));
+            StringBuilder texte = new StringBuilder("Bulletins non générés (identifiants) :\n");
+            erreurs.forEach(erreur -> texte.append(erreur).append('\n'));
+            zip.write(texte.toString().getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+        zip.finish();
+        zip.flush();
+        return ecrits;
+    }
+
+    private EntreeArchive generer(ResultatMGP resultat) {
+        try {
+            return new EntreeArchive(resultat.getId(), nomFichier(resultat),
+                pdfService.genererBulletinMGP(resultat));
+        } catch (Exception e) {
+            return new EntreeArchive(resultat.getId(), null, null);
+        }
+    }
+
+    private EntreeArchive attendre(Future<EntreeArchive> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            // generer() capture déjà ses erreurs
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static String nomFichier(ResultatMGP resultat) {
+        String nom = resultat.getNomNormalise() != null ? resultat.getNomNormalise() : "etudiant";
+        return "bulletin-" + resultat.getId() + "-" + nom.replaceAll("[^a-z0-9]+", "-") + ".pdf";
+    }
+
+    /**
+     * Identifiants à exporter, chacun une seule fois, dans l'ordre de la demande
+     * Un identifiant répété donnerait deux entrées de même nom dans l'archive
+     */
+    static List<Long> identifiantsDistincts(List<Long> ids) {
+        return ids != null ? new ArrayList<>(new LinkedHashSet<>(ids)) : Collections.emptyList();
+    }
+
+    /**
+     * Parcourt les résultats à exporter page par page, UE chargées
+     * Les identifiants absents du stockage sont mis de côté dans introuvables
+     */
+    private class SourceResultats {
+        private final List<Long> ids;
+        private final String nom;
+        private final Deque<ResultatMGP> tampon = new ArrayDeque<>();
+        private final Deque<Long> introuvables = new ArrayDeque<>();
+        private int positionIds;
+        private Long curseur;
+        private boolean termine;
+
+        SourceResultats(List<Long> ids, String nom) {
+            this.ids = identifiantsDistincts(ids);
+            this.nom = nom;
+        }
+
+        boolean hasNext() {
+            while (tampon.isEmpty() && !termine) {
+                chargerPage();
+            }
+            return !tampon.isEmpty();
+        }
+
+        ResultatMGP next() {
+            return tampon.poll();
+        }
+
+        private void chargerPage() {
+            List<ResultatMGP> page;
+            if (!ids.isEmpty()) {
+                int fin = Math.min(positionIds + TAILLE_PAGE, ids.size());
+                List<Long> demandes = ids.subList(positionIds, fin);
+                page = mgpService.trouverResultats(demandes);
+                Set<Long> trouves = new HashSet<>();
+                page.forEach(resultat -> trouves.add(resultat.getId()));
+                demandes.stream().filter(id -> !trouves.contains(id)).forEach(introuvables::add);
+                positionIds = fin;
+                termine = fin >= ids.size();
+            } else if (nom != null) {
+                page = mgpService.rechercherHistorique(nom, curseur, TAILLE_PAGE);
+                termine = page.size() < TAILLE_PAGE;
+                if (!page.isEmpty()) {
+                    curseur = page.get(page.size() - 1).getId();
+                }
+            } else {
+                page = Collections.emptyList();
+                termine = true;
+            }
+            tampon.addAll(page);
+        }
+    }
+
+    /**
+     * Suivi d'un export, appelé dans le thread qui écrit l'archive
+     */
+    @FunctionalInterface
+    public interface Progression {
+        void bulletinTraite(boolean genere);
+    }
+
+    private static final class EntreeArchive {
+        private final Long id;
+        private final String nomFichier;
+        private final byte[] pdf;
+
+        private EntreeArchive(Long id, String nomFichier, byte[] pdf) {
+            this.id = id;
+            this.nomFichier = nomFichier;
+            this.pdf = pdf;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.uy1.mgpcalculator.service;
+
+import com.uy1.mgpcalculator.dto.ResultatMGPDTO;
+import com.uy1.mgpcalculator.utils.NomUtils;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Cache des pages d'historique déjà lues, par nom normalisé, curseur et taille
+ * Les entrées les moins récemment lues sont évincées au-delà de la taille maximale.
+ * La recherche se fait par mots entiers : un résultat sauvegardé pour
+ * « awa ngono » apparaît dans les pages de « awa », « ngono », « ngono awa ».
+ * Une sauvegarde invalide exactement ces pages-là, les autres noms restent en cache.
+ * Une page lue en base pendant une invalidation n'est pas conservée : elle
+ * pourrait ne pas contenir le résultat tout juste sauvegardé.
+ */
+@Service
+public class HistoriqueCacheService {
+
+    private final int tailleMax;
+
+    // Ordre d'accès : la première entrée est la moins récemment lue
+    private final LinkedHashMap<Cle, List<ResultatMGPDTO>> entrees = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Cle, List<ResultatMGPDTO>> eldest) {
+            if (size() > tailleMax) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    // Incrémenté à chaque invalidation : une lecture commencée avant n'est pas mise en cache
+    private long generation;
+
+    private final LongAdder trouvees = new LongAdder();
+    private final LongAdder absentes = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final Timer tempsChargement;
+
+    public HistoriqueCacheService(MeterRegistry registry,
+                                  @Value("${mgp.historique.cache.taille-max:1000}") int tailleMax) {
+        this.tailleMax = Math.max(0, tailleMax);
+
+        FunctionCounter.builder("mgp.historique.cache.requetes", trouvees, LongAdder::sum)
+                .tag("resultat", "hit")
+                .description("Pages d'historique demandées (hit : servie depuis le cache)")
+                .register(registry);
+        FunctionCounter.builder("mgp.historique.cache.requetes", absentes, LongAdder::sum)
+                .tag("resultat", "miss")
+                .description("Pages d'historique demandées (miss : lue dans le stockage)")
+                .register(registry);
+        FunctionCounter.builder("mgp.historique.cache.evictions", evictions, LongAdder::sum)
+                .description("Pages évincées pour respecter la taille maximale")
+                .register(registry);
+        FunctionCounter.builder("mgp.historique.cache.invalidations", invalidations, LongAdder::sum)
+                .description("Pages retirées après la sauvegarde d'un résultat correspondant")
+                .register(registry);
+        Gauge.builder("mgp.historique.cache.entrees", this, HistoriqueCacheService::getNombreEntrees)
+                .register(registry);
+        this.tempsChargement = Timer.builder("mgp.historique.cache.chargement")
+                .description("Durée de lecture en base d'une page d'historique absente du cache")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    /**
+     * Renvoie une page d'historique, depuis le cache si possible
+     *
+     * @param nomNormalise Nom recherché, normalisé (NomUtils.normaliser)
+     * @param apresId Curseur de la page (null pour la première)
+     * @param taille Taille de la page, déjà bornée
+     * @param chargement Lecture de la page en base
+     * @return La page (liste non modifiable, partagée)
+     */
+    public List<ResultatMGPDTO> obtenir(String nomNormalise, Long apresId, int taille,
+                                        Supplier<List<ResultatMGPDTO>> chargement) {
+        Cle cle = new Cle(nomNormalise, apresId, taille);
+        long generationLecture;
+        synchronized (this) {
+            List<ResultatMGPDTO> page = entrees.get(cle);
+            if (page != null) {
+                trouvees.increment();
+                return page;
+            }
+            generationLecture = generation;
+        }
+        absentes.increment();
+
+        List<ResultatMGPDTO> page = List.copyOf(tempsChargement.record(chargement));
+        synchronized (this) {
+            if (generation == generationLecture) {
+                entrees.put(cle, page);
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Retire les pages dont la recherche correspond à l'un des noms sauvegardés
+     *
+     * @param nomsNormalises Noms normalisés des résultats sauvegardés ou modifiés
+     */
+    public synchronized void invalider(Collection<String> nomsNormalises) {
+        generation++;
+        if (entrees.isEmpty()) {
+            return;
+        }
+        List<List<String>> motsSauvegardes = nomsNormalises.stream().map(NomUtils::mots).toList();
+        entrees.keySet().removeIf(cle -> {
+            for (List<String> mots : motsSauvegardes) {
+                if (mots.containsAll(cle.mots)) {
+                    invalidations.increment();
+                    return true;
+                }
+            }
+            return false;
+        });
+    }
+
+    public synchronized int getNombreEntrees() {
+        return entrees.size();
+    }
+
+    private static final class Cle {
+        private final String nom;
+        private final List<String> mots;
+        private final Long apresId;
+        private final int taille;
+
+        private Cle(String nom, Long apresId, int taille) {
+            this.nom = nom;
+            this.mots = NomUtils.mots(nom);
+            this.apresId = apresId;
+            this.taille = taille;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Cle autre)) {
+                return false;
+            }
+            return taille == autre.taille && nom.equals(autre.nom) && Objects.equals(apresId, autre.apresId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(nom, apresId, taille);
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.uy1.mgpcalculator.service;
+
+import com.uy1.mgpcalculator.dto.ResultatMGPDTO;
+import com.uy1.mgpcalculator.model.UE;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Rend les demandes de calcul idempotentes pendant une durée limitée
+ * Une demande identique (même étudiant, mêmes UE, même option de sauvegarde)
+ * ou portant la même clé Idempotency-Key renvoie le résultat déjà calculé
+ * et sauvegardé, sans nouveau calcul ni nouvelle ligne en base. Les demandes
+ * identiques simultanées partagent un seul calcul. Chaque entrée garde
+ * l'empreinte de la demande : une clé Idempotency-Key réutilisée avec un
+ * autre contenu est refusée.
+ */
+@Service
+public class IdempotenceService {
+
+    private final long dureeVieNanos;
+    private final int tailleMax;
+
+    // Ordre d'insertion : la première entrée est la plus ancienne (et expire la première)
+    private final LinkedHashMap<String, Entree> entrees = new LinkedHashMap<>();
+
+    private final LongAdder trouvees = new LongAdder();
+    private final LongAdder absentes = new LongAdder();
+
+    public IdempotenceService(MeterRegistry registry,
+                              @Value("${mgp.idempotence.duree-vie:10m}") Duration dureeVie,
+                              @Value("${mgp.idempotence.taille-max:10000}") int tailleMax) {
+        this.dureeVieNanos = dureeVie.toNanos();
+        this.tailleMax = Math.max(1, tailleMax);
+
+        FunctionCounter.builder("mgp.idempotence.requetes", trouvees, LongAdder::sum)
+                .tag("resultat", "hit")
+                .description("Demandes de calcul (hit : résultat déjà calculé renvoyé)")
+                .register(registry);
+        FunctionCounter.builder("mgp.idempotence.requetes", absentes, LongAdder::sum)
+                .tag("resultat", "miss")
+                .description("Demandes de calcul (miss : calcul exécuté)")
+                .register(registry);
+        Gauge.builder("mgp.idempotence.entrees", this, IdempotenceService::getNombreEntrees)
+                .register(registry);
+    }
+
+    /**
+     * Construit la clé d'une demande de calcul : l'en-tête Idempotency-Key
+     * s'il est fourni, sinon l'empreinte de la demande
+     *
+     * @param cleClient Valeur de l'en-tête Idempotency-Key (peut être null)
+     * @param empreinte Empreinte de la demande (voir empreinte)
+     * @return La clé de la demande
+     */
+    public String construireCle(String cleClient, String empreinte) {
+        if (cleClient != null && !cleClient.isBlank()) {
+            return "cle:" + cleClient.trim();
+        }
+        return empreinte;
+    }
+
+    /**
+     * Empreinte SHA-256 d'une forme canonique de la demande : nom (tel que
+     * saisi, au blanc près), option de sauvegarde, barème et UE triées
+     * (l'ordre de saisie ne change pas le résultat)
+     *
+     * @param ues UE de la demande
+     * @param nomEtudiant Nom de l'étudiant
+     * @param sauvegarde Option autoSave de la demande
+     * @param bareme Identifiant du barème de notation utilisé
+     * @return L'empreinte de la demande
+     */
+    public String empreinte(List<UE> ues, String nomEtudiant, boolean sauvegarde, String bareme) {
+        List<String> lignes = new ArrayList<>(ues.size());
+        for (UE ue : ues) {
+            String nom = ue.getNom() != null ? ue.getNom().trim() : "";
+            lignes.add(nom.length() + ":" + nom + "|" + ue.getCredits() + "|" + ue.getNote());
+        }
+        lignes.sort(null);
+
+        StringBuilder forme = new StringBuilder()
+                .append(nomEtudiant != null ? nomEtudiant.trim() : "").append('\n')
+                .append(sauvegarde).append('\n')
+                .append(bareme).append('\n');
+        lignes.forEach(ligne -> forme.append(ligne).append('\n'));
+        return "sha256:" + HexFormat.of().formatHex(sha256().digest(forme.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Renvoie le résultat déjà obtenu pour cette clé ou l'obtient avec le calcul donné
+     * Un calcul en échec n'est pas conservé : la demande suivante le relance
+     *
+     * @param cle Clé de la demande (voir construireCle)
+     * @param empreinte Empreinte de la demande (voir empreinte)
+     * @param calcul Calcul (et sauvegarde) à exécuter si la clé est inconnue
+     * @return Le résultat de la demande
+     * @throws DemandeDifferenteException si la clé a déjà servi pour une autre demande
+     */
+    public ResultatMGPDTO executer(String cle, String empreinte, Supplier<ResultatMGPDTO> calcul) {
+        CompletableFuture<ResultatMGPDTO> nouveau = new CompletableFuture<>();
+        CompletableFuture<ResultatMGPDTO> existant = inscrire(cle, empreinte, nouveau);
+        if (existant != null) {
+            trouvees.increment();
+            return attendre(existant);
+        }
+        absentes.increment();
+
+        try {
+            ResultatMGPDTO resultat = calcul.get();
+            nouveau.complete(resultat);
+            return resultat;
+        } catch (RuntimeException e) {
+            retirer(cle, nouveau);
+            nouveau.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Oublie les demandes dont le résultat sauvegardé a été modifié depuis
+     * (correction d'une note) : la prochaine demande identique est recalculée
+     *
+     * @param resultatId ID du résultat modifié
+     */
+    public synchronized void invaliderResultat(Long resultatId) {
+        entrees.values().removeIf(entree -> {
+            ResultatMGPDTO resultat = entree.resultat.getNow(null);
+            return resultat != null && resultatId.equals(resultat.getId());
+        });
+    }
+
+    public synchronized int getNombreEntrees() {
+        return entrees.size();
+    }
+
+    /**
+     * Inscrit le calcul à venir, ou renvoie celui (valide) déjà inscrit pour la clé
+     */
+    private synchronized CompletableFuture<ResultatMGPDTO> inscrire(String cle, String empreinte,
+                                                                    CompletableFuture<ResultatMGPDTO> nouveau) {
+        long maintenant = System.nanoTime();
+        purger(maintenant);
+
+        Entree entree = entrees.get(cle);
+        if (entree != null) {
+            if (!entree.empreinte.equals(empreinte)) {
+                throw new DemandeDifferenteException(cle);
+            }
+            return entree.resultat;
+        }
+
+        entrees.put(cle, new Entree(nouveau, empreinte, maintenant + dureeVieNanos));
+        Iterator<Entree> iterateur = entrees.values().iterator();
+        while (entrees.size() > tailleMax && iterateur.hasNext()) {
+            iterateur.next();
+            iterateur.remove();
+        }
+        return null;
+    }
+
+    private synchronized void retirer(String cle, CompletableFuture<ResultatMGPDTO> resultat) {
+        Entree entree = entrees.get(cle);
+        if (entree != null && entree.resultat == resultat) {
+            entrees.remove(cle);
+        }
+    }
+
+    private void purger(long maintenant) {
+        Iterator<Entree> iterateur = entrees.values().iterator();
+        while (iterateur.hasNext() && iterateur.next().expireA - maintenant <= 0) {
+            iterateur.remove();
+        }
+    }
+
+    private static ResultatMGPDTO attendre(CompletableFuture<ResultatMGPDTO> resultat) {
+        try {
+            return resultat.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class Entree {
+        private final CompletableFuture<ResultatMGPDTO> resultat;
+        private final String empreinte;
+        private final long expireA;
+
+        private Entree(CompletableFuture<ResultatMGPDTO> resultat, String empreinte, long expireA) {
+            this.resultat = resultat;
+            this.empreinte = empreinte;
+            this.expireA = expireA;
+        }
+    }
+
+    /**
+     * Clé Idempotency-Key réutilisée avec un contenu de demande différent
+     */
+    public static class DemandeDifferenteException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        public DemandeDifferenteException(String cle) {
+            super("Clé d'idempotence déjà utilisée pour une autre demande : " + cle);
+        }
+    }
+}
@@ -0,0 +1,436 @@
+package com.uy1.mgpcalculator.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.uy1.mgpcalculator.model.ResultatMGP;
+import com.uy1.mgpcalculator.model.UE;
+import com.uy1.mgpcalculator.utils.BaremeNotation;
+import com.uy1.mgpcalculator.utils.ClassementNote;
+import com.uy1.mgpcalculator.utils.NomUtils;
+import com.uy1.mgpcalculator.utils.NoyauMGP;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Import d'un relevé de notes CSV (une ligne par étudiant et par UE)
+ * Le fichier est lu en flux : les lignes consécutives d'un même étudiant
+ * forment un groupe, calculé dès que l'étudiant change, et les résultats
+ * sont sauvegardés par lots. La mémoire dépend de la taille des lots et du
+ * nombre d'étudiants (seuls leurs noms normalisés sont gardés), pas du
+ * nombre de lignes.
+ *
+ * Les lignes d'un étudiant doivent être consécutives : un étudiant qui
+ * réapparaît après un autre a déjà été calculé (et peut-être sauvegardé),
+ * ses nouvelles lignes sont donc rejetées une à une.
+ *
+ * Colonnes : etudiant, ue, credits, note (séparateur ',' ou ';', détecté
+ * sur la première ligne). Une ligne d'en-tête portant ces noms peut fixer
+ * un autre ordre. Avec ';', les notes peuvent utiliser la virgule décimale.
+ */
+@Service
+public class ImportService {
+
+    private static final String[] COLONNES = {"etudiant", "ue", "credits", "note"};
+    private static final int ETUDIANT = 0;
+    private static final int NOM_UE = 1;
+    private static final int CREDITS = 2;
+    private static final int NOTE = 3;
+
+    private final MGPService mgpService;
+    private final int tailleLot;
+    private final Counter lignesAcceptees;
+    private final Counter lignesRejetees;
+
+    public ImportService(MGPService mgpService, MeterRegistry registry,
+                         @Value("${mgp.import.taille-lot:500}") int tailleLot) {
+        this.mgpService = mgpService;
+        this.tailleLot = Math.max(1, tailleLot);
+        this.lignesAcceptees = Counter.builder("mgp.import.lignes")
+                .description("Lignes de relevé importées")
+                .tag("statut", "acceptee")
+                .register(registry);
+        this.lignesRejetees = Counter.builder("mgp.import.lignes")
+                .description("Lignes de relevé importées")
+                .tag("statut", "rejetee")
+                .register(registry);
+    }
+
+    /**
+     * Importe un relevé CSV
+     * Une ligne invalide est signalée et écarte le calcul de son étudiant
+     * (un MGP sans cette UE serait faux), sans interrompre l'import
+     *
+     * @param csv Contenu du fichier (UTF-8)
+     * @param sauvegarder true pour sauvegarder les résultats par lots
+     * @param bareme Barème de notation des résultats
+     * @param sortie Reçoit le résultat de chaque étudiant et chaque ligne en erreur, dans l'ordre du fichier
+     * @return Le bilan de l'import
+     * @throws IOException en cas d'erreur de lecture
+     */
+    public BilanImport importer(InputStream csv, boolean sauvegarder, BaremeNotation bareme,
+                               Consumer<LigneImport> sortie) throws IOException {
+        BufferedReader lecteur = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8));
+        Import courant = new Import(sauvegarder, bareme, sortie);
+
+        String ligne;
+        int numero = 0;
+        while ((ligne = lecteur.readLine()) != null) {
+            numero++;
+            if (numero == 1 && !ligne.isEmpty() && ligne.charAt(0) == '\uFEFF') {
+                ligne = ligne.substring(1);
+            }
+            if (ligne.isBlank()) {
+                continue;
+            }
+            courant.lire(numero, ligne);
+        }
+        courant.terminer();
+        return courant.bilan;
+    }
+
+    /**
+     * État d'un import en cours : groupe de l'étudiant courant et lot à sauvegarder
+     */
+    private final class Import {
+
+        private final boolean sauvegarder;
+        private final Consumer<LigneImport> sortie;
+        private final BilanImport bilan = new BilanImport();
+        private final NoyauMGP noyau;
+        private final BaremeNotation bareme;
+
+        private char separateur;
+        private int[] positions = {0, 1, 2, 3};
+        private final List<String> champs = new ArrayList<>(COLONNES.length);
+        private final StringBuilder champ = new StringBuilder();
+
+        // Groupe de l'étudiant courant
+        private String etudiant;
+        private int premiereLigne;
+        private boolean groupeInvalide;
+        private double[] notes = new double[16];
+        private byte[] credits = new byte[16];
+        private final List<String> nomsUE = new ArrayList<>();
+
+        // Noms normalisés des étudiants dont le groupe est terminé
+        private final Set<String> termines = new HashSet<>();
+
+        // Résultats calculés en attente de sauvegarde, avec la ligne de sortie de chacun
+        private final List<ResultatMGP> lot = new ArrayList<>();
+        private final List<LigneImport> lignesLot = new ArrayList<>();
+
+        private Import(boolean sauvegarder, BaremeNotation bareme, Consumer<LigneImport> sortie) {
+            this.sauvegarder = sauvegarder;
+            this.bareme = bareme;
+            this.noyau = new NoyauMGP(bareme, 16);
+            this.sortie = sortie;
+        }
+
+        private void lire(int numero, String ligne) {
+            if (separateur == 0) {
+                separateur = ligne.indexOf(';') >= 0 ? ';' : ',';
+                decouper(ligne);
+                if (lireEnTete()) {
+                    return;
+                }
+            } else {
+                decouper(ligne);
+            }
+            bilan.lignes++;
+
+            String erreur = null;
+            String nomEtudiant = null;
+            String nomUE = null;
+            int creditsUE = 0;
+            double note = 0;
+
+            if (champs.size() < COLONNES.length) {
+                erreur = "Ligne incomplète : " + COLONNES.length + " colonnes attendues";
+            } else {
+                nomEtudiant = champs.get(positions[ETUDIANT]).trim();
+                nomUE = champs.get(positions[NOM_UE]).trim();
+                try {
+                    creditsUE = Integer.parseInt(champs.get(positions[CREDITS]).trim());
+                    note = Double.parseDouble(champs.get(positions[NOTE]).trim().replace(',', '.'));
+                } catch (NumberFormatException e) {
+                    erreur = "Crédits ou note non numérique";
+                }
+                if (erreur == null) {
+                    erreur = verifier(nomEtudiant, nomUE, creditsUE, note);
+                }
+            }
+
+            String etudiantLigne = nomEtudiant != null && !nomEtudiant.isEmpty() ? nomEtudiant : etudiant;
+            if (etudiant == null || !etudiant.equals(etudiantLigne)) {
+                terminerGroupe();
+                if (etudiantLigne != null && termines.contains(NomUtils.normaliser(etudiantLigne))) {
+                    lignesRejetees.increment();
+                    bilan.lignesRejetees++;
+                    emettre(LigneImport.erreur(numero, etudiantLigne,
+                        "Lignes de l'étudiant non consécutives : étudiant déjà calculé plus haut"));
+                    return;
+                }
+                etudiant = etudiantLigne;
+                premiereLigne = numero;
+            }
+
+            if (erreur != null) {
+                lignesRejetees.increment();
+                bilan.lignesRejetees++;
+                if (etudiant != null) {
+                    groupeInvalide = true;
+                }
+                emettre(LigneImport.erreur(numero, etudiantLigne, erreur));
+                return;
+            }
+
+            lignesAcceptees.increment();
+            int position = nomsUE.size();
+            if (position == notes.length) {
+                notes = Arrays.copyOf(notes, position * 2);
+                credits = Arrays.copyOf(credits, position * 2);
+            }
+            notes[position] = note;
+            credits[position] = (byte) creditsUE;
+            nomsUE.add(nomUE);
+        }
+
+        /**
+         * Reconnaît une ligne d'en-tête et en déduit l'ordre des colonnes
+         */
+        private boolean lireEnTete() {
+            int[] ordre = new int[COLONNES.length];
+            Arrays.fill(ordre, -1);
+            for (int i = 0; i < champs.size(); i++) {
+                String nom = NomUtils.normaliser(champs.get(i));
+                for (int c = 0; c < COLONNES.length; c++) {
+                    if (COLONNES[c].equals(nom)) {
+                        ordre[c] = i;
+                    }
+                }
+            }
+            for (int position : ordre) {
+                if (position < 0) {
+                    return false;
+                }
+            }
+            positions = ordre;
+            return true;
+        }
+
+        private String verifier(String nomEtudiant, String nomUE, int creditsUE, double note) {
+            if (nomEtudiant.isEmpty() || nomEtudiant.length() > 100) {
+                return "Le nom de l'étudiant doit contenir entre 1 et 100 caractères";
+            }
+            if (nomUE.length() < 2 || nomUE.length() > 100) {
+                return "Le nom doit contenir entre 2 et 100 caractères";
+            }
+            if (creditsUE != 3 && creditsUE != 6) {
+                return "Les crédits doivent valoir 3 ou 6";
+            }
+            if (!(note >= 0.0 && note <= 100.0)) {
+                return "La note doit être comprise entre 0 et 100";
+            }
+            return null;
+        }
+
+        /**
+         * Calcule le groupe de l'étudiant qui se termine et l'ajoute au lot
+         */
+        private void terminerGroupe() {
+            if (etudiant == null) {
+                return;
+            }
+            bilan.etudiants++;
+            termines.add(NomUtils.normaliser(etudiant));
+
+            if (groupeInvalide || nomsUE.isEmpty()) {
+                bilan.etudiantsRejetes++;
+                emettre(LigneImport.erreur(premiereLigne, etudiant, "Étudiant non calculé : ligne(s) invalide(s)"));
+            } else {
+                int nombreUE = nomsUE.size();
+                double mgp = noyau.calculer(notes, credits, nombreUE);
+
+                List<UE> ues = new ArrayList<>(nombreUE);
+                for (int i = 0; i < nombreUE; i++) {
+                    ClassementNote classement = noyau.getClassement(i);
+                    UE ue = new UE(nomsUE.get(i), (int) credits[i], notes[i]);
+                    ue.setCote(classement.getCote());
+                    ue.setQualitePoints(classement.getQualitePoints());
+                    ue.setMention(classement.getMention());
+                    ues.add(ue);
+                }
+                ResultatMGP resultat = new ResultatMGP(ues, mgp, noyau.getMention(),
+                        noyau.getTotalCredits(), noyau.getTotalPoints(), etudiant);
+                resultat.appliquerBareme(bareme);
+
+                lot.add(resultat);
+                lignesLot.add(LigneImport.succes(premiereLigne, resultat, noyau.getNombreValidees(), noyau.getNombreEchecs()));
+                if (lot.size() >= tailleLot) {
+                    viderLot();
+                }
+            }
+
+            etudiant = null;
+            groupeInvalide = false;
+            nomsUE.clear();
+        }
+
+        /**
+         * Sauvegarde le lot puis transmet ses lignes (avec les identifiants attribués)
+         */
+        private void viderLot() {
+            if (lot.isEmpty()) {
+                return;
+            }
+            if (sauvegarder) {
+                List<ResultatMGP> sauvegardes = mgpService.sauvegarderResultats(lot);
+                // Les lignes du lot suivent l'ordre du lot, entrecoupées des erreurs
+                int rang = 0;
+                for (LigneImport ligne : lignesLot) {
+                    if (ligne.erreur == null) {
+                        ligne.id = sauvegardes.get(rang++).getId();
+                    }
+                }
+                bilan.resultatsSauvegardes += sauvegardes.size();
+            }
+            lignesLot.forEach(sortie);
+            lot.clear();
+            lignesLot.clear();
+        }
+
+        /**
+         * Les erreurs attendent le lot en cours pour garder l'ordre du fichier
+         */
+        private void emettre(LigneImport ligne) {
+            if (lignesLot.isEmpty()) {
+                sortie.accept(ligne);
+            } else {
+                lignesLot.add(ligne);
+            }
+        }
+
+        private void terminer() {
+            terminerGroupe();
+            viderLot();
+        }
+
+        /**
+         * Découpe une ligne CSV ; un champ entre guillemets peut contenir le
+         * séparateur et des guillemets doublés
+         */
+        private void decouper(String ligne) {
+            champs.clear();
+            champ.setLength(0);
+            boolean entreGuillemets = false;
+            for (int i = 0; i < ligne.length(); i++) {
+                char c = ligne.charAt(i);
+                if (entreGuillemets) {
+                    if (c == '"' && i + 1 < ligne.length() && ligne.charAt(i + 1) == '"') {
+                        champ.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        entreGuillemets = false;
+                    } else {
+                        champ.append(c);
+                    }
+                } else if (c == '"') {
+                    entreGuillemets = true;
+                } else if (c == separateur) {
+                    champs.add(champ.toString());
+                    champ.setLength(0);
+                } else {
+                    champ.append(c);
+                }
+            }
+            champs.add(champ.toString());
+        }
+    }
+
+    /**
+     * Ligne du compte rendu d'import
+     * Contient soit le résultat d'un étudiant, soit l'erreur d'une ligne du fichier
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class LigneImport {
+        private final int ligne;
+        private final String nomEtudiant;
+        private Long id;
+        private final Double mgp;
+        private final String mention;
+        private final Boolean admis;
+        private final Integer totalCredits;
+        private final Integer nombreUE;
+        private final Integer ueValidees;
+        private final Integer ueEchecs;
+        private final String erreur;
+
+        private LigneImport(int ligne, String nomEtudiant, ResultatMGP resultat,
+                            Integer ueValidees, Integer ueEchecs, String erreur) {
+            this.ligne = ligne;
+            this.nomEtudiant = nomEtudiant;
+            this.mgp = resultat != null ? resultat.getMgp() : null;
+            this.mention = resultat != null ? resultat.getMention() : null;
+            this.admis = resultat != null ? resultat.getAdmis() : null;
+            this.totalCredits = resultat != null ? resultat.getTotalCredits() : null;
+            this.nombreUE = resultat != null ? resultat.getUes().size() : null;
+            this.ueValidees = ueValidees;
+            this.ueEchecs = ueEchecs;
+            this.erreur = erreur;
+        }
+
+        static LigneImport succes(int ligne, ResultatMGP resultat, int ueValidees, int ueEchecs) {
+            return new LigneImport(ligne, resultat.getNomEtudiant(), resultat, ueValidees, ueEchecs, null);
+        }
+
+        static LigneImport erreur(int ligne, String nomEtudiant, String erreur) {
+            return new LigneImport(ligne, nomEtudiant, null, null, null, erreur);
+        }
+
+        // Getters
+        public int getLigne() { return ligne; }
+        public String getNomEtudiant() { return nomEtudiant; }
+        public Long getId() { return id; }
+        public Double getMgp() { return mgp; }
+        public String getMention() { return mention; }
+        public Boolean getAdmis() { return admis; }
+        public Integer getTotalCredits() { return totalCredits; }
+        public Integer getNombreUE() { return nombreUE; }
+        public Integer getUeValidees() { return ueValidees; }
+        public Integer getUeEchecs() { return ueEchecs; }
+        public String getErreur() { return erreur; }
+    }
+
+    /**
+     * Bilan d'un import, envoyé en dernière ligne du compte rendu
+     */
+    public static class BilanImport {
+        private long lignes;
+        private long lignesRejetees;
+        private long etudiants;
+        private long etudiantsRejetes;
+        private long resultatsSauvegardes;
+
+        // Getters
+        public long getLignes() { return lignes; }
+        public long getLignesRejetees() { return lignesRejetees; }
+        public long getEtudiants() { return etudiants; }
+        public long getEtudiantsRejetes() { return etudiantsRejetes; }
+        public long getResultatsSauvegardes() { return resultatsSauvegardes; }
+    }
+}
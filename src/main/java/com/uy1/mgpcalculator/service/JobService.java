@@ -0,0 +1,324 @@
+package com.uy1.mgpcalculator.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.uy1.mgpcalculator.dto.CalculMGPPayload;
+import com.uy1.mgpcalculator.utils.BaremeNotation;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Travaux en arrière-plan : calcul d'une cohorte et export des bulletins
+ * Un travail soumis reçoit un identifiant ; son état (compteurs, débit) se
+ * consulte pendant l'exécution et son résultat, écrit dans un fichier
+ * temporaire, se télécharge une fois terminé. La file d'attente est bornée :
+ * quand elle est pleine, la soumission est refusée et le client réessaie plus tard.
+ * Les travaux terminés sont oubliés (et leur fichier supprimé) après leur durée de vie.
+ */
+@Service
+public class JobService {
+
+    public enum TypeJob { CALCUL, BULLETINS }
+
+    public enum StatutJob { EN_ATTENTE, EN_COURS, TERMINE, ECHEC, ANNULE }
+
+    private final CohorteService cohorteService;
+    private final ExportBulletinService exportService;
+    private final ObjectMapper objectMapper;
+    private final ThreadPoolExecutor jobExecutor;
+    private final Path repertoire;
+    private final boolean repertoireTemporaire;
+    private final long dureeVieMillis;
+    private final Counter rejets;
+
+    // Ordre de soumission : les plus anciens travaux expirent les premiers
+    private final LinkedHashMap<String, Job> jobs = new LinkedHashMap<>();
+
+    public JobService(CohorteService cohorteService, ExportBulletinService exportService,
+                      ObjectMapper objectMapper,
+                      @Qualifier("jobExecutor") ThreadPoolExecutor jobExecutor,
+                      MeterRegistry registry,
+                      @Value("${mgp.jobs.repertoire:}") String repertoire,
+                      @Value("${mgp.jobs.duree-vie:1h}") Duration dureeVie) throws IOException {
+        this.cohorteService = cohorteService;
+        this.exportService = exportService;
+        this.objectMapper = objectMapper;
+        this.jobExecutor = jobExecutor;
+        this.repertoireTemporaire = repertoire.isBlank();
+        this.repertoire = repertoireTemporaire
+                ? Files.createTempDirectory("mgp-jobs")
+                : Files.createDirectories(Path.of(repertoire));
+        this.dureeVieMillis = dureeVie.toMillis();
+
+        this.rejets = Counter.builder("mgp.jobs.rejets")
+                .description("Travaux refusés, file d'attente pleine")
+                .register(registry);
+        Gauge.builder("mgp.jobs.file", jobExecutor, executor -> executor.getQueue().size())
+                .description("Travaux en attente d'exécution")
+                .register(registry);
+        Gauge.builder("mgp.jobs.actifs", jobExecutor, ThreadPoolExecutor::getActiveCount)
+                .description("Travaux en cours d'exécution")
+                .register(registry);
+    }
+
+    /**
+     * Soumet le calcul d'une cohorte ; le résultat est un fichier NDJSON
+     * (une ligne par étudiant, comme /calculer/cohorte)
+     *
+     * @param bareme Barème de notation des résultats
+     * @return Le travail créé, vide si la file d'attente est pleine
+     */
+    public Optional<Job> soumettreCalcul(List<CalculMGPPayload> entrees, boolean sauvegarder,
+                                         BaremeNotation bareme) {
+        return soumettre(TypeJob.CALCUL, (long) entrees.size(), ".ndjson", (job, sortie) ->
+            cohorteService.calculerCohorte(entrees, sauvegarder, bareme, ligne -> {
+                job.traiter(ligne.getErreur() == null);
+                try {
+                    sortie.write(objectMapper.writeValueAsBytes(ligne));
+                    sortie.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+    }
+
+    /**
+     * Soumet l'export des bulletins ; le résultat est une archive ZIP
+     * Sans identifiants, le total n'est connu qu'à la fin
+     *
+     * @return Le travail créé, vide si la file d'attente est pleine
+     */
+    public Optional<Job> soumettreBulletins(List<Long> ids, String nom) {
+        List<Long> distincts = ExportBulletinService.identifiantsDistincts(ids);
+        Long total = !distincts.isEmpty() ? (long) distincts.size() : null;
+        return soumettre(TypeJob.BULLETINS, total, ".zip", (job, sortie) ->
+            exportService.exporterArchive(distincts, nom, sortie, job::traiter));
+    }
+
+    public Optional<Job> trouver(String id) {
+        synchronized (this) {
+            purger();
+            return Optional.ofNullable(jobs.get(id));
+        }
+    }
+
+    /**
+     * Annule un travail (interrompu s'il est en cours) et supprime son résultat
+     *
+     * @return true si le travail existait
+     */
+    public boolean supprimer(String id) {
+        Job job;
+        synchronized (this) {
+            job = jobs.remove(id);
+        }
+        if (job == null) {
+            return false;
+        }
+        job.annuler();
+        // Libère tout de suite la place d'un travail annulé avant son démarrage
+        jobExecutor.purge();
+        return true;
+    }
+
+    /**
+     * Supprime les résultats à l'arrêt (et le répertoire s'il a été créé ici)
+     */
+    @PreDestroy
+    public synchronized void fermer() throws IOException {
+        jobs.values().forEach(Job::supprimerFichier);
+        jobs.clear();
+        if (repertoireTemporaire) {
+            FileSystemUtils.deleteRecursively(repertoire);
+        }
+    }
+
+    private Optional<Job> soumettre(TypeJob type, Long total, String extension, Traitement traitement) {
+        String id = UUID.randomUUID().toString();
+        Job job = new Job(id, type, total, repertoire.resolve(id + extension));
+        synchronized (this) {
+            purger();
+            try {
+                job.future = jobExecutor.submit(() -> executer(job, traitement));
+            } catch (RejectedExecutionException e) {
+                rejets.increment();
+                return Optional.empty();
+            }
+            jobs.put(job.id, job);
+        }
+        return Optional.of(job);
+    }
+
+    private void executer(Job job, Traitement traitement) {
+        if (!job.demarrer()) {
+            return;
+        }
+        try (OutputStream sortie = new BufferedOutputStream(Files.newOutputStream(job.fichier))) {
+            traitement.executer(job, sortie);
+        } catch (Exception e) {
+            job.terminer(e instanceof UncheckedIOException ? e.getCause() : e);
+            return;
+        }
+        job.terminer(null);
+    }
+
+    private void purger() {
+        long limite = System.currentTimeMillis() - dureeVieMillis;
+        Iterator<Job> iterateur = jobs.values().iterator();
+        while (iterateur.hasNext()) {
+            Job job = iterateur.next();
+            if (job.fin != null && job.fin.toEpochMilli() < limite) {
+                iterateur.remove();
+                job.supprimerFichier();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Traitement {
+        void executer(Job job, OutputStream sortie) throws IOException;
+    }
+
+    /**
+     * État d'un travail, mis à jour par le thread qui l'exécute
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Job {
+        private final String id;
+        private final TypeJob type;
+        private final Instant soumission = Instant.now();
+        private final AtomicLong traites = new AtomicLong();
+        private final AtomicLong echecs = new AtomicLong();
+        private final Path fichier;
+        private volatile Long total;
+        private volatile StatutJob statut = StatutJob.EN_ATTENTE;
+        private volatile Instant debut;
+        private volatile Instant fin;
+        private volatile String erreur;
+        private volatile Future<?> future;
+
+        private Job(String id, TypeJob type, Long total, Path fichier) {
+            this.id = id;
+            this.type = type;
+            this.total = total;
+            this.fichier = fichier;
+        }
+
+        void traiter(boolean succes) {
+            traites.incrementAndGet();
+            if (!succes) {
+                echecs.incrementAndGet();
+            }
+        }
+
+        private synchronized boolean demarrer() {
+            if (statut != StatutJob.EN_ATTENTE) {
+                return false;
+            }
+            debut = Instant.now();
+            statut = StatutJob.EN_COURS;
+            return true;
+        }
+
+        private synchronized void terminer(Throwable cause) {
+            if (statut == StatutJob.ANNULE) {
+                supprimerFichier();
+                return;
+            }
+            fin = Instant.now();
+            if (cause == null) {
+                statut = StatutJob.TERMINE;
+                total = traites.get();
+            } else {
+                statut = StatutJob.ECHEC;
+                erreur = cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+                supprimerFichier();
+            }
+        }
+
+        private void annuler() {
+            boolean enCours;
+            synchronized (this) {
+                enCours = statut == StatutJob.EN_COURS;
+                if (enCours || statut == StatutJob.EN_ATTENTE) {
+                    statut = StatutJob.ANNULE;
+                }
+            }
+            Future<?> tache = future;
+            if (tache != null) {
+                tache.cancel(true);
+            }
+            // Un travail interrompu supprime lui-même son fichier en se terminant
+            if (!enCours) {
+                supprimerFichier();
+            }
+        }
+
+        private void supprimerFichier() {
+            try {
+                Files.deleteIfExists(fichier);
+            } catch (IOException e) {
+                // Fichier temporaire : supprimé au plus tard à l'arrêt
+            }
+        }
+
+        /**
+         * Résultat téléchargeable, présent seulement pour un travail terminé
+         */
+        public Optional<Path> resultat() {
+            return statut == StatutJob.TERMINE ? Optional.of(fichier) : Optional.empty();
+        }
+
+        /**
+         * Éléments traités par seconde depuis le début du travail
+         */
+        public Double getDebit() {
+            Instant depart = debut;
+            if (depart == null) {
+                return null;
+            }
+            Instant arret = fin != null ? fin : Instant.now();
+            long millis = Math.max(1, Duration.between(depart, arret).toMillis());
+            return traites.get() * 1000.0 / millis;
+        }
+
+        // Getters
+        public String getId() { return id; }
+        public TypeJob getType() { return type; }
+        public StatutJob getStatut() { return statut; }
+        public Long getTotal() { return total; }
+        public long getTraites() { return traites.get(); }
+        public long getEchecs() { return echecs.get(); }
+        public Instant getSoumission() { return soumission; }
+        public Instant getDebut() { return debut; }
+        public Instant getFin() { return fin; }
+        public String getErreur() { return erreur; }
+    }
+}
@@ -1,16 +1,30 @@
 package com.uy1.mgpcalculator.service;
 
+import com.uy1.mgpcalculator.dto.ResultatMGPDTO;
 import com.uy1.mgpcalculator.model.ResultatMGP;
 import com.uy1.mgpcalculator.model.UE;
 import com.uy1.mgpcalculator.repository.ResultatMGPRepository;
-import com.uy1.mgpcalculator.repository.UERepository;
+import com.uy1.mgpcalculator.repository.ResultatStore;
+import com.uy1.mgpcalculator.utils.BaremeNotation;
+import com.uy1.mgpcalculator.utils.GrilleNotation;
+import com.uy1.mgpcalculator.utils.NomUtils;
 import com.uy1.mgpcalculator.utils.NotationUtils;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
 import jakarta.transaction.Transactional;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Service principal pour le calcul du MGP
@@ -19,48 +33,112 @@ import java.util.List;
 @Transactional
 public class MGPService {
 
-    private final UERepository ueRepository;
-    private final ResultatMGPRepository resultatRepository;
+    /** Taille maximale d'une page d'historique */
+    public static final int TAILLE_PAGE_MAX = 100;
+
+    private final ResultatStore resultatStore;
+    private final BaremeService baremeService;
+    private final HistoriqueCacheService historiqueCache;
+
+    private final Timer tempsCalcul;
+    private final Timer tempsSauvegarde;
+    private final Timer tempsSauvegardeLot;
+    private final Timer tempsHistorique;
+    private final Timer tempsStatistiques;
+    private final DistributionSummary uesParCalcul;
 
-    public MGPService(UERepository ueRepository, ResultatMGPRepository resultatRepository) {
-        this.ueRepository = ueRepository;
-        this.resultatRepository = resultatRepository;
+    public MGPService(ResultatStore resultatStore, BaremeService baremeService,
+                      HistoriqueCacheService historiqueCache, MeterRegistry registry) {
+        this.resultatStore = resultatStore;
+        this.baremeService = baremeService;
+        this.historiqueCache = historiqueCache;
+
+        this.tempsCalcul = Timer.builder("mgp.calcul.duree")
+                .description("Durée du calcul d'un résultat MGP")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.tempsSauvegarde = Timer.builder("mgp.sauvegarde.duree")
+                .description("Durée de sauvegarde des résultats, écritures SQL comprises")
+                .tag("mode", "unitaire")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.tempsSauvegardeLot = Timer.builder("mgp.sauvegarde.duree")
+                .description("Durée de sauvegarde des résultats, écritures SQL comprises")
+                .tag("mode", "lot")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.tempsHistorique = Timer.builder("mgp.historique.duree")
+                .description("Durée d'une recherche d'historique")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.tempsStatistiques = Timer.builder("mgp.statistiques.duree")
+                .description("Durée du calcul des statistiques de cohorte")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.uesParCalcul = DistributionSummary.builder("mgp.calcul.ues")
+                .description("Nombre d'UE par calcul")
+                .publishPercentileHistogram()
+                .register(registry);
     }
 
     /**
-     * Calcule le résultat complet du MGP à partir d'une liste d'UE
+     * Calcule le résultat complet du MGP à partir d'une liste d'UE, selon le barème UY1
      * 
      * @param ues Liste des unités d'enseignement
      * @return Le résultat complet du calcul
      * @throws IllegalArgumentException si la liste est vide ou contient des UE invalides
      */
+    @Transactional(Transactional.TxType.SUPPORTS)
     public ResultatMGP calculerResultatMGP(List<UE> ues, String nomEtudiant) {
+        return calculerResultatMGP(ues, nomEtudiant, NotationUtils.BAREME_UY1);
+    }
+
+    /**
+     * Calcule le résultat complet du MGP selon un barème donné
+     * 
+     * @param ues Liste des unités d'enseignement
+     * @param bareme Barème de notation (grille, mentions, admission)
+     * @return Le résultat complet du calcul
+     * @throws IllegalArgumentException si la liste est vide ou contient des UE invalides
+     */
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public ResultatMGP calculerResultatMGP(List<UE> ues, String nomEtudiant, BaremeNotation bareme) {
         // Validation de base
         if (ues == null || ues.isEmpty()) {
             throw new IllegalArgumentException("La liste des UE ne peut pas être vide");
         }
 
-        // Calcul du MGP
-        double mgp = NotationUtils.calculerMGP(ues);
-        
-        // Calcul des totaux
-        int totalCredits = ues.stream()
-                .mapToInt(UE::getCredits)
-                .sum();
-        
-        double totalPoints = ues.stream()
-                .mapToDouble(UE::getPointsTotaux)
-                .sum();
+        uesParCalcul.record(ues.size());
+        return tempsCalcul.record(() -> calculer(ues, nomEtudiant, bareme));
+    }
+
+    private ResultatMGP calculer(List<UE> ues, String nomEtudiant, BaremeNotation bareme) {
+        GrilleNotation grille = bareme.getGrille();
+        // Attributs des UE, MGP et totaux en un seul parcours
+        // (mêmes opérations, dans le même ordre, que NotationUtils.calculerMGP)
+        int totalCredits = 0;
+        double totalPoints = 0;
+        for (UE ue : ues) {
+            if (ue.getNote() == null || ue.getCredits() == null) {
+                throw new IllegalArgumentException("Toutes les UE doivent avoir une note et des crédits valides");
+            }
+
+            NotationUtils.calculerAttributsUE(ue, grille);
+            totalPoints += ue.getPointsTotaux();
+            totalCredits += ue.getCredits();
+        }
+        double mgp = totalCredits == 0 ? 0.0 : totalPoints / totalCredits;
 
         // Création du résultat
         ResultatMGP resultat = new ResultatMGP(
             ues,
             mgp,
-            NotationUtils.convertirMgpEnMention(mgp),
+            bareme.convertirMgpEnMention(mgp),
             totalCredits,
             totalPoints,
             nomEtudiant
         );
+        resultat.appliquerBareme(bareme);
 
         return resultat;
     }
@@ -71,6 +149,7 @@ public class MGPService {
      * @param ues Liste des UE à vérifier
      * @return true si toutes les UE sont valides, false sinon
      */
+    @Transactional(Transactional.TxType.SUPPORTS)
     public boolean validerUEs(List<UE> ues) {
         if (ues == null || ues.isEmpty()) {
             return false;
@@ -116,13 +195,271 @@ public class MGPService {
                 .count();
     }
 
+    /**
+     * Sauvegarde un résultat et ses UE dans le stockage configuré
+     * Les écritures sont terminées avant la fin de la méthode pour être mesurées
+     */
     public ResultatMGP sauvegarderResultat(ResultatMGP resultat) {
-        // Sauvegarde en cascade des UE d'abord
-        resultat.getUes().forEach(ueRepository::save);
-        return resultatRepository.save(resultat);
+        ResultatMGP sauvegarde = tempsSauvegarde.record(() -> resultatStore.sauvegarder(resultat));
+        invaliderHistorique(Collections.singletonList(sauvegarde.getNomNormalise()));
+        return sauvegarde;
+    }
+
+    /**
+     * Sauvegarde plusieurs résultats en une seule écriture groupée
+     * (une transaction en JPA, un seul forçage sur disque pour le journal)
+     *
+     * @param resultats Résultats à sauvegarder
+     * @return Les résultats sauvegardés, dans le même ordre
+     */
+    public List<ResultatMGP> sauvegarderResultats(List<ResultatMGP> resultats) {
+        Timer.Sample mesure = Timer.start();
+        List<ResultatMGP> sauvegardes = resultatStore.sauvegarderTous(resultats);
+        mesure.stop(tempsSauvegardeLot);
+        invaliderHistorique(sauvegardes.stream().map(ResultatMGP::getNomNormalise).distinct().toList());
+        return sauvegardes;
     }
 
-    public List<ResultatMGP> rechercherHistorique(String nomEtudiant) {
-        return resultatRepository.findByNomEtudiantContainingIgnoreCase(nomEtudiant);
+    /**
+     * Lit un résultat sauvegardé et ses UE
+     *
+     * @param id Identifiant du résultat
+     * @return Le résultat, vide s'il n'existe pas
+     */
+    public Optional<ResultatMGP> trouverResultat(Long id) {
+        return resultatStore.trouver(id);
+    }
+
+    /**
+     * Lit plusieurs résultats sauvegardés et leurs UE, du plus récent au plus ancien
+     *
+     * @param ids Identifiants des résultats (les inconnus sont ignorés)
+     * @return Les résultats trouvés
+     */
+    public List<ResultatMGP> trouverResultats(Collection<Long> ids) {
+        return resultatStore.trouverTous(ids);
+    }
+
+    /**
+     * Corrige la note (et éventuellement les crédits) d'une UE d'un résultat sauvegardé
+     * Les totaux, le MGP, la mention et la décision sont mis à jour à partir des
+     * agrégats stockés, sans recharger les autres UE : en JPA, seules la ligne de
+     * l'UE et celle du résultat sont réécrites ; le journal ajoute une nouvelle
+     * version du résultat. La version du résultat protège contre
+     * deux corrections simultanées. Le barème appliqué est celui enregistré
+     * avec le résultat lors du calcul d'origine.
+     *
+     * @param resultatId Identifiant du résultat
+     * @param ueId Identifiant de l'UE à corriger
+     * @param note Nouvelle note sur 100
+     * @param credits Nouveaux crédits (3 ou 6), null pour les conserver
+     * @return La correction appliquée, vide si le résultat ou l'UE n'existe pas
+     * @throws IllegalArgumentException si la note ou les crédits sont invalides
+     * @throws IllegalStateException si le barème du résultat n'est plus disponible
+     */
+    public Optional<CorrectionUE> corrigerUE(Long resultatId, Long ueId, Double note, Integer credits) {
+        if (note == null || note < 0 || note > 100) {
+            throw new IllegalArgumentException("La note doit être comprise entre 0 et 100");
+        }
+        if (credits != null && credits != 3 && credits != 6) {
+            throw new IllegalArgumentException("Les crédits doivent valoir 3 ou 6");
+        }
+
+        UE[] corrigee = new UE[1];
+        Optional<ResultatMGP> trouve = resultatStore.corrigerUE(resultatId, ueId, (resultat, ue) -> {
+            appliquerCorrection(resultat, ue, note, credits, baremeDe(resultat));
+            corrigee[0] = ue;
+        });
+        if (trouve.isEmpty()) {
+            return Optional.empty();
+        }
+        invaliderHistorique(Collections.singletonList(trouve.get().getNomNormalise()));
+        return Optional.of(new CorrectionUE(trouve.get(), corrigee[0]));
+    }
+
+    /**
+     * Barème enregistré avec le résultat (barème par défaut pour un résultat
+     * enregistré avant que le barème ne le soit)
+     */
+    private BaremeNotation baremeDe(ResultatMGP resultat) {
+        return baremeService.trouver(resultat.getBaremeId())
+            .orElseThrow(() -> new IllegalStateException(
+                "Barème du résultat " + resultat.getId() + " indisponible : " + resultat.getBaremeId()));
+    }
+
+    private static void appliquerCorrection(ResultatMGP resultat, UE ue, Double note, Integer credits,
+                                            BaremeNotation bareme) {
+        int anciensCredits = ue.getCredits();
+        double anciensPoints = ue.getPointsTotaux();
+
+        ue.setNote(note);
+        if (credits != null) {
+            ue.setCredits(credits);
+        }
+        NotationUtils.calculerAttributsUE(ue, bareme.getGrille());
+
+        int totalCredits = resultat.getTotalCredits() - anciensCredits + ue.getCredits();
+        double totalPoints = arrondir(resultat.getTotalPoints() - anciensPoints + ue.getPointsTotaux());
+        double mgp = totalCredits == 0 ? 0.0 : totalPoints / totalCredits;
+
+        resultat.setTotalCredits(totalCredits);
+        resultat.setTotalPoints(totalPoints);
+        resultat.setMgp(mgp);
+        resultat.appliquerBareme(bareme);
+        resultat.setDateCalcul(LocalDateTime.now());
+    }
+
+    /**
+     * Retire du cache les pages d'historique de ces étudiants, une fois la
+     * transaction validée : une page relue avant ne contiendrait pas encore
+     * les nouveaux résultats
+     */
+    private void invaliderHistorique(List<String> nomsNormalises) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    historiqueCache.invalider(nomsNormalises);
+                }
+            });
+        } else {
+            historiqueCache.invalider(nomsNormalises);
+        }
+    }
+
+    /**
+     * Élimine l'erreur d'arrondi accumulée par les corrections successives
+     * (les points sont des produits de qualités de points et de crédits)
+     */
+    private static double arrondir(double points) {
+        return Math.round(points * 1_000_000d) / 1_000_000d;
+    }
+
+    /**
+     * Page d'historique prête à renvoyer, depuis le cache si possible
+     * Sans transaction : une page en cache est servie sans connexion à la base,
+     * une page absente est lue comme par rechercherHistorique (UE chargées)
+     *
+     * @param nomEtudiant Mots du nom recherché
+     * @param apresId Curseur : identifiant du dernier résultat de la page précédente (null pour la première)
+     * @param taille Nombre de résultats par page (borné de 1 à TAILLE_PAGE_MAX)
+     * @return La page de résultats
+     */
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public List<ResultatMGPDTO> consulterHistorique(String nomEtudiant, Long apresId, int taille) {
+        String nomNormalise = NomUtils.normaliser(nomEtudiant);
+        if (NomUtils.mots(nomNormalise).isEmpty()) {
+            return Collections.emptyList();
+        }
+        int tailleBornee = Math.max(1, Math.min(taille, TAILLE_PAGE_MAX));
+        return historiqueCache.obtenir(nomNormalise, apresId, tailleBornee, () ->
+            rechercherHistorique(nomEtudiant, apresId, tailleBornee).stream()
+                .map(ResultatMGPDTO::depuis)
+                .toList());
+    }
+
+    /**
+     * Recherche les résultats dont le nom contient chacun des mots donnés
+     * (mots entiers, dans n'importe quel ordre, sans tenir compte des accents
+     * ni de la casse), du plus récent au plus ancien : "ngono" et "Ngono Éloïse"
+     * trouvent "Eloise Ngono", "ngo" ne la trouve pas
+     * Deux lectures au plus : une page d'identifiants par l'index des mots, puis
+     * les résultats avec leurs UE ; le coût d'une page ne dépend pas du nombre
+     * de résultats qui partagent un mot
+     *
+     * @param nomEtudiant Mots du nom recherché
+     * @param apresId Curseur : identifiant du dernier résultat de la page précédente (null pour la première)
+     * @param taille Nombre de résultats par page (1 à TAILLE_PAGE_MAX)
+     * @return La page de résultats, UE chargées
+     */
+    public List<ResultatMGP> rechercherHistorique(String nomEtudiant, Long apresId, int taille) {
+        return tempsHistorique.record(() -> rechercher(nomEtudiant, apresId, taille));
+    }
+
+    private List<ResultatMGP> rechercher(String nomEtudiant, Long apresId, int taille) {
+        List<String> mots = NomUtils.mots(NomUtils.normaliser(nomEtudiant));
+        if (mots.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<Long> ids = resultatStore.rechercherIds(
+            mots,
+            apresId != null ? apresId : Long.MAX_VALUE,
+            Math.max(1, Math.min(taille, TAILLE_PAGE_MAX))
+        );
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return resultatStore.trouverTous(ids);
+    }
+
+    /**
+     * Statistiques de tous les résultats sauvegardés (distribution des MGP,
+     * répartition par mention et par décision, percentiles)
+     * Le comptage est fait par le stockage (un parcours de l'index des centièmes
+     * de MGP en JPA, des compteurs par centième tenus à jour par le journal) ; seuls quelques
+     * centaines d'agrégats sont lus, quel que soit le nombre de résultats
+     *
+     * @param pasCentiemes Largeur des classes de la distribution, en centièmes de MGP
+     * @return Les statistiques de la cohorte
+     * @throws IllegalArgumentException si la largeur des classes est invalide
+     */
+    public StatistiquesCohorte calculerStatistiques(int pasCentiemes) {
+        return tempsStatistiques.record(() -> statistiques(pasCentiemes));
+    }
+
+    private StatistiquesCohorte statistiques(int pasCentiemes) {
+        List<ResultatMGPRepository.AgregatMGP> agregats = resultatStore.agregerParCentieme();
+
+        // Minimum et maximum exacts, cherchés seulement dans les centièmes extrêmes
+        Double mgpMin = agregats.stream()
+            .map(ResultatMGPRepository.AgregatMGP::getCentieme)
+            .min(Short::compare)
+            .map(resultatStore::trouverMgpMin)
+            .orElse(null);
+        Double mgpMax = agregats.stream()
+            .map(ResultatMGPRepository.AgregatMGP::getCentieme)
+            .max(Short::compare)
+            .map(resultatStore::trouverMgpMax)
+            .orElse(null);
+
+        return StatistiquesCohorte.depuis(agregats, mgpMin, mgpMax, pasCentiemes);
+    }
+
+    /**
+     * Résultat d'une correction d'UE : l'UE corrigée et les nouveaux agrégats
+     */
+    public static class CorrectionUE {
+        private final Long resultatId;
+        private final Long version;
+        private final UE ue;
+        private final Integer totalCredits;
+        private final Double totalPoints;
+        private final Double mgp;
+        private final String mention;
+        private final Boolean admis;
+        private final String decisionFinale;
+
+        CorrectionUE(ResultatMGP resultat, UE ue) {
+            this.resultatId = resultat.getId();
+            this.version = resultat.getVersion();
+            this.ue = ue;
+            this.totalCredits = resultat.getTotalCredits();
+            this.totalPoints = resultat.getTotalPoints();
+            this.mgp = resultat.getMgp();
+            this.mention = resultat.getMention();
+            this.admis = resultat.getAdmis();
+            this.decisionFinale = resultat.getDecisionFinale();
+        }
+
+        public Long getResultatId() { return resultatId; }
+        public Long getVersion() { return version; }
+        public UE getUe() { return ue; }
+        public Integer getTotalCredits() { return totalCredits; }
+        public Double getTotalPoints() { return totalPoints; }
+        public Double getMgp() { return mgp; }
+        public String getMention() { return mention; }
+        public Boolean getAdmis() { return admis; }
+        public String getDecisionFinale() { return decisionFinale; }
     }
-}
\ No newline at end of file
+}
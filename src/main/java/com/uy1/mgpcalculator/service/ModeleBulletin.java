@@ -0,0 +1,346 @@
+package com.uy1.mgpcalculator.service;
+
+import com.itextpdf.text.BaseColor;
+import com.itextpdf.text.Document;
+import com.itextpdf.text.DocumentException;
+import com.itextpdf.text.Element;
+import com.itextpdf.text.PageSize;
+import com.itextpdf.text.pdf.BaseFont;
+import com.itextpdf.text.pdf.PdfContentByte;
+import com.itextpdf.text.pdf.PdfWriter;
+import com.uy1.mgpcalculator.model.ResultatMGP;
+import com.uy1.mgpcalculator.model.UE;
+import com.uy1.mgpcalculator.utils.BaremeNotation;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Modèle de mise en page du bulletin MGP, construit une seule fois
+ * Les polices, couleurs, libellés fixes et la géométrie (positions des
+ * colonnes, hauteurs de ligne) sont calculés à la création ; un rendu
+ * ne fait qu'écrire le texte de l'étudiant aux positions prévues, directement
+ * dans le contenu de la page, sans passer par le moteur de tableaux d'iText.
+ * Instance immuable, partagée par tous les threads.
+ *
+ * La mise en page reprend celle des tableaux iText d'origine : marges de
+ * 36 pt, cellules avec 2 pt de marge intérieure et une ligne par point de
+ * police, texte long renvoyé à la ligne sur les espaces.
+ */
+final class ModeleBulletin {
+
+    // Styles partagés (les BaseFont d'iText sont immuables et mis en cache)
+    private static final BaseFont HELVETICA = police(BaseFont.HELVETICA);
+    private static final BaseFont HELVETICA_GRAS = police(BaseFont.HELVETICA_BOLD);
+    private static final BaseFont HELVETICA_GRAS_ITALIQUE = police(BaseFont.HELVETICA_BOLDOBLIQUE);
+
+    private static final BaseColor GRIS_MGP = new BaseColor(220, 220, 220);
+    private static final BaseColor GRIS_DECISION = new BaseColor(240, 240, 240);
+    private static final DateTimeFormatter FORMAT_DATE = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private static final float TAILLE_TEXTE = 10f;
+    private static final float MARGE_CELLULE = 2f;
+    private static final float BORDURE = 0.5f;
+    private static final float HAUTEUR_LIGNE = TAILLE_TEXTE + 2 * MARGE_CELLULE;
+
+    private static final String[] ENTETES_UE = {"UE", "Crédits", "Note", "Côte", "Points Qualité", "Decision"};
+
+    private final float gauche;
+    private final float droite;
+    private final float haut;
+    private final float bas;
+
+    // Colonnes des trois tableaux : abscisse de début et largeur de chaque colonne
+    private final float[] xInfos;
+    private final float[] largeursInfos;
+    private final float[] xUEs;
+    private final float[] largeursUEs;
+    private final float[] xResume;
+    private final float[] largeursResume;
+
+    ModeleBulletin() {
+        float marge = 36f;
+        this.gauche = marge;
+        this.droite = PageSize.A4.getWidth() - marge;
+        this.haut = PageSize.A4.getHeight() - marge;
+        this.bas = marge;
+
+        float largeur = droite - gauche;
+        this.largeursInfos = new float[] {largeur / 3, largeur * 2 / 3};
+        this.xInfos = positions(gauche, largeursInfos);
+
+        this.largeursUEs = new float[ENTETES_UE.length];
+        Arrays.fill(largeursUEs, largeur / ENTETES_UE.length);
+        this.xUEs = positions(gauche, largeursUEs);
+
+        float largeurResume = largeur * 0.6f;
+        this.largeursResume = new float[] {largeurResume / 2, largeurResume / 2};
+        this.xResume = positions(droite - largeurResume, largeursResume);
+    }
+
+    /**
+     * Dessine le bulletin dans un document ouvert (nouvelle page si le contenu déborde)
+     *
+     * @param mgpMax MGP maximal du barème du résultat, null s'il n'est plus disponible
+     */
+    void dessiner(Document document, PdfWriter writer, ResultatMGP resultat, Double mgpMax) throws DocumentException {
+        Rendu rendu = new Rendu(document, writer);
+
+        // Zone fixe : en-tête de l'université
+        rendu.texteCentre("Université de Yaoundé I", HELVETICA_GRAS, 18f, BaseColor.DARK_GRAY, 27f);
+        rendu.texteCentre("Faculté des Sciences", HELVETICA_GRAS_ITALIQUE, 12f, BaseColor.GRAY, 18f);
+        rendu.texteCentre("Bulletin de Notes - Calcul MGP", HELVETICA_GRAS, 16f, BaseColor.BLACK, 24f);
+        rendu.y -= 20f;
+
+        // Informations générales
+        rendu.y -= 10f;
+        ligneEtiquette(rendu, xInfos, largeursInfos, "Étudiant:",
+            resultat.getNomEtudiant() != null ? resultat.getNomEtudiant() : "Non spécifié");
+        ligneEtiquette(rendu, xInfos, largeursInfos, "Date de calcul:", resultat.getDateCalcul().format(FORMAT_DATE));
+        ligneEtiquette(rendu, xInfos, largeursInfos, "Nombre d'UE:", String.valueOf(resultat.getNombreUE()));
+        rendu.y -= 10f;
+
+        // Détail des UE
+        rendu.y -= 15f;
+        rendu.texte("Détail des Unités d'Enseignement", HELVETICA_GRAS, 12f, gauche, 18f);
+        rendu.y -= 10f + 10f;
+        enTeteUEs(rendu);
+        String[] valeurs = new String[ENTETES_UE.length];
+        for (UE ue : resultat.getUes()) {
+            valeurs[0] = ue.getNom();
+            valeurs[1] = String.valueOf(ue.getCredits());
+            valeurs[2] = String.format("%.2f", ue.getNote());
+            valeurs[3] = ue.getCote();
+            valeurs[4] = String.format("%.1f", ue.getQualitePoints());
+            valeurs[5] = ue.getMention();
+            // Une ligne qui déborde passe à la page suivante, sous un rappel des en-têtes
+            if (rendu.reserver(rendu.hauteurLigne(largeursUEs, valeurs, HELVETICA, null))) {
+                enTeteUEs(rendu);
+            }
+            rendu.ligne(xUEs, largeursUEs, valeurs, HELVETICA, BaseColor.BLACK, null, BaseColor.BLACK,
+                Element.ALIGN_LEFT, null);
+        }
+        rendu.y -= 15f;
+
+        // Résumé final, gardé sur une même page
+        rendu.y -= 20f;
+        rendu.reserver(5 * HAUTEUR_LIGNE);
+        ligneEtiquette(rendu, xResume, largeursResume, "Total Crédits:", String.valueOf(resultat.getTotalCredits()));
+        ligneEtiquette(rendu, xResume, largeursResume, "Total Points:", String.format("%.2f", resultat.getTotalPoints()));
+        String mgp = mgpMax != null
+            ? String.format("%.2f/%.2f", resultat.getMgp(), mgpMax)
+            : String.format("%.2f", resultat.getMgp());
+        ligneResume(rendu, "Moyenne Générale (MGP):", mgp, HELVETICA, BaseColor.BLACK, GRIS_MGP);
+        ligneResume(rendu, "Mention Générale:", resultat.getMention(), HELVETICA, BaseColor.BLACK, GRIS_MGP);
+        String decision = resultat.getDecisionFinale();
+        ligneResume(rendu, "Décision Finale:", decision, HELVETICA_GRAS, couleurDecision(decision), GRIS_DECISION);
+    }
+
+    private static BaseColor couleurDecision(String decision) {
+        return switch (decision) {
+            case BaremeNotation.ADMIS -> BaseColor.GREEN;
+            case BaremeNotation.CANT -> BaseColor.ORANGE;
+            default -> BaseColor.RED;
+        };
+    }
+
+    private void enTeteUEs(Rendu rendu) {
+        rendu.ligne(xUEs, largeursUEs, ENTETES_UE, HELVETICA_GRAS, BaseColor.BLACK, BaseColor.LIGHT_GRAY,
+            BaseColor.BLACK, Element.ALIGN_CENTER, null);
+    }
+
+    /**
+     * Ligne étiquette en gras / valeur, bordures gris clair
+     */
+    private void ligneEtiquette(Rendu rendu, float[] x, float[] largeurs, String etiquette, String valeur) {
+        rendu.ligne(x, largeurs, new String[] {etiquette, valeur}, HELVETICA, BaseColor.BLACK, null,
+            BaseColor.LIGHT_GRAY, Element.ALIGN_LEFT, HELVETICA_GRAS);
+    }
+
+    /**
+     * Ligne du résumé dont la valeur est mise en évidence (fond gris, bordure noire)
+     */
+    private void ligneResume(Rendu rendu, String etiquette, String valeur,
+                             BaseFont police, BaseColor couleur, BaseColor fond) {
+        float hauteur = Math.max(rendu.hauteur(etiquette, HELVETICA_GRAS, largeursResume[0]),
+                                 rendu.hauteur(valeur, police, largeursResume[1]));
+        rendu.reserver(hauteur);
+        rendu.cellule(xResume[0], largeursResume[0], hauteur, etiquette, HELVETICA_GRAS, BaseColor.BLACK,
+            null, BaseColor.LIGHT_GRAY, Element.ALIGN_LEFT);
+        rendu.cellule(xResume[1], largeursResume[1], hauteur, valeur, police, couleur,
+            fond, BaseColor.BLACK, Element.ALIGN_LEFT);
+        rendu.y -= hauteur;
+    }
+
+    private static float[] positions(float depart, float[] largeurs) {
+        float[] x = new float[largeurs.length];
+        float courant = depart;
+        for (int i = 0; i < largeurs.length; i++) {
+            x[i] = courant;
+            courant += largeurs[i];
+        }
+        return x;
+    }
+
+    private static BaseFont police(String nom) {
+        try {
+            return BaseFont.createFont(nom, BaseFont.WINANSI, BaseFont.NOT_EMBEDDED);
+        } catch (DocumentException e) {
+            throw new IllegalStateException(e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * État d'un rendu : page courante et position verticale
+     */
+    private final class Rendu {
+        private final Document document;
+        private final PdfWriter writer;
+        private PdfContentByte contenu;
+        private float y = haut;
+
+        private Rendu(Document document, PdfWriter writer) {
+            this.document = document;
+            this.writer = writer;
+            this.contenu = writer.getDirectContent();
+        }
+
+        /**
+         * Passe à la page suivante si la hauteur demandée ne tient pas
+         *
+         * @return true si une nouvelle page a été commencée
+         */
+        private boolean reserver(float hauteur) {
+            if (y - hauteur >= bas || y == haut) {
+                return false;
+            }
+            document.newPage();
+            contenu = writer.getDirectContent();
+            y = haut;
+            return true;
+        }
+
+        private void texteCentre(String texte, BaseFont police, float taille, BaseColor couleur, float interligne) {
+            y -= interligne;
+            contenu.beginText();
+            contenu.setFontAndSize(police, taille);
+            contenu.setColorFill(couleur);
+            contenu.showTextAligned(Element.ALIGN_CENTER, texte, (gauche + droite) / 2, y, 0);
+            contenu.endText();
+        }
+
+        private void texte(String texte, BaseFont police, float taille, float x, float interligne) {
+            reserver(interligne);
+            y -= interligne;
+            contenu.beginText();
+            contenu.setFontAndSize(police, taille);
+            contenu.setColorFill(BaseColor.BLACK);
+            contenu.showTextAligned(Element.ALIGN_LEFT, texte, x, y, 0);
+            contenu.endText();
+        }
+
+        /**
+         * Écrit une ligne de tableau ; la première colonne peut avoir sa propre police
+         */
+        private void ligne(float[] x, float[] largeurs, String[] valeurs, BaseFont police, BaseColor couleur,
+                           BaseColor fond, BaseColor bordure, int alignement, BaseFont policePremiere) {
+            float hauteur = hauteurLigne(largeurs, valeurs, police, policePremiere);
+            reserver(hauteur);
+            for (int i = 0; i < valeurs.length; i++) {
+                BaseFont p = i == 0 && policePremiere != null ? policePremiere : police;
+                cellule(x[i], largeurs[i], hauteur, valeurs[i], p, couleur, fond, bordure, alignement);
+            }
+            y -= hauteur;
+        }
+
+        private float hauteurLigne(float[] largeurs, String[] valeurs, BaseFont police, BaseFont policePremiere) {
+            float hauteur = HAUTEUR_LIGNE;
+            for (int i = 0; i < valeurs.length; i++) {
+                BaseFont p = i == 0 && policePremiere != null ? policePremiere : police;
+                hauteur = Math.max(hauteur, hauteur(valeurs[i], p, largeurs[i]));
+            }
+            return hauteur;
+        }
+
+        private float hauteur(String texte, BaseFont police, float largeur) {
+            if (texte == null || police.getWidthPoint(texte, TAILLE_TEXTE) <= largeur - 2 * MARGE_CELLULE) {
+                return HAUTEUR_LIGNE;
+            }
+            return couper(texte, police, largeur - 2 * MARGE_CELLULE).size() * TAILLE_TEXTE + 2 * MARGE_CELLULE;
+        }
+
+        private void cellule(float x, float largeur, float hauteur, String texte, BaseFont police,
+                             BaseColor couleur, BaseColor fond, BaseColor bordure, int alignement) {
+            float basCellule = y - hauteur;
+            if (fond != null) {
+                contenu.setColorFill(fond);
+                contenu.rectangle(x, basCellule, largeur, hauteur);
+                contenu.fill();
+            }
+            contenu.setLineWidth(BORDURE);
+            contenu.setColorStroke(bordure);
+            contenu.rectangle(x, basCellule, largeur, hauteur);
+            contenu.stroke();
+
+            if (texte == null || texte.isEmpty()) {
+                return;
+            }
+            float utile = largeur - 2 * MARGE_CELLULE;
+            float xTexte = alignement == Element.ALIGN_CENTER ? x + largeur / 2 : x + MARGE_CELLULE;
+            float ligneBase = y - MARGE_CELLULE - TAILLE_TEXTE;
+
+            contenu.beginText();
+            contenu.setFontAndSize(police, TAILLE_TEXTE);
+            contenu.setColorFill(couleur);
+            if (police.getWidthPoint(texte, TAILLE_TEXTE) <= utile) {
+                contenu.showTextAligned(alignement, texte, xTexte, ligneBase, 0);
+            } else {
+                for (String morceau : couper(texte, police, utile)) {
+                    contenu.showTextAligned(alignement, morceau, xTexte, ligneBase, 0);
+                    ligneBase -= TAILLE_TEXTE;
+                }
+            }
+            contenu.endText();
+        }
+
+        /**
+         * Coupe un texte trop long sur les espaces (ou dans un mot plus large que la colonne)
+         */
+        private List<String> couper(String texte, BaseFont police, float largeur) {
+            List<String> lignes = new ArrayList<>(2);
+            int debut = 0;
+            while (debut < texte.length()) {
+                int fin = debut;
+                int dernierEspace = -1;
+                float largeurCourante = 0;
+                while (fin < texte.length()) {
+                    char c = texte.charAt(fin);
+                    float largeurCar = police.getWidthPoint(c, TAILLE_TEXTE);
+                    if (largeurCourante + largeurCar > largeur && fin > debut) {
+                        break;
+                    }
+                    if (c == ' ') {
+                        dernierEspace = fin;
+                    }
+                    largeurCourante += largeurCar;
+                    fin++;
+                }
+                if (fin < texte.length() && dernierEspace > debut) {
+                    fin = dernierEspace;
+                }
+                lignes.add(texte.substring(debut, fin).trim());
+                debut = fin;
+                while (debut < texte.length() && texte.charAt(debut) == ' ') {
+                    debut++;
+                }
+            }
+            return lignes;
+        }
+    }
+}
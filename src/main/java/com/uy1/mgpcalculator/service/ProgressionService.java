@@ -0,0 +1,249 @@
+package com.uy1.mgpcalculator.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.uy1.mgpcalculator.dto.CalculMGPPayload;
+import com.uy1.mgpcalculator.service.CohorteService.LigneCohorte;
+import com.uy1.mgpcalculator.utils.BaremeNotation;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Calcul d'une cohorte suivi en direct (Server-Sent Events)
+ * Le calcul s'exécute dans le pool des travaux en arrière-plan. Les lignes de
+ * résultat ne sont pas envoyées une à une : elles sont regroupées et émises au
+ * plus une fois par intervalle, avec l'avancement (traités, débit, temps restant).
+ * Une cohorte de 50 000 étudiants donne ainsi quelques centaines d'événements.
+ */
+@Service
+public class ProgressionService {
+
+    private final CohorteService cohorteService;
+    private final ThreadPoolExecutor jobExecutor;
+    private final long intervalleNanos;
+    private final int tailleMax;
+    private final Counter evenements;
+    private final Counter lignes;
+    private final Counter rejets;
+
+    public ProgressionService(CohorteService cohorteService,
+                              @Qualifier("jobExecutor") ThreadPoolExecutor jobExecutor,
+                              MeterRegistry registry,
+                              @Value("${mgp.progression.intervalle:250ms}") Duration intervalle,
+                              @Value("${mgp.progression.taille-max:1000}") int tailleMax) {
+        this.cohorteService = cohorteService;
+        this.jobExecutor = jobExecutor;
+        this.intervalleNanos = intervalle.toNanos();
+        this.tailleMax = Math.max(1, tailleMax);
+
+        this.evenements = Counter.builder("mgp.progression.evenements")
+                .description("Événements d'avancement envoyés")
+                .register(registry);
+        this.lignes = Counter.builder("mgp.progression.lignes")
+                .description("Lignes de résultat envoyées, regroupées dans les événements")
+                .register(registry);
+        this.rejets = Counter.builder("mgp.progression.rejets")
+                .description("Calculs suivis refusés, file d'attente pleine")
+                .register(registry);
+    }
+
+    /**
+     * Lance le calcul d'une cohorte dont l'avancement est envoyé à l'émetteur :
+     * événements "progression" (avancement et lignes terminées), puis "fin"
+     * ou "erreur". L'émetteur est toujours terminé, même si le client est parti.
+     *
+     * @param bareme Barème de notation des résultats
+     * @return Le calcul lancé (à annuler si le client se déconnecte), vide si la file d'attente est pleine
+     */
+    public Optional<Future<?>> suivreCalcul(List<CalculMGPPayload> entrees, boolean sauvegarder,
+                                            BaremeNotation bareme, Emetteur emetteur) {
+        try {
+            return Optional.of(jobExecutor.submit(() -> executer(entrees, sauvegarder, bareme, emetteur)));
+        } catch (RejectedExecutionException e) {
+            rejets.increment();
+            return Optional.empty();
+        }
+    }
+
+    private void executer(List<CalculMGPPayload> entrees, boolean sauvegarder,
+                          BaremeNotation bareme, Emetteur emetteur) {
+        try {
+            FluxProgression flux = new FluxProgression(entrees.size(), intervalleNanos, tailleMax,
+                    emetteur, System::nanoTime);
+            try {
+                flux.demarrer();
+                cohorteService.calculerCohorte(entrees, sauvegarder, bareme, flux);
+                flux.terminer();
+            } catch (UncheckedIOException e) {
+                // Client déconnecté : plus rien à lui envoyer
+            } catch (RuntimeException e) {
+                flux.echouer(e);
+            }
+        } finally {
+            emetteur.terminer();
+        }
+    }
+
+    /**
+     * Destination des événements (flux SSE de la réponse)
+     */
+    public interface Emetteur {
+
+        /**
+         * @throws IOException si le client n'est plus joignable
+         */
+        void envoyer(String evenement, Object donnees) throws IOException;
+
+        void terminer();
+    }
+
+    /**
+     * Regroupe les lignes de résultat et limite le rythme des événements
+     * Un événement part quand l'intervalle est écoulé depuis le précédent ou
+     * quand tailleMax lignes attendent (mémoire bornée si le client est lent)
+     */
+    final class FluxProgression implements Consumer<LigneCohorte> {
+        private final int total;
+        private final long intervalleNanos;
+        private final int tailleMax;
+        private final Emetteur emetteur;
+        private final LongSupplier horloge;
+        private List<LigneCohorte> tampon = new ArrayList<>();
+        private long debut;
+        private long dernierEnvoi;
+        private int traites;
+        private int echecs;
+
+        FluxProgression(int total, long intervalleNanos, int tailleMax, Emetteur emetteur, LongSupplier horloge) {
+            this.total = total;
+            this.intervalleNanos = intervalleNanos;
+            this.tailleMax = tailleMax;
+            this.emetteur = emetteur;
+            this.horloge = horloge;
+        }
+
+        /**
+         * Premier événement, sans ligne : le calcul a quitté la file d'attente
+         */
+        void demarrer() {
+            debut = horloge.getAsLong();
+            envoyer(debut);
+        }
+
+        @Override
+        public void accept(LigneCohorte ligne) {
+            traites++;
+            if (ligne.getErreur() != null) {
+                echecs++;
+            }
+            tampon.add(ligne);
+            long maintenant = horloge.getAsLong();
+            if (tampon.size() >= tailleMax || maintenant - dernierEnvoi >= intervalleNanos) {
+                envoyer(maintenant);
+            }
+        }
+
+        void terminer() {
+            long maintenant = horloge.getAsLong();
+            if (!tampon.isEmpty()) {
+                envoyer(maintenant);
+            }
+            emettre("fin", progression(maintenant, null));
+        }
+
+        void echouer(RuntimeException cause) {
+            String message = cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+            try {
+                emettre("erreur", new Erreur(traites, message));
+            } catch (UncheckedIOException e) {
+                // Client déjà parti (calcul annulé à sa déconnexion)
+            }
+        }
+
+        private void envoyer(long maintenant) {
+            List<LigneCohorte> envoyees = tampon;
+            tampon = new ArrayList<>();
+            dernierEnvoi = maintenant;
+            emettre("progression", progression(maintenant, envoyees));
+            lignes.increment(envoyees.size());
+        }
+
+        private void emettre(String evenement, Object donnees) {
+            try {
+                emetteur.envoyer(evenement, donnees);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            evenements.increment();
+        }
+
+        private Progression progression(long maintenant, List<LigneCohorte> resultats) {
+            double secondes = (maintenant - debut) / 1e9;
+            Double debit = secondes > 0 ? traites / secondes : null;
+            Double restant = debit != null && debit > 0 ? (total - traites) / debit : null;
+            return new Progression(traites, total, echecs, debit, restant, resultats);
+        }
+    }
+
+    /**
+     * Avancement du calcul, avec les lignes terminées depuis l'événement précédent
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Progression {
+        private final int traites;
+        private final int total;
+        private final int echecs;
+        private final Double debit;
+        private final Double secondesRestantes;
+        private final List<LigneCohorte> resultats;
+
+        public Progression(int traites, int total, int echecs, Double debit, Double secondesRestantes,
+                           List<LigneCohorte> resultats) {
+            this.traites = traites;
+            this.total = total;
+            this.echecs = echecs;
+            this.debit = debit;
+            this.secondesRestantes = secondesRestantes;
+            this.resultats = resultats;
+        }
+
+        // Getters
+        public int getTraites() { return traites; }
+        public int getTotal() { return total; }
+        public int getEchecs() { return echecs; }
+        /** Étudiants traités par seconde depuis le début du calcul */
+        public Double getDebit() { return debit; }
+        /** Temps restant estimé au débit actuel */
+        public Double getSecondesRestantes() { return secondesRestantes; }
+        public List<LigneCohorte> getResultats() { return resultats; }
+    }
+
+    public static class Erreur {
+        private final int traites;
+        private final String message;
+
+        public Erreur(int traites, String message) {
+            this.traites = traites;
+            this.message = message;
+        }
+
+        public int getTraites() { return traites; }
+        public String getMessage() { return message; }
+    }
+}
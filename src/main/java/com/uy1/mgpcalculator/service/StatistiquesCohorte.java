@@ -0,0 +1,165 @@
+package com.uy1.mgpcalculator.service;
+
+import com.uy1.mgpcalculator.repository.ResultatMGPRepository.AgregatMGP;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Statistiques de l'ensemble des résultats sauvegardés
+ * Construites à partir des effectifs SQL par centième de MGP : la mémoire
+ * utilisée ne dépend pas du nombre de résultats. Le minimum et le maximum
+ * sont exacts ; la moyenne et les percentiles le sont au centième de MGP près.
+ */
+public class StatistiquesCohorte {
+
+    /** MGP maximal, en centièmes */
+    static final int CENTIEME_MAX = 400;
+
+    private static final double[] PERCENTILES = {0.10, 0.25, 0.50, 0.75, 0.90, 0.99};
+
+    private final long nombreResultats;
+    private final Double mgpMoyen;
+    private final Double mgpMin;
+    private final Double mgpMax;
+    private final Double mediane;
+    private final long nombreAdmis;
+    private final long nombreNonAdmis;
+    private final Map<String, Long> parMention;
+    private final Map<String, Double> percentiles;
+    private final List<ClasseMGP> distribution;
+
+    private StatistiquesCohorte(long nombreResultats, Double mgpMoyen, Double mgpMin, Double mgpMax,
+                                long nombreAdmis, long nombreNonAdmis, Map<String, Long> parMention,
+                                Map<String, Double> percentiles, List<ClasseMGP> distribution) {
+        this.nombreResultats = nombreResultats;
+        this.mgpMoyen = mgpMoyen;
+        this.mgpMin = mgpMin;
+        this.mgpMax = mgpMax;
+        this.mediane = percentiles.get("p50");
+        this.nombreAdmis = nombreAdmis;
+        this.nombreNonAdmis = nombreNonAdmis;
+        this.parMention = parMention;
+        this.percentiles = percentiles;
+        this.distribution = distribution;
+    }
+
+    /**
+     * Construit les statistiques à partir des effectifs par centième de MGP
+     *
+     * @param agregats Lignes renvoyées par ResultatMGPRepository.agregerParCentieme()
+     * @param mgpMin Plus petit MGP (null s'il n'y a aucun résultat)
+     * @param mgpMax Plus grand MGP (null s'il n'y a aucun résultat)
+     * @param pasCentiemes Largeur des classes de la distribution, en centièmes de MGP
+     * @return Les statistiques de la cohorte
+     */
+    public static StatistiquesCohorte depuis(List<AgregatMGP> agregats, Double mgpMin, Double mgpMax,
+                                             int pasCentiemes) {
+        if (pasCentiemes < 1 || pasCentiemes > CENTIEME_MAX) {
+            throw new IllegalArgumentException("La largeur des classes doit être comprise entre 0.01 et 4");
+        }
+
+        long[] parCentieme = new long[CENTIEME_MAX + 1];
+        Map<String, Long> parMention = new TreeMap<>();
+        long nombre = 0;
+        long admis = 0;
+
+        for (AgregatMGP agregat : agregats) {
+            long n = agregat.getNombre();
+            nombre += n;
+            if (Boolean.TRUE.equals(agregat.getAdmis())) {
+                admis += n;
+            }
+            parMention.merge(agregat.getMention(), n, Long::sum);
+            parCentieme[Math.max(0, Math.min(agregat.getCentieme(), CENTIEME_MAX))] += n;
+        }
+
+        if (nombre == 0 || mgpMin == null || mgpMax == null) {
+            return new StatistiquesCohorte(0, null, null, null, 0, 0, Collections.emptyMap(),
+                Collections.emptyMap(), distribution(parCentieme, pasCentiemes));
+        }
+
+        // Chaque résultat compte pour le milieu de son centième
+        double somme = 0;
+        for (int c = 0; c <= CENTIEME_MAX; c++) {
+            somme += parCentieme[c] * borner((c + 0.5) / 100.0, mgpMin, mgpMax);
+        }
+        return new StatistiquesCohorte(nombre, borner(somme / nombre, mgpMin, mgpMax), mgpMin, mgpMax,
+            admis, nombre - admis, parMention, percentiles(parCentieme, nombre, mgpMin, mgpMax),
+            distribution(parCentieme, pasCentiemes));
+    }
+
+    /**
+     * Percentiles au rang le plus proche : début du centième qui contient
+     * le rang cherché
+     */
+    private static Map<String, Double> percentiles(long[] parCentieme, long nombre, double mgpMin, double mgpMax) {
+        Map<String, Double> percentiles = new LinkedHashMap<>();
+        int i = 0;
+        long cumul = 0;
+        for (int c = 0; c <= CENTIEME_MAX && i < PERCENTILES.length; c++) {
+            cumul += parCentieme[c];
+            while (i < PERCENTILES.length && parCentieme[c] > 0
+                    && cumul >= (long) Math.ceil(PERCENTILES[i] * nombre)) {
+                percentiles.put("p" + Math.round(PERCENTILES[i] * 100), borner(c / 100.0, mgpMin, mgpMax));
+                i++;
+            }
+        }
+        return percentiles;
+    }
+
+    private static double borner(double valeur, double min, double max) {
+        return Math.max(min, Math.min(max, valeur));
+    }
+
+    private static List<ClasseMGP> distribution(long[] parCentieme, int pas) {
+        int nombreClasses = (CENTIEME_MAX + pas - 1) / pas;
+        long[] effectifs = new long[nombreClasses];
+        for (int c = 0; c <= CENTIEME_MAX; c++) {
+            // Un MGP de 4.0 tombe dans la dernière classe
+            effectifs[Math.min(c / pas, nombreClasses - 1)] += parCentieme[c];
+        }
+
+        List<ClasseMGP> classes = new ArrayList<>(nombreClasses);
+        for (int c = 0; c < nombreClasses; c++) {
+            classes.add(new ClasseMGP(c * pas / 100.0, Math.min((c + 1) * pas, CENTIEME_MAX) / 100.0, effectifs[c]));
+        }
+        return classes;
+    }
+
+    // Getters
+    public long getNombreResultats() { return nombreResultats; }
+    public Double getMgpMoyen() { return mgpMoyen; }
+    public Double getMgpMin() { return mgpMin; }
+    public Double getMgpMax() { return mgpMax; }
+    public Double getMediane() { return mediane; }
+    public long getNombreAdmis() { return nombreAdmis; }
+    public long getNombreNonAdmis() { return nombreNonAdmis; }
+    public Map<String, Long> getParMention() { return parMention; }
+    public Map<String, Double> getPercentiles() { return percentiles; }
+    public List<ClasseMGP> getDistribution() { return distribution; }
+
+    /**
+     * Classe de la distribution des MGP : [borneInf, borneSup)
+     * (la dernière classe inclut 4.0)
+     */
+    public static class ClasseMGP {
+        private final double borneInf;
+        private final double borneSup;
+        private final long nombre;
+
+        ClasseMGP(double borneInf, double borneSup, long nombre) {
+            this.borneInf = borneInf;
+            this.borneSup = borneSup;
+            this.nombre = nombre;
+        }
+
+        public double getBorneInf() { return borneInf; }
+        public double getBorneSup() { return borneSup; }
+        public long getNombre() { return nombre; }
+    }
+}
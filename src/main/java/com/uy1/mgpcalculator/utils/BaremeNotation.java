@@ -0,0 +1,147 @@
+package com.uy1.mgpcalculator.utils;
+
+import java.util.Arrays;
+
+/**
+ * Barème complet d'une faculté ou d'une année : grille des notes d'UE,
+ * mentions générales par tranche de MGP, seuil d'admission et seuil du CANT
+ * Compilé une seule fois, immuable et partagé entre toutes les requêtes.
+ * Le classement des notes reste une lecture de table, quel que soit le barème.
+ */
+public final class BaremeNotation {
+
+    public static final String ADMIS = "ADMIS";
+    /** Crédit Accordé Non Transférable */
+    public static final String CANT = "CANT";
+    public static final String ECHEC = "ECHEC";
+
+    private final String id;
+    private final String libelle;
+    private final GrilleNotation grille;
+    private final double[] seuilsMgp;
+    private final String[] mentionsMgp;
+    private final double mgpMax;
+    private final double mgpAdmission;
+    private final double mgpCant;
+
+    /**
+     * @param id Identifiant du barème (paramètre bareme des requêtes)
+     * @param libelle Libellé affiché
+     * @param grille Grille des notes d'UE, déjà compilée
+     * @param seuilsMgp MGP minimal de chaque mention générale, en ordre strictement croissant, le premier valant 0
+     * @param mentionsMgp Mention générale de chaque tranche de MGP
+     * @param mgpAdmission MGP minimal pour être admis
+     * @param mgpCant MGP minimal pour un CANT (non admis), au plus le seuil d'admission
+     * @throws IllegalArgumentException si le barème est incohérent
+     */
+    public BaremeNotation(String id, String libelle, GrilleNotation grille,
+                          double[] seuilsMgp, String[] mentionsMgp, double mgpAdmission, double mgpCant) {
+        if (id == null || id.isBlank()) {
+            throw new IllegalArgumentException("Le barème doit avoir un identifiant");
+        }
+        if (seuilsMgp == null || seuilsMgp.length == 0 || mentionsMgp == null
+                || mentionsMgp.length != seuilsMgp.length) {
+            throw new IllegalArgumentException("Chaque tranche de MGP doit avoir une mention");
+        }
+        if (seuilsMgp[0] != 0.0) {
+            throw new IllegalArgumentException("Le premier seuil de MGP doit valoir 0");
+        }
+        for (int i = 1; i < seuilsMgp.length; i++) {
+            if (seuilsMgp[i] <= seuilsMgp[i - 1]) {
+                throw new IllegalArgumentException("Les seuils de MGP doivent être strictement croissants");
+            }
+        }
+
+        double max = 0;
+        for (int i = 0; i < grille.getNombreClasses(); i++) {
+            max = Math.max(max, grille.getClassement(i).getQualitePoints());
+        }
+        if (mgpAdmission < 0 || mgpAdmission > max) {
+            throw new IllegalArgumentException("Le seuil d'admission doit être compris entre 0 et " + max);
+        }
+        if (mgpCant < 0 || mgpCant > mgpAdmission) {
+            throw new IllegalArgumentException("Le seuil du CANT doit être compris entre 0 et le seuil d'admission");
+        }
+
+        this.id = id;
+        this.libelle = libelle != null ? libelle : id;
+        this.grille = grille;
+        this.seuilsMgp = seuilsMgp.clone();
+        this.mentionsMgp = mentionsMgp.clone();
+        this.mgpMax = max;
+        this.mgpAdmission = mgpAdmission;
+        this.mgpCant = mgpCant;
+    }
+
+    /**
+     * Mention générale d'un MGP (chaîne partagée, sans allocation)
+     *
+     * @throws IllegalArgumentException si le MGP est hors de [0, MGP maximal du barème]
+     */
+    public String convertirMgpEnMention(double mgp) {
+        if (mgp < 0 || mgp > mgpMax) {
+            throw new IllegalArgumentException("Le MGP doit être compris entre 0 et " + mgpMax);
+        }
+        int tranche = seuilsMgp.length - 1;
+        while (mgp < seuilsMgp[tranche]) {
+            tranche--;
+        }
+        return mentionsMgp[tranche];
+    }
+
+    public boolean isAdmis(double mgp) {
+        return mgp >= mgpAdmission;
+    }
+
+    /**
+     * Décision finale d'un MGP : ADMIS, CANT ou ECHEC
+     */
+    public String decider(double mgp) {
+        return decider(mgp, isAdmis(mgp));
+    }
+
+    /**
+     * Décision finale quand l'admission est déjà connue (résultat enregistré)
+     */
+    public String decider(double mgp, boolean admis) {
+        if (admis) {
+            return ADMIS;
+        }
+        return mgp >= mgpCant ? CANT : ECHEC;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getLibelle() {
+        return libelle;
+    }
+
+    public GrilleNotation getGrille() {
+        return grille;
+    }
+
+    public double getMgpMax() {
+        return mgpMax;
+    }
+
+    public double getMgpAdmission() {
+        return mgpAdmission;
+    }
+
+    public double getMgpCant() {
+        return mgpCant;
+    }
+
+    @Override
+    public String toString() {
+        return "BaremeNotation{" +
+                "id='" + id + '\'' +
+                ", classes=" + grille.getNombreClasses() +
+                ", seuilsMgp=" + Arrays.toString(seuilsMgp) +
+                ", mgpAdmission=" + mgpAdmission +
+                ", mgpCant=" + mgpCant +
+                '}';
+    }
+}
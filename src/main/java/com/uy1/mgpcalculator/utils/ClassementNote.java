@@ -0,0 +1,50 @@
+package com.uy1.mgpcalculator.utils;
+
+/**
+ * Classement d'une note dans une grille de notation
+ * Regroupe la cote, les points de qualité et la mention d'une même tranche
+ * Les instances sont immuables et partagées par toutes les notes de la tranche
+ */
+public final class ClassementNote {
+
+    private final int index;
+    private final String cote;
+    private final double qualitePoints;
+    private final String mention;
+
+    ClassementNote(int index, String cote, double qualitePoints, String mention) {
+        this.index = index;
+        this.cote = cote;
+        this.qualitePoints = qualitePoints;
+        this.mention = mention;
+    }
+
+    /**
+     * Position de la tranche dans la grille (0 = tranche la plus basse)
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    public String getCote() {
+        return cote;
+    }
+
+    public double getQualitePoints() {
+        return qualitePoints;
+    }
+
+    public String getMention() {
+        return mention;
+    }
+
+    @Override
+    public String toString() {
+        return "ClassementNote{" +
+                "index=" + index +
+                ", cote='" + cote + '\'' +
+                ", qualitePoints=" + qualitePoints +
+                ", mention='" + mention + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,108 @@
+package com.uy1.mgpcalculator.utils;
+
+/**
+ * Grille de notation compilée en table d'accès direct
+ * Les notes sont quantifiées au centième : l'index (int) (note × 100) donne
+ * directement la tranche, sans parcourir les seuils. Une correction locale
+ * autour du seuil voisin garantit le même résultat qu'un parcours exact.
+ */
+public final class GrilleNotation {
+
+    /** Quantification des notes : 100 cases par point (pas de 0.01) */
+    private static final int PAS = 100;
+
+    private static final double NOTE_MIN = 0.0;
+    private static final double NOTE_MAX = 100.0;
+
+    private final double[] seuils;
+    private final ClassementNote[] classements;
+    private final byte[] table;
+
+    /**
+     * Compile une grille à partir de ses tranches
+     *
+     * @param seuils Note minimale de chaque tranche, en ordre strictement croissant, la première valant 0
+     * @param cotes Cote de chaque tranche
+     * @param qualitePoints Points de qualité de chaque tranche
+     * @param mentions Mention de chaque tranche
+     * @throws IllegalArgumentException si les tableaux sont incohérents
+     */
+    public GrilleNotation(double[] seuils, String[] cotes, double[] qualitePoints, String[] mentions) {
+        if (seuils == null || seuils.length == 0 || seuils.length > Byte.MAX_VALUE
+                || cotes.length != seuils.length
+                || qualitePoints.length != seuils.length
+                || mentions.length != seuils.length) {
+            throw new IllegalArgumentException("Les tableaux de la grille doivent avoir la même taille");
+        }
+        if (seuils[0] != NOTE_MIN) {
+            throw new IllegalArgumentException("Le premier seuil de la grille doit valoir 0");
+        }
+        for (int i = 1; i < seuils.length; i++) {
+            if (seuils[i] <= seuils[i - 1]) {
+                throw new IllegalArgumentException("Les seuils de la grille doivent être strictement croissants");
+            }
+        }
+
+        this.seuils = seuils.clone();
+        this.classements = new ClassementNote[seuils.length];
+        for (int i = 0; i < seuils.length; i++) {
+            classements[i] = new ClassementNote(i, cotes[i], qualitePoints[i], mentions[i]);
+        }
+
+        // Pré-calcul de la tranche de chaque centième de point
+        this.table = new byte[(int) (NOTE_MAX * PAS) + 1];
+        int classe = 0;
+        for (int i = 0; i < table.length; i++) {
+            double note = (double) i / PAS;
+            while (classe + 1 < seuils.length && note >= seuils[classe + 1]) {
+                classe++;
+            }
+            table[i] = (byte) classe;
+        }
+    }
+
+    /**
+     * Classe une note en une seule lecture de table
+     *
+     * @param note La note sur 100
+     * @return Le classement (cote, points de qualité, mention) de la note
+     * @throws IllegalArgumentException si la note est hors de [0, 100]
+     */
+    public ClassementNote classer(double note) {
+        if (note < NOTE_MIN || note > NOTE_MAX) {
+            throw new IllegalArgumentException("La note doit être comprise entre 0 et 100");
+        }
+        return classements[indexClasse(note)];
+    }
+
+    /**
+     * Donne l'index de tranche d'une note déjà validée
+     * Réservé aux appelants en masse qui ont contrôlé la plage au préalable
+     *
+     * @param note La note sur 100, comprise entre 0 et 100
+     * @return L'index de la tranche
+     */
+    public int indexClasse(double note) {
+        int classe = table[(int) (note * PAS)];
+        // La quantification peut décaler la tranche autour d'un seuil
+        while (classe + 1 < seuils.length && note >= seuils[classe + 1]) {
+            classe++;
+        }
+        while (classe > 0 && note < seuils[classe]) {
+            classe--;
+        }
+        return classe;
+    }
+
+    /**
+     * @param index Index de tranche renvoyé par {@link #indexClasse(double)}
+     * @return Le classement correspondant
+     */
+    public ClassementNote getClassement(int index) {
+        return classements[index];
+    }
+
+    public int getNombreClasses() {
+        return classements.length;
+    }
+}
@@ -0,0 +1,56 @@
+package com.uy1.mgpcalculator.utils;
+
+import java.text.Normalizer;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Classe utilitaire pour la normalisation des noms d'étudiants
+ * Les mots de la forme normalisée servent de clés de recherche indexées
+ */
+public class NomUtils {
+
+    private static final Pattern ACCENTS = Pattern.compile("\\p{M}+");
+    private static final Pattern ESPACES = Pattern.compile("\\s+");
+    private static final Pattern SEPARATEURS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    /**
+     * Normalise un nom : sans accents, en minuscules, espaces réduits
+     * Exemple: "  Éloïse   NGONO " devient "eloise ngono"
+     *
+     * @param nom Le nom à normaliser
+     * @return Le nom normalisé, ou null si le nom est null
+     */
+    public static String normaliser(String nom) {
+        if (nom == null) {
+            return null;
+        }
+
+        String sansAccents = ACCENTS.matcher(Normalizer.normalize(nom, Normalizer.Form.NFD)).replaceAll("");
+        return ESPACES.matcher(sansAccents.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Mots d'un nom normalisé, sans doublon, dans l'ordre du nom
+     * Les mots sont séparés par tout ce qui n'est ni lettre ni chiffre
+     * Exemple: "jean-pierre o'neil" donne [jean, pierre, o, neil]
+     *
+     * @param nomNormalise Le nom normalisé (normaliser), peut être null
+     * @return Les mots du nom, vide si le nom est null ou sans mot
+     */
+    public static List<String> mots(String nomNormalise) {
+        if (nomNormalise == null) {
+            return List.of();
+        }
+        Set<String> mots = new LinkedHashSet<>();
+        for (String mot : SEPARATEURS.split(nomNormalise)) {
+            if (!mot.isEmpty()) {
+                mots.add(mot);
+            }
+        }
+        return List.copyOf(mots);
+    }
+}
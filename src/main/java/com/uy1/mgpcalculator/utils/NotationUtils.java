@@ -18,90 +18,83 @@ public class NotationUtils {
         "Passable", "Passable", "Assez Bien", "Assez Bien", "Bien", "Bien", "Très Bien"
     };
     
+    private static final double[] MGP_SEUILS = {0, 1.0, 1.5, 2.0, 2.5, 3.0, 3.5};
     private static final String[] MENTIONS_MGP = {
         "Échec", "CANT", "Passable", "Assez Bien", "Bien", "Très Bien", "Excellent"
     };
 
+    /** Seuil d'admission à UY1 */
+    private static final double MGP_ADMISSION = 2.0;
+
+    /** Seuil du CANT à UY1 (non admis) */
+    private static final double MGP_CANT = 1.0;
+
+    /**
+     * Grille UY1 compilée une seule fois en table d'accès direct
+     */
+    public static final GrilleNotation GRILLE_UY1 =
+            new GrilleNotation(NOTE_SEUILS, COTES, QUALITE_POINTS, MENTIONS_UE);
+
+    /**
+     * Barème UY1 intégré (grille, mentions générales, admission, CANT), toujours disponible
+     */
+    public static final BaremeNotation BAREME_UY1 = new BaremeNotation(
+            "uy1", "Université de Yaoundé I", GRILLE_UY1, MGP_SEUILS, MENTIONS_MGP, MGP_ADMISSION, MGP_CANT);
+
+    /**
+     * Classe une note selon le système UY1 (cote, points de qualité et mention en une lecture)
+     */
+    public static ClassementNote classerNote(double note) {
+        return GRILLE_UY1.classer(note);
+    }
+
     /**
      * Convertit une note numérique en cote alphabétique selon le système UY1
      */
     public static String convertirNoteEnCote(double note) {
-        if (note < 0 || note > 100) {
-            throw new IllegalArgumentException("La note doit être comprise entre 0 et 100");
-        }
-
-        for (int i = NOTE_SEUILS.length - 1; i >= 0; i--) {
-            if (note >= NOTE_SEUILS[i]) {
-                return COTES[i];
-            }
-        }
-        
-        return "F";
+        return classerNote(note).getCote();
     }
 
     /**
      * Convertit une note numérique en points de qualité selon le système UY1
      */
     public static double convertirNoteEnQualitePoints(double note) {
-        if (note < 0 || note > 100) {
-            throw new IllegalArgumentException("La note doit être comprise entre 0 et 100");
-        }
-
-        for (int i = NOTE_SEUILS.length - 1; i >= 0; i--) {
-            if (note >= NOTE_SEUILS[i]) {
-                return QUALITE_POINTS[i];
-            }
-        }
-        
-        return 0.0;
+        return classerNote(note).getQualitePoints();
     }
 
     /**
      * Convertit une note numérique en mention selon le système UY1
      */
     public static String convertirNoteEnMention(double note) {
-        if (note < 0 || note > 100) {
-            throw new IllegalArgumentException("La note doit être comprise entre 0 et 100");
-        }
-
-        for (int i = NOTE_SEUILS.length - 1; i >= 0; i--) {
-            if (note >= NOTE_SEUILS[i]) {
-                return MENTIONS_UE[i];
-            }
-        }
-        
-        return "Échec";
+        return classerNote(note).getMention();
     }
 
     /**
      * Convertit un MGP en mention générale selon le système UY1
      */
     public static String convertirMgpEnMention(double mgp) {
-        if (mgp < 0 || mgp > 4.0) {
-            throw new IllegalArgumentException("Le MGP doit être compris entre 0 et 4.0");
-        }
-
-        if (mgp < 1.0) return MENTIONS_MGP[0];  // Échec
-        if (mgp < 1.5) return MENTIONS_MGP[1];   // CANT
-        if (mgp < 2.0) return MENTIONS_MGP[2];   // Passable
-        if (mgp < 2.5) return MENTIONS_MGP[3];   // Assez Bien
-        if (mgp < 3.0) return MENTIONS_MGP[4];   // Bien
-        if (mgp < 3.5) return MENTIONS_MGP[5];   // Très Bien
-        return MENTIONS_MGP[6];                  // Excellent
+        return BAREME_UY1.convertirMgpEnMention(mgp);
     }
 
     /**
      * Calcule et met à jour les attributs calculés d'une UE
      */
     public static void calculerAttributsUE(UE ue) {
+        calculerAttributsUE(ue, GRILLE_UY1);
+    }
+
+    /**
+     * Calcule et met à jour les attributs calculés d'une UE selon une grille donnée
+     */
+    public static void calculerAttributsUE(UE ue, GrilleNotation grille) {
         if (ue == null || ue.getNote() == null) {
             throw new IllegalArgumentException("L'UE et sa note ne peuvent pas être null");
         }
 
-        double note = ue.getNote();
-        ue.setCote(convertirNoteEnCote(note));
-        ue.setQualitePoints(convertirNoteEnQualitePoints(note));
-        ue.setMention(convertirNoteEnMention(note));
+        ClassementNote classement = grille.classer(ue.getNote());
+        ue.setCote(classement.getCote());
+        ue.setQualitePoints(classement.getQualitePoints());
+        ue.setMention(classement.getMention());
     }
 
     /**
@@ -0,0 +1,155 @@
+package com.uy1.mgpcalculator.utils;
+
+/**
+ * Noyau de calcul du MGP sur des tableaux primitifs
+ * Un seul parcours donne le MGP, les totaux, le nombre d'UE validées et en
+ * échec, et l'index de tranche de chaque UE. Aucune allocation une fois le
+ * tampon des tranches dimensionné : destiné aux calculs en masse (imports,
+ * cohortes) qui n'ont pas besoin d'entités UE pour chaque étudiant.
+ *
+ * Une instance est réutilisable mais pas thread-safe : une instance par thread.
+ * Les résultats sont ceux de NotationUtils.calculerMGP, au bit près.
+ */
+public final class NoyauMGP {
+
+    /** Note minimale d'une UE validée (voir NotationUtils.isUEValidee) */
+    private static final double NOTE_VALIDATION = 50.0;
+
+    /** Note en dessous de laquelle une UE est en échec (voir NotationUtils.isUEEnEchec) */
+    private static final double NOTE_ECHEC = 35.0;
+
+    private final BaremeNotation bareme;
+    private final GrilleNotation grille;
+    private final double[] qualitePoints;
+
+    private byte[] classes;
+    private int nombreUE;
+    private int totalCredits;
+    private double totalPoints;
+    private double mgp;
+    private int nombreValidees;
+    private int nombreEchecs;
+
+    public NoyauMGP() {
+        this(NotationUtils.BAREME_UY1, 16);
+    }
+
+    /**
+     * @param bareme Barème utilisé pour classer les notes et donner la mention
+     * @param capacite Nombre d'UE prévu par calcul (le tampon grandit au besoin)
+     */
+    public NoyauMGP(BaremeNotation bareme, int capacite) {
+        this.bareme = bareme;
+        this.grille = bareme.getGrille();
+        this.qualitePoints = new double[grille.getNombreClasses()];
+        for (int i = 0; i < qualitePoints.length; i++) {
+            qualitePoints[i] = grille.getClassement(i).getQualitePoints();
+        }
+        this.classes = new byte[Math.max(1, capacite)];
+    }
+
+    /**
+     * Calcule le MGP des nombreUE premières UE
+     * Les résultats restent lisibles jusqu'au calcul suivant
+     *
+     * @param notes Note de chaque UE, sur 100
+     * @param credits Crédits de chaque UE
+     * @param nombreUE Nombre d'UE à prendre en compte
+     * @return Le MGP
+     * @throws IllegalArgumentException si la liste est vide, une note hors de [0, 100] ou des crédits négatifs
+     */
+    public double calculer(double[] notes, byte[] credits, int nombreUE) {
+        if (nombreUE <= 0 || nombreUE > notes.length || nombreUE > credits.length) {
+            throw new IllegalArgumentException("La liste des UE ne peut pas être vide");
+        }
+        if (nombreUE > classes.length) {
+            classes = new byte[Math.max(nombreUE, classes.length * 2)];
+        }
+
+        int sommeCredits = 0;
+        double sommePoints = 0;
+        int validees = 0;
+        int echecs = 0;
+
+        for (int i = 0; i < nombreUE; i++) {
+            double note = notes[i];
+            int creditsUE = credits[i];
+            // Écrit pour rejeter aussi NaN
+            if (!(note >= 0.0 && note <= 100.0)) {
+                throw new IllegalArgumentException("La note doit être comprise entre 0 et 100");
+            }
+            if (creditsUE < 0) {
+                throw new IllegalArgumentException("Toutes les UE doivent avoir une note et des crédits valides");
+            }
+
+            int classe = grille.indexClasse(note);
+            classes[i] = (byte) classe;
+            sommePoints += qualitePoints[classe] * creditsUE;
+            sommeCredits += creditsUE;
+            if (note >= NOTE_VALIDATION) {
+                validees++;
+            } else if (note < NOTE_ECHEC) {
+                echecs++;
+            }
+        }
+
+        this.nombreUE = nombreUE;
+        this.totalCredits = sommeCredits;
+        this.totalPoints = sommePoints;
+        this.mgp = sommeCredits == 0 ? 0.0 : sommePoints / sommeCredits;
+        this.nombreValidees = validees;
+        this.nombreEchecs = echecs;
+        return mgp;
+    }
+
+    public double getMgp() {
+        return mgp;
+    }
+
+    public int getTotalCredits() {
+        return totalCredits;
+    }
+
+    public double getTotalPoints() {
+        return totalPoints;
+    }
+
+    public int getNombreUE() {
+        return nombreUE;
+    }
+
+    public int getNombreValidees() {
+        return nombreValidees;
+    }
+
+    public int getNombreEchecs() {
+        return nombreEchecs;
+    }
+
+    public boolean isAdmis() {
+        return bareme.isAdmis(mgp);
+    }
+
+    /**
+     * Mention générale du dernier calcul (chaîne partagée, sans allocation)
+     */
+    public String getMention() {
+        return bareme.convertirMgpEnMention(mgp);
+    }
+
+    /**
+     * @param ue Position de l'UE dans le dernier calcul
+     * @return L'index de tranche de l'UE dans la grille
+     */
+    public int getClasse(int ue) {
+        return classes[ue];
+    }
+
+    /**
+     * @param ue Position de l'UE dans le dernier calcul
+     * @return Le classement (cote, points de qualité, mention) de l'UE
+     */
+    public ClassementNote getClassement(int ue) {
+        return grille.getClassement(classes[ue]);
+    }
+}
@@ -0,0 +1,157 @@
+// src/test/java/com/uy1/mgpcalculator/controller/MGPControllerTest.java
+package com.uy1.mgpcalculator.controller;
+
+import com.uy1.mgpcalculator.model.UE;
+import com.uy1.mgpcalculator.service.CloisonPdfService;
+import com.uy1.mgpcalculator.service.MGPService;
+import jakarta.servlet.DispatcherType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class MGPControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MGPService mgpService;
+
+    @Autowired
+    @Qualifier("bulletinExecutor")
+    private ThreadPoolExecutor bulletinExecutor;
+
+    @Test
+    public void testHistoriqueCurseurDePageSuivante() throws Exception {
+        Long[] ids = new Long[3];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = mgpService.sauvegarderResultat(mgpService.calculerResultatMGP(
+                List.of(new UE("Java", 6, 50.0 + i)), "Curseur Historique")).getId();
+        }
+
+        // Page pleine : le curseur est le dernier identifiant de la page
+        MvcResult premiere = mockMvc.perform(get("/api/mgp/historique/curseur historique").param("taille", "2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$[0].id").value(ids[2]))
+            .andExpect(header().string(MGPController.EN_TETE_CURSEUR, String.valueOf(ids[1])))
+            .andReturn();
+        String curseur = premiere.getResponse().getHeader(MGPController.EN_TETE_CURSEUR);
+        assertNotNull(curseur);
+
+        // Dernière page, incomplète : pas de curseur
+        mockMvc.perform(get("/api/mgp/historique/curseur historique").param("taille", "2").param("apres", curseur))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$[0].id").value(ids[0]))
+            .andExpect(header().doesNotExist(MGPController.EN_TETE_CURSEUR));
+    }
+
+    @Test
+    public void testBulletinPdfRenduDansLaVoieDesBulletins() throws Exception {
+        Long id = mgpService.sauvegarderResultat(mgpService.calculerResultatMGP(
+            List.of(new UE("Java", 6, 72.0)), "Bulletin Controleur")).getId();
+
+        // Premier rendu dans la voie, écrit dans la réponse une fois la requête asynchrone
+        MvcResult demande = mockMvc.perform(get("/api/mgp/pdf/" + id))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        byte[] pdf = mockMvc.perform(asyncDispatch(demande))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("application/pdf"))
+            .andExpect(header().string("Content-Disposition", containsString("bulletin-Bulletin Controleur.pdf")))
+            .andReturn().getResponse().getContentAsByteArray();
+        assertEquals("%PDF", new String(pdf, 0, 4, StandardCharsets.US_ASCII));
+
+        // Second servi depuis le cache, sans passer par la voie : même document
+        byte[] enCache = mockMvc.perform(get("/api/mgp/pdf/" + id))
+            .andExpect(request().asyncNotStarted())
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("application/pdf"))
+            .andReturn().getResponse().getContentAsByteArray();
+        assertArrayEquals(pdf, enCache);
+
+        mockMvc.perform(get("/api/mgp/pdf/" + (id + 100_000)))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void testBulletinPdfDirectEcritDansLaReponse() throws Exception {
+        String resultat = """
+            {"nomEtudiant": "Bulletin Direct", "mgp": 3.2, "mention": "Très Bien",
+             "totalCredits": 6, "totalPoints": 19.2, "admis": true,
+             "ues": [{"nom": "Java", "credits": 6, "note": 78.0}]}
+            """;
+        MvcResult demande = mockMvc.perform(post("/api/mgp/pdf")
+                .contentType(MediaType.APPLICATION_JSON).content(resultat))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        byte[] pdf = mockMvc.perform(asyncDispatch(demande))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("application/pdf"))
+            .andExpect(header().string("Content-Disposition", containsString("bulletin-temporaire.pdf")))
+            .andReturn().getResponse().getContentAsByteArray();
+        assertEquals("%PDF", new String(pdf, 0, 4, StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void testBulletinRefuseQuandLaVoieEstSaturee() throws Exception {
+        Long id = mgpService.sauvegarderResultat(mgpService.calculerResultatMGP(
+            List.of(new UE("Java", 6, 64.0)), "Voie Saturee")).getId();
+
+        // Threads de la voie occupés et file pleine
+        CountDownLatch liberer = new CountDownLatch(1);
+        try {
+            while (bulletinExecutor.getQueue().remainingCapacity() > 0
+                    || bulletinExecutor.getActiveCount() < bulletinExecutor.getMaximumPoolSize()) {
+                bulletinExecutor.execute(() -> {
+                    try {
+                        liberer.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+
+            MvcResult demande = mockMvc.perform(get("/api/mgp/pdf/" + id))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+            assertInstanceOf(CloisonPdfService.VoieSatureeException.class,
+                WebAsyncUtils.getAsyncManager(demande.getRequest()).getConcurrentResult());
+
+            // Refus transmis sans passer par les intercepteurs que suit asyncDispatch :
+            // la requête est relancée comme le ferait le conteneur
+            mockMvc.perform(contexte -> {
+                    MockHttpServletRequest relance = demande.getRequest();
+                    relance.setDispatcherType(DispatcherType.ASYNC);
+                    relance.setAsyncStarted(false);
+                    return relance;
+                })
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"));
+        } finally {
+            liberer.countDown();
+        }
+    }
+}
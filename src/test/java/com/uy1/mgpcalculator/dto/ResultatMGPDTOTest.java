@@ -0,0 +1,59 @@
+// src/test/java/com/uy1/mgpcalculator/dto/ResultatMGPDTOTest.java
+package com.uy1.mgpcalculator.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.uy1.mgpcalculator.model.ResultatMGP;
+import com.uy1.mgpcalculator.model.UE;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResultatMGPDTOTest {
+
+    private static ResultatMGP resultat() {
+        UE java = new UE("Java", 6, 85.0);
+        java.setId(11L);
+        java.setCote("A");
+        java.setQualitePoints(4.0);
+        java.setMention("Excellent");
+        UE reseaux = new UE("Réseaux", 3, 30.0);
+        UE web = new UE("Web", 3, 45.0);
+        ResultatMGP resultat = new ResultatMGP(List.of(java, reseaux, web), 1.5, "Passable", 12, 18.0, "Awa");
+        resultat.setId(7L);
+        resultat.setVersion(2L);
+        return resultat;
+    }
+
+    @Test
+    public void testValeursDeriveesCalculeesUneFois() {
+        ResultatMGP resultat = resultat();
+        ResultatMGPDTO dto = ResultatMGPDTO.depuis(resultat);
+
+        assertEquals(resultat.getPourcentageReussite(), dto.getPourcentageReussite());
+        assertEquals(1, dto.getNombreUEValidees());
+        assertEquals(1, dto.getNombreUEEnEchec());
+        assertEquals("CANT", dto.getDecisionFinale());
+        assertEquals(resultat.getMgpFormate(), dto.getMgpFormate());
+
+        // La vue ne dépend plus de l'entité une fois construite
+        resultat.getUes().get(1).setNote(90.0);
+        assertEquals(1, dto.getNombreUEValidees());
+        assertEquals(24.0, dto.getUes().get(0).getPointsTotaux());
+    }
+
+    @Test
+    public void testMemeJsonQueLEntite() throws Exception {
+        ObjectMapper mapper = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+        ResultatMGP resultat = resultat();
+
+        assertEquals(mapper.readTree(mapper.writeValueAsString(resultat)),
+                     mapper.readTree(mapper.writeValueAsString(ResultatMGPDTO.depuis(resultat))));
+    }
+}
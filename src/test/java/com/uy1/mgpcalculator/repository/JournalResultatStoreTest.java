@@ -0,0 +1,220 @@
+// src/test/java/com/uy1/mgpcalculator/repository/JournalResultatStoreTest.java
+package com.uy1.mgpcalculator.repository;
+
+import com.uy1.mgpcalculator.model.ResultatMGP;
+import com.uy1.mgpcalculator.model.UE;
+import com.uy1.mgpcalculator.utils.NotationUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JournalResultatStoreTest {
+
+    private static final long TAILLE_SEGMENT = 64 * 1024;
+
+    @TempDir
+    Path repertoire;
+
+    private static ResultatMGP resultat(String nom, double... notes) {
+        List<UE> ues = new ArrayList<>();
+        for (int i = 0; i < notes.length; i++) {
+            ues.add(new UE("Matière " + i, i % 2 == 0 ? 6 : 3, notes[i]));
+        }
+        double mgp = NotationUtils.calculerMGP(ues);
+        int credits = ues.stream().mapToInt(UE::getCredits).sum();
+        double points = ues.stream().mapToDouble(UE::getPointsTotaux).sum();
+        return new ResultatMGP(ues, mgp, NotationUtils.convertirMgpEnMention(mgp), credits, points, nom);
+    }
+
+    @Test
+    public void testSauvegardeEtRecuperation() {
+        ResultatMGP premier;
+        try (JournalResultatStore journal = new JournalResultatStore(repertoire, TAILLE_SEGMENT, true)) {
+            premier = journal.sauvegarder(resultat("Éloïse Ngono", 85, 42.5, 67));
+            journal.sauvegarderTous(List.of(resultat("Paul", 30), resultat("Awa", 55, 61)));
+            assertEquals(1L, premier.getId());
+            assertNotNull(premier.getUes().get(2).getId());
+        }
+
+        try (JournalResultatStore journal = new JournalResultatStore(repertoire, TAILLE_SEGMENT, true)) {
+            assertEquals(3, journal.getNombreRecuperes());
+            assertFalse(journal.isTronque());
+
+            ResultatMGP relu = journal.trouver(1L).orElseThrow();
+            assertEquals("Éloïse Ngono", relu.getNomEtudiant());
+            assertEquals(premier.getMgp(), relu.getMgp());
+            assertEquals(premier.getMention(), relu.getMention());
+            assertEquals(premier.getDateCalcul(), relu.getDateCalcul());
+            assertEquals("uy1", relu.getBaremeId());
+            assertEquals(premier.getDecisionFinale(), relu.getDecisionFinale());
+            assertEquals(3, relu.getUes().size());
+            assertEquals(42.5, relu.getUes().get(1).getNote());
+            assertEquals(premier.getUes().get(1).getCote(), relu.getUes().get(1).getCote());
+
+            assertEquals(List.of(3L, 2L), journal.trouverTous(List.of(2L, 3L, 99L)).stream().map(ResultatMGP::getId).toList());
+            // Les identifiants continuent après ceux du journal relu
+            assertEquals(4L, journal.sauvegarder(resultat("Nouveau", 50)).getId());
+        }
+    }
+
+    @Test
+    public void testNouvelleVersionRemplaceLaPrecedente() {
+        try (JournalResultatStore journal = new JournalResultatStore(repertoire, TAILLE_SEGMENT, false)) {
+            ResultatMGP resultat = journal.sauvegarder(resultat("Version", 40, 60));
+            resultat.getUes().get(0).setNote(90.0);
+            journal.sauvegarder(resultat);
+        }
+        try (JournalResultatStore journal = new JournalResultatStore(repertoire, TAILLE_SEGMENT, false)) {
+            ResultatMGP relu = journal.trouver(1L).orElseThrow();
+            assertEquals(1L, relu.getVersion());
+            assertEquals(90.0, relu.getUes().get(0).getNote());
+            assertEquals(1, journal.getNombreResultats());
+        }
+    }
+
+    @Test
+    public void testEnregistrementInterrompuTronque() throws Exception {
+        try (JournalResultatStore journal = new JournalResultatStore(repertoire, TAILLE_SEGMENT, true)) {
+            journal.sauvegarderTous(List.of(resultat("A", 50), resultat("B", 60), resultat("C", 70)));
+        }
+
+        // Simule une écriture interrompue : le contenu du dernier enregistrement est abîmé
+        Path segment = repertoire.resolve("segment-000000.journal");
+        try (FileChannel canal = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer longueur = ByteBuffer.allocate(4);
+            long offset = 8;
+            for (int i = 0; i < 2; i++) {
+                longueur.clear();
+                canal.read(longueur, offset);
+                offset += 8 + longueur.flip().getInt();
+            }
+            canal.write(ByteBuffer.wrap(new byte[] {0x7F, 0x7F}), offset + 8 + 20);
+        }
+
+        try (JournalResultatStore journal = new JournalResultatStore(repertoire, TAILLE_SEGMENT, true)) {
+            assertTrue(journal.isTronque());
+            assertEquals(2, journal.getNombreRecuperes());
+            assertTrue(journal.trouver(3L).isEmpty());
+            assertEquals(3L, journal.sauvegarder(resultat("C bis", 75)).getId());
+        }
+        try (JournalResultatStore journal = new JournalResultatStore(repertoire, TAILLE_SEGMENT, true)) {
+            assertFalse(journal.isTronque());
+            assertEquals("C bis", journal.trouver(3L).orElseThrow().getNomEtudiant());
+        }
+    }
+
+    @Test
+    public void testPlusieursSegments() throws Exception {
+        try (JournalResultatStore journal = new JournalResultatStore(repertoire, 4096, false)) {
+            for (int i = 0; i < 200; i++) {
+                journal.sauvegarder(resultat("Etudiant " + i, 40 + i % 60, 55, 72, 38));
+            }
+        }
+        try (var fichiers = Files.list(repertoire)) {
+            assertTrue(fichiers.count() > 1);
+        }
+        try (JournalResultatStore journal = new JournalResultatStore(repertoire, 4096, false)) {
+            assertEquals(200, journal.getNombreRecuperes());
+            assertEquals("Etudiant 137", journal.trouver(138L).orElseThrow().getNomEtudiant());
+            assertEquals(4, journal.trouver(200L).orElseThrow().getUes().size());
+        }
+    }
+
+    @Test
+    public void testHistoriqueCorrectionEtStatistiquesApresRedemarrage() {
+        try (JournalResultatStore journal = new JournalResultatStore(repertoire, TAILLE_SEGMENT, true)) {
+            journal.sauvegarder(resultat("Éloïse Ngono", 85, 42.5));
+            journal.sauvegarder(resultat("Paul", 30));
+            journal.sauvegarder(resultat("Eloise Mbarga", 55));
+            journal.sauvegarder(resultat("ELOISE NGONO", 70));
+
+            // Correction : nouvelle version relue, agrégats recalculés par l'appelant
+            ResultatMGP corrige = journal.corrigerUE(2L, journal.trouver(2L).orElseThrow().getUes().get(0).getId(),
+                (resultat, ue) -> {
+                    ue.setNote(90.0);
+                    resultat.setMgp(4.0);
+                    resultat.setMention("Excellent");
+                    resultat.setAdmis(true);
+                }).orElseThrow();
+            assertEquals(1L, corrige.getVersion());
+            assertTrue(journal.corrigerUE(2L, 999L, (resultat, ue) -> fail()).isEmpty());
+            assertTrue(journal.corrigerUE(99L, 1L, (resultat, ue) -> fail()).isEmpty());
+
+            // Changement de nom : l'identifiant quitte l'ancienne liste
+            ResultatMGP renomme = journal.trouver(3L).orElseThrow();
+            renomme.setNomEtudiant("Awa Mbarga");
+            journal.sauvegarder(renomme);
+        }
+
+        try (JournalResultatStore journal = new JournalResultatStore(repertoire, TAILLE_SEGMENT, true)) {
+            // 3 a quitté la liste de « eloise » et rejoint celles de « awa » et « mbarga »
+            assertEquals(List.of(4L, 1L), journal.rechercherIds(List.of("eloise"), Long.MAX_VALUE, 10));
+            assertEquals(List.of(4L), journal.rechercherIds(List.of("eloise", "ngono"), Long.MAX_VALUE, 1));
+            assertEquals(List.of(1L), journal.rechercherIds(List.of("ngono", "eloise"), 4L, 10));
+            assertEquals(List.of(3L), journal.rechercherIds(List.of("awa"), Long.MAX_VALUE, 10));
+            assertEquals(List.of(3L), journal.rechercherIds(List.of("mbarga"), Long.MAX_VALUE, 10));
+            // Un mot au milieu du nom suffit, pas un début de mot
+            assertEquals(List.of(4L, 1L), journal.rechercherIds(List.of("ngono"), Long.MAX_VALUE, 10));
+            assertTrue(journal.rechercherIds(List.of("ngo"), Long.MAX_VALUE, 10).isEmpty());
+            assertTrue(journal.rechercherIds(List.of("ngono", "awa"), Long.MAX_VALUE, 10).isEmpty());
+
+            ResultatMGP paul = journal.trouver(2L).orElseThrow();
+            assertEquals(90.0, paul.getUes().get(0).getNote());
+
+            List<ResultatMGPRepository.AgregatMGP> agregats = journal.agregerParCentieme();
+            assertEquals(4L, agregats.stream().mapToLong(ResultatMGPRepository.AgregatMGP::getNombre).sum());
+            assertEquals(1L, agregats.stream()
+                .filter(a -> a.getCentieme() == 400 && "Excellent".equals(a.getMention()) && a.getAdmis())
+                .mapToLong(ResultatMGPRepository.AgregatMGP::getNombre).sum());
+            assertEquals(4.0, journal.trouverMgpMax((short) 400));
+            assertEquals(4.0, journal.trouverMgpMin((short) 400));
+            assertNull(journal.trouverMgpMin((short) 12));
+        }
+    }
+
+    @Test
+    public void testExtremesDUnCentiemeApresCorrection() {
+        try (JournalResultatStore journal = new JournalResultatStore(repertoire, TAILLE_SEGMENT, true)) {
+            for (double mgp : new double[] {3.101, 3.105, 3.108}) {
+                ResultatMGP resultat = resultat("Centieme", 80);
+                resultat.setMgp(mgp);
+                resultat.setMention("Très bien");
+                resultat.setAdmis(true);
+                journal.sauvegarder(resultat);
+            }
+            assertEquals(3.101, journal.trouverMgpMin((short) 310));
+            assertEquals(3.108, journal.trouverMgpMax((short) 310));
+
+            // Le minimum du centième change de centième et de mention : il est recalculé à la lecture
+            journal.corrigerUE(1L, journal.trouver(1L).orElseThrow().getUes().get(0).getId(), (resultat, ue) -> {
+                resultat.setMgp(2.0);
+                resultat.setMention("Passable");
+                resultat.setAdmis(false);
+            }).orElseThrow();
+            assertEquals(3.105, journal.trouverMgpMin((short) 310));
+            assertEquals(3.108, journal.trouverMgpMax((short) 310));
+            assertEquals(2.0, journal.trouverMgpMax((short) 200));
+        }
+
+        try (JournalResultatStore journal = new JournalResultatStore(repertoire, TAILLE_SEGMENT, true)) {
+            List<ResultatMGPRepository.AgregatMGP> agregats = journal.agregerParCentieme();
+            assertEquals(2, agregats.size());
+            assertTrue(agregats.stream().anyMatch(a -> a.getCentieme() == 310
+                && "Très bien".equals(a.getMention()) && a.getAdmis() && a.getNombre() == 2));
+            assertTrue(agregats.stream().anyMatch(a -> a.getCentieme() == 200
+                && "Passable".equals(a.getMention()) && !a.getAdmis() && a.getNombre() == 1));
+            assertEquals(3.105, journal.trouverMgpMin((short) 310));
+            assertNull(journal.trouverMgpMin((short) 12));
+            assertNull(journal.trouverMgpMin((short) 5000));
+        }
+    }
+}
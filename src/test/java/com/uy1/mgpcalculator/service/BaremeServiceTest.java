@@ -0,0 +1,113 @@
+// src/test/java/com/uy1/mgpcalculator/service/BaremeServiceTest.java
+package com.uy1.mgpcalculator.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.uy1.mgpcalculator.utils.BaremeNotation;
+import com.uy1.mgpcalculator.utils.NotationUtils;
+import com.uy1.mgpcalculator.utils.NoyauMGP;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BaremeServiceTest {
+
+    @TempDir
+    Path repertoire;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private static String bareme(String id, double admission, String coteMax) {
+        return """
+            {"id": "%s", "libelle": "Test",
+             "tranches": [
+               {"seuil": 0,  "cote": "F", "qualitePoints": 0.0, "mention": "Échec"},
+               {"seuil": 50, "cote": "C", "qualitePoints": 2.0, "mention": "Passable"},
+               {"seuil": 80, "cote": "%s", "qualitePoints": 4.0, "mention": "Très Bien"}],
+             "mentionsMgp": [{"seuil": 0, "mention": "Échec"}, {"seuil": 2.0, "mention": "Admis"}],
+             "mgpAdmission": %s}
+            """.formatted(id, coteMax, admission);
+    }
+
+    private BaremeService service(String idDefaut) {
+        return new BaremeService(new ObjectMapper(), registry, repertoire.toString(), idDefaut);
+    }
+
+    private void ecrire(String nom, String contenu, long secondes) throws Exception {
+        Path fichier = repertoire.resolve(nom);
+        Files.writeString(fichier, contenu);
+        Files.setLastModifiedTime(fichier, FileTime.from(Instant.ofEpochSecond(secondes)));
+    }
+
+    @Test
+    public void testSelectionParIdentifiant() throws Exception {
+        ecrire("fs.json", bareme("fs-2025", 2.0, "A"), 1000);
+        BaremeService service = service("uy1");
+
+        assertSame(NotationUtils.BAREME_UY1, service.trouver(null).orElseThrow());
+        assertSame(NotationUtils.BAREME_UY1, service.trouver(" ").orElseThrow());
+        BaremeNotation fs = service.trouver("fs-2025").orElseThrow();
+        assertEquals("C", fs.getGrille().classer(79.99).getCote());
+        assertEquals("Admis", fs.convertirMgpEnMention(2.0));
+        // Sans seuil du CANT dans le fichier, un résultat non admis est en échec
+        assertEquals(BaremeNotation.ECHEC, fs.decider(1.5));
+        assertTrue(service.trouver("inconnu").isEmpty());
+        assertEquals(2, service.lister().size());
+
+        assertThrows(IllegalStateException.class, () -> service("absent"));
+    }
+
+    @Test
+    public void testRechargementSansRedemarrage() throws Exception {
+        ecrire("fs.json", bareme("fs-2025", 2.0, "A"), 1000);
+        BaremeService service = service("uy1");
+        BaremeNotation premiere = service.trouver("fs-2025").orElseThrow();
+
+        // Fichier inchangé : même instance compilée, pas de nouvelle compilation
+        service.recharger();
+        assertSame(premiere, service.trouver("fs-2025").orElseThrow());
+
+        ecrire("fs.json", bareme("fs-2025", 3.0, "A+"), 2000);
+        service.recharger();
+        BaremeNotation modifie = service.trouver("fs-2025").orElseThrow();
+        assertEquals("A+", modifie.getGrille().classer(95).getCote());
+        assertFalse(modifie.isAdmis(2.5));
+
+        // Fichier invalide : la version précédente reste en service
+        ecrire("fs.json", "{\"id\": \"fs-2025\", \"tranches\": [", 3000);
+        service.recharger();
+        assertSame(modifie, service.trouver("fs-2025").orElseThrow());
+        assertEquals(1.0, registry.get("mgp.baremes.chargements").tag("resultat", "erreur").counter().count());
+
+        Files.delete(repertoire.resolve("fs.json"));
+        service.recharger();
+        assertTrue(service.trouver("fs-2025").isEmpty());
+        assertEquals(2.0, registry.get("mgp.baremes.chargements").tag("resultat", "succes").counter().count());
+    }
+
+    @Test
+    public void testExempleLivreIdentiqueAUY1SaufAdmission() throws Exception {
+        Files.copy(Paths.get("config/baremes/uy1-admission-2-5.json"), repertoire.resolve("exemple.json"));
+        BaremeNotation exemple = service("uy1").trouver("uy1-admission-2-5").orElseThrow();
+
+        NoyauMGP uy1 = new NoyauMGP(NotationUtils.BAREME_UY1, 1);
+        NoyauMGP noyau = new NoyauMGP(exemple, 1);
+        for (int centiemes = 0; centiemes <= 10_000; centiemes++) {
+            double[] note = {centiemes / 100.0};
+            byte[] credits = {6};
+            assertEquals(uy1.calculer(note, credits, 1), noyau.calculer(note, credits, 1));
+            assertEquals(uy1.getClassement(0).getCote(), noyau.getClassement(0).getCote());
+        }
+        assertTrue(NotationUtils.BAREME_UY1.isAdmis(2.3));
+        assertFalse(exemple.isAdmis(2.3));
+        assertEquals(BaremeNotation.CANT, exemple.decider(2.3));
+        assertEquals(BaremeNotation.ECHEC, exemple.decider(0.9));
+    }
+}
@@ -0,0 +1,118 @@
+// src/test/java/com/uy1/mgpcalculator/service/BulletinCacheServiceTest.java
+package com.uy1.mgpcalculator.service;
+
+import com.uy1.mgpcalculator.model.ResultatMGP;
+import com.uy1.mgpcalculator.model.UE;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class BulletinCacheServiceTest {
+
+    private PDFService pdfService;
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        pdfService = mock(PDFService.class);
+        registry = new SimpleMeterRegistry();
+        when(pdfService.genererBulletinMGP(any())).thenAnswer(invocation -> new byte[100]);
+    }
+
+    private static ResultatMGP resultat(long id, long version) {
+        ResultatMGP resultat = new ResultatMGP(List.of(new UE("Java", 6, 85.0)), 4.0, "Excellent", 6, 24.0, "Test");
+        resultat.setId(id);
+        resultat.setVersion(version);
+        return resultat;
+    }
+
+    private double regroupements() {
+        return registry.get("mgp.pdf.cache.regroupements").functionCounter().count();
+    }
+
+    @Test
+    public void testSuccesEtVersionPerimee() throws Exception {
+        BulletinCacheService cache = new BulletinCacheService(pdfService, registry, DataSize.ofKilobytes(1));
+
+        byte[] premier = cache.obtenirBulletin(resultat(1, 0));
+        assertSame(premier, cache.obtenirBulletin(resultat(1, 0)));
+        verify(pdfService, times(1)).genererBulletinMGP(any());
+
+        // Nouvelle version du résultat : le bulletin est régénéré
+        cache.obtenirBulletin(resultat(1, 1));
+        verify(pdfService, times(2)).genererBulletinMGP(any());
+        assertEquals(1, cache.getNombreEntrees());
+        assertEquals(100, cache.getTailleOctets());
+        assertEquals(1.0, registry.get("mgp.pdf.cache.requetes").tag("resultat", "hit").functionCounter().count());
+    }
+
+    @Test
+    public void testEvictionSelonBudget() throws Exception {
+        BulletinCacheService cache = new BulletinCacheService(pdfService, registry, DataSize.ofBytes(250));
+
+        cache.obtenirBulletin(resultat(1, 0));
+        cache.obtenirBulletin(resultat(2, 0));
+        cache.obtenirBulletin(resultat(1, 0)); // 1 devient le plus récemment lu
+        cache.obtenirBulletin(resultat(3, 0)); // évince 2
+
+        assertEquals(2, cache.getNombreEntrees());
+        assertEquals(200, cache.getTailleOctets());
+        assertEquals(1.0, registry.get("mgp.pdf.cache.evictions").functionCounter().count());
+
+        cache.obtenirBulletin(resultat(1, 0));
+        verify(pdfService, times(3)).genererBulletinMGP(any());
+    }
+
+    @Test
+    public void testDemandesSimultaneesRegroupees() throws Exception {
+        CountDownLatch demarre = new CountDownLatch(1);
+        CountDownLatch libere = new CountDownLatch(1);
+        when(pdfService.genererBulletinMGP(any())).thenAnswer(invocation -> {
+            demarre.countDown();
+            libere.await(5, TimeUnit.SECONDS);
+            return new byte[100];
+        });
+        // Budget plus petit que le PDF : rien n'est mis en cache, seul le regroupement évite une génération
+        BulletinCacheService cache = new BulletinCacheService(pdfService, registry, DataSize.ofBytes(50));
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<byte[]>> demandes = new ArrayList<>();
+            demandes.add(executor.submit(() -> cache.obtenirBulletin(resultat(7, 0))));
+            assertTrue(demarre.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < 3; i++) {
+                demandes.add(executor.submit(() -> cache.obtenirBulletin(resultat(7, 0))));
+            }
+            // Attend que les trois demandes suivantes aient rejoint la génération en cours
+            long limite = System.currentTimeMillis() + 5000;
+            while (regroupements() < 3 && System.currentTimeMillis() < limite) {
+                Thread.sleep(10);
+            }
+            assertEquals(3.0, regroupements());
+            libere.countDown();
+
+            byte[] premier = demandes.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<byte[]> demande : demandes) {
+                assertSame(premier, demande.get(5, TimeUnit.SECONDS));
+            }
+            verify(pdfService, times(1)).genererBulletinMGP(any());
+            assertEquals(0, cache.getNombreEntrees());
+            assertEquals(4.0, registry.get("mgp.pdf.cache.requetes").tag("resultat", "miss").functionCounter().count());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+// src/test/java/com/uy1/mgpcalculator/service/CloisonPdfServiceTest.java
+package com.uy1.mgpcalculator.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.AsyncTaskExecutor;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CloisonPdfServiceTest {
+
+    private SimpleMeterRegistry registry;
+    private ThreadPoolExecutor executor;
+    private CloisonPdfService cloison;
+
+    @BeforeEach
+    public void setUp() {
+        registry = new SimpleMeterRegistry();
+        // Un rendu à la fois, un seul en attente
+        executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1));
+        cloison = new CloisonPdfService(executor, registry);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testRefusQuandLaFileEstPleine() throws Exception {
+        AsyncTaskExecutor voie = cloison.getVoie();
+        CountDownLatch demarre = new CountDownLatch(1);
+        CountDownLatch liberer = new CountDownLatch(1);
+        Future<String> enCours = voie.submit(() -> {
+            demarre.countDown();
+            liberer.await();
+            return "premier";
+        });
+        assertTrue(demarre.await(5, TimeUnit.SECONDS));
+        Future<String> enAttente = voie.submit(() -> "second");
+
+        assertEquals(1.0, registry.get("mgp.pdf.requetes.file").gauge().value());
+        assertEquals(1.0, registry.get("mgp.pdf.requetes.actifs").gauge().value());
+        assertThrows(CloisonPdfService.VoieSatureeException.class, () -> voie.submit(() -> "refusé"));
+        assertEquals(1.0, registry.get("mgp.pdf.requetes.rejets").counter().count());
+
+        liberer.countDown();
+        assertEquals("premier", enCours.get(5, TimeUnit.SECONDS));
+        assertEquals("second", enAttente.get(5, TimeUnit.SECONDS));
+        assertEquals(2, registry.get("mgp.pdf.requetes.attente").timer().count());
+        assertEquals("suivant", voie.submit(() -> "suivant").get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testEchecDuRenduTransmis() {
+        Future<byte[]> fin = cloison.getVoie().submit(() -> {
+            throw new IOException("Police illisible");
+        });
+
+        ExecutionException erreur = assertThrows(ExecutionException.class, () -> fin.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IOException.class, erreur.getCause());
+    }
+}
@@ -0,0 +1,127 @@
+// src/test/java/com/uy1/mgpcalculator/service/ExportBulletinServiceTest.java
+package com.uy1.mgpcalculator.service;
+
+import com.uy1.mgpcalculator.model.ResultatMGP;
+import com.uy1.mgpcalculator.model.UE;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class ExportBulletinServiceTest {
+
+    private MGPService mgpService;
+    private PDFService pdfService;
+    private ExecutorService executor;
+    private ExportBulletinService exportService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        mgpService = mock(MGPService.class);
+        pdfService = mock(PDFService.class);
+        executor = Executors.newFixedThreadPool(2);
+        exportService = new ExportBulletinService(mgpService, pdfService, executor, 4);
+
+        // Résultats 1 à 100 ; les autres identifiants sont inconnus
+        when(mgpService.trouverResultats(anyCollection())).thenAnswer(invocation -> {
+            List<ResultatMGP> trouves = new ArrayList<>();
+            for (Long id : (Collection<Long>) invocation.getArgument(0)) {
+                if (id <= 100) {
+                    trouves.add(resultat(id));
+                }
+            }
+            return trouves;
+        });
+        when(pdfService.genererBulletinMGP(any(ResultatMGP.class))).thenAnswer(invocation -> {
+            ResultatMGP resultat = invocation.getArgument(0);
+            if (resultat.getId() == 7) {
+                throw new IllegalStateException("Police introuvable");
+            }
+            return ("%PDF-" + resultat.getId()).getBytes(StandardCharsets.US_ASCII);
+        });
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private static ResultatMGP resultat(long id) {
+        ResultatMGP resultat = new ResultatMGP(List.of(new UE("Java", 6, 85.0)), 4.0, "Excellent", 6, 24.0, "Awa Ndiaye");
+        resultat.setId(id);
+        return resultat;
+    }
+
+    private static Map<String, String> lireArchive(byte[] archive) throws Exception {
+        Map<String, String> entrees = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(archive))) {
+            for (ZipEntry entree; (entree = zip.getNextEntry()) != null; ) {
+                assertNull(entrees.put(entree.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8)),
+                    "Entrée en double : " + entree.getName());
+            }
+        }
+        return entrees;
+    }
+
+    @Test
+    public void testIdentifiantsRepetesEtInconnus() throws Exception {
+        // 1 à 60, puis 1 et 55 répétés dans une autre page de 50, et deux inconnus
+        List<Long> ids = new ArrayList<>();
+        for (long id = 1; id <= 60; id++) {
+            ids.add(id);
+        }
+        ids.addAll(List.of(1L, 55L, 500L, 501L, 500L));
+        int[] traites = new int[2];
+
+        ByteArrayOutputStream sortie = new ByteArrayOutputStream();
+        int ecrits = exportService.exporterArchive(ids, null, sortie,
+            genere -> traites[genere ? 0 : 1]++);
+
+        Map<String, String> entrees = lireArchive(sortie.toByteArray());
+        // 60 résultats distincts, dont le 7 en erreur
+        assertEquals(59, ecrits);
+        assertEquals(60, entrees.size());
+        assertEquals("%PDF-55", entrees.get("bulletin-55-awa-ndiaye.pdf"));
+        assertFalse(entrees.containsKey("bulletin-7-awa-ndiaye.pdf"));
+
+        String erreurs = entrees.get("erreurs.txt");
+        assertNotNull(erreurs);
+        assertTrue(erreurs.contains("7 : erreur de génération"));
+        assertTrue(erreurs.contains("500 : introuvable"));
+        assertTrue(erreurs.contains("501 : introuvable"));
+        assertEquals(4, erreurs.lines().count());
+
+        // Chaque identifiant distinct est signalé une fois (total d'un travail d'export)
+        assertEquals(59, traites[0]);
+        assertEquals(3, traites[1]);
+        assertEquals(62, ExportBulletinService.identifiantsDistincts(ids).size());
+    }
+
+    @Test
+    public void testSansErreurPasDeFichierErreurs() throws Exception {
+        ByteArrayOutputStream sortie = new ByteArrayOutputStream();
+        assertEquals(2, exportService.exporterArchive(List.of(3L, 4L, 3L), null, sortie));
+
+        Map<String, String> entrees = lireArchive(sortie.toByteArray());
+        assertEquals(List.of("bulletin-3-awa-ndiaye.pdf", "bulletin-4-awa-ndiaye.pdf"),
+            entrees.keySet().stream().sorted().toList());
+        verify(mgpService, times(1)).trouverResultats(List.of(3L, 4L));
+    }
+}
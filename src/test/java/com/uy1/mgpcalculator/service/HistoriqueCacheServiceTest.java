@@ -0,0 +1,90 @@
+// src/test/java/com/uy1/mgpcalculator/service/HistoriqueCacheServiceTest.java
+package com.uy1.mgpcalculator.service;
+
+import com.uy1.mgpcalculator.dto.ResultatMGPDTO;
+import com.uy1.mgpcalculator.model.ResultatMGP;
+import com.uy1.mgpcalculator.model.UE;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HistoriqueCacheServiceTest {
+
+    private SimpleMeterRegistry registry;
+    private AtomicInteger lectures;
+
+    @BeforeEach
+    public void setUp() {
+        registry = new SimpleMeterRegistry();
+        lectures = new AtomicInteger();
+    }
+
+    private List<ResultatMGPDTO> page() {
+        lectures.incrementAndGet();
+        ResultatMGP resultat = new ResultatMGP(List.of(new UE("Java", 6, 85.0)), 4.0, "Excellent", 6, 24.0, "Awa");
+        return List.of(ResultatMGPDTO.depuis(resultat));
+    }
+
+    private double requetes(String resultat) {
+        return registry.get("mgp.historique.cache.requetes").tag("resultat", resultat).functionCounter().count();
+    }
+
+    @Test
+    public void testInvalidationParMots() {
+        HistoriqueCacheService cache = new HistoriqueCacheService(registry, 100);
+        List<ResultatMGPDTO> premiere = cache.obtenir("awa", null, 20, this::page);
+        cache.obtenir("ngono awa", null, 20, this::page);
+        cache.obtenir("awa n", null, 20, this::page);
+        cache.obtenir("awa", 500L, 20, this::page);
+        cache.obtenir("paul", null, 20, this::page);
+
+        assertSame(premiere, cache.obtenir("awa", null, 20, this::page));
+        assertEquals(5, lectures.get());
+        assertEquals(1, requetes("hit"));
+        assertEquals(5, requetes("miss"));
+
+        // « awa ngono » contient tous les mots de « awa » et de « ngono awa », pas « n » ni « paul »
+        cache.invalider(List.of("awa ngono"));
+        assertEquals(2, cache.getNombreEntrees());
+        cache.obtenir("paul", null, 20, this::page);
+        cache.obtenir("awa n", null, 20, this::page);
+        cache.obtenir("awa", null, 20, this::page);
+        assertEquals(6, lectures.get());
+        assertEquals(3, registry.get("mgp.historique.cache.invalidations").functionCounter().count());
+    }
+
+    @Test
+    public void testLectureConcurrenteDUneSauvegardeNonConservee() {
+        HistoriqueCacheService cache = new HistoriqueCacheService(registry, 100);
+        // Sauvegarde validée pendant la lecture en base : la page lue est peut-être déjà périmée
+        cache.obtenir("awa", null, 20, () -> {
+            List<ResultatMGPDTO> page = page();
+            cache.invalider(List.of("awa"));
+            return page;
+        });
+        assertEquals(0, cache.getNombreEntrees());
+        cache.obtenir("awa", null, 20, this::page);
+        assertEquals(1, cache.getNombreEntrees());
+    }
+
+    @Test
+    public void testEvictionDesMoinsRecemmentLues() {
+        HistoriqueCacheService cache = new HistoriqueCacheService(registry, 2);
+        cache.obtenir("a", null, 20, this::page);
+        cache.obtenir("b", null, 20, this::page);
+        cache.obtenir("a", null, 20, this::page);
+        cache.obtenir("c", null, 20, this::page);
+
+        assertEquals(2, cache.getNombreEntrees());
+        cache.obtenir("a", null, 20, this::page);
+        assertEquals(3, lectures.get());
+        cache.obtenir("b", null, 20, this::page);
+        assertEquals(4, lectures.get());
+        assertEquals(2, registry.get("mgp.historique.cache.evictions").functionCounter().count());
+    }
+}
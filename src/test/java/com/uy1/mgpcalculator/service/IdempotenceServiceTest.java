@@ -0,0 +1,148 @@
+// src/test/java/com/uy1/mgpcalculator/service/IdempotenceServiceTest.java
+package com.uy1.mgpcalculator.service;
+
+import com.uy1.mgpcalculator.dto.ResultatMGPDTO;
+import com.uy1.mgpcalculator.model.ResultatMGP;
+import com.uy1.mgpcalculator.model.UE;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IdempotenceServiceTest {
+
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    public void setUp() {
+        registry = new SimpleMeterRegistry();
+    }
+
+    private static ResultatMGPDTO resultat(long id) {
+        ResultatMGP resultat = new ResultatMGP(List.of(new UE("Java", 6, 85.0)), 4.0, "Excellent", 6, 24.0, "Test");
+        resultat.setId(id);
+        return ResultatMGPDTO.depuis(resultat);
+    }
+
+    private double requetes(String resultat) {
+        return registry.get("mgp.idempotence.requetes").tag("resultat", resultat).functionCounter().count();
+    }
+
+    @Test
+    public void testCleCanonique() {
+        IdempotenceService service = new IdempotenceService(registry, Duration.ofMinutes(10), 100);
+        List<UE> ues = List.of(new UE("Java", 6, 85.0), new UE("Réseaux", 3, 62.5));
+        List<UE> memesUesAutreOrdre = List.of(new UE(" Réseaux ", 3, 62.5), new UE("Java", 6, 85.0));
+
+        String cle = service.empreinte(ues, "Éloïse Ngono", true, "uy1");
+        assertEquals(cle, service.empreinte(memesUesAutreOrdre, " Éloïse Ngono ", true, "uy1"));
+        // Le nom est conservé tel que saisi dans le résultat : une autre graphie est une autre demande
+        assertNotEquals(cle, service.empreinte(ues, "Eloise Ngono", true, "uy1"));
+        assertNotEquals(cle, service.empreinte(ues, "Éloïse Ngono", false, "uy1"));
+        assertNotEquals(cle, service.empreinte(List.of(new UE("Java", 6, 85.5), new UE("Réseaux", 3, 62.5)), "Éloïse Ngono", true, "uy1"));
+        assertNotEquals(cle, service.empreinte(ues, "Éloïse Ngono", true, "fs-2025"));
+        assertEquals("cle:abc", service.construireCle(" abc ", cle));
+        assertEquals(cle, service.construireCle(" ", cle));
+    }
+
+    @Test
+    public void testDemandeRepeteeServieSansRecalcul() {
+        IdempotenceService service = new IdempotenceService(registry, Duration.ofMinutes(10), 100);
+        AtomicInteger calculs = new AtomicInteger();
+
+        ResultatMGPDTO premier = service.executer("a", "a", () -> resultat(calculs.incrementAndGet()));
+        ResultatMGPDTO second = service.executer("a", "a", () -> resultat(calculs.incrementAndGet()));
+
+        assertSame(premier, second);
+        assertEquals(1, calculs.get());
+        assertEquals(1.0, requetes("hit"));
+        assertEquals(1.0, requetes("miss"));
+    }
+
+    @Test
+    public void testExpirationEtTailleMax() throws Exception {
+        IdempotenceService expirant = new IdempotenceService(registry, Duration.ofMillis(20), 100);
+        ResultatMGPDTO premier = expirant.executer("a", "a", () -> resultat(1));
+        Thread.sleep(50);
+        assertNotSame(premier, expirant.executer("a", "a", () -> resultat(2)));
+
+        IdempotenceService borne = new IdempotenceService(new SimpleMeterRegistry(), Duration.ofMinutes(10), 2);
+        ResultatMGPDTO ancien = borne.executer("a", "a", () -> resultat(1));
+        borne.executer("b", "b", () -> resultat(2));
+        borne.executer("c", "c", () -> resultat(3));
+        assertEquals(2, borne.getNombreEntrees());
+        assertNotSame(ancien, borne.executer("a", "a", () -> resultat(4)));
+    }
+
+    @Test
+    public void testEchecNonConserveEtInvalidation() {
+        IdempotenceService service = new IdempotenceService(registry, Duration.ofMinutes(10), 100);
+        assertThrows(IllegalArgumentException.class,
+            () -> service.executer("a", "a", () -> { throw new IllegalArgumentException("UE invalide"); }));
+        assertEquals(7L, service.executer("a", "a", () -> resultat(7)).getId());
+
+        // Une correction du résultat 7 rend la demande à nouveau calculable
+        service.invaliderResultat(7L);
+        assertEquals(0, service.getNombreEntrees());
+    }
+
+    @Test
+    public void testDemandesSimultaneesPartagentLeCalcul() throws Exception {
+        IdempotenceService service = new IdempotenceService(registry, Duration.ofMinutes(10), 100);
+        AtomicInteger calculs = new AtomicInteger();
+        CountDownLatch enCours = new CountDownLatch(1);
+        CountDownLatch liberer = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<ResultatMGPDTO> premier = executor.submit(() -> service.executer("a", "a", () -> {
+                calculs.incrementAndGet();
+                enCours.countDown();
+                try {
+                    liberer.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return resultat(1);
+            }));
+            assertTrue(enCours.await(5, TimeUnit.SECONDS));
+
+            Future<ResultatMGPDTO> second = executor.submit(() -> service.executer("a", "a", () -> resultat(calculs.incrementAndGet())));
+            Future<ResultatMGPDTO> troisieme = executor.submit(() -> service.executer("a", "a", () -> resultat(calculs.incrementAndGet())));
+            liberer.countDown();
+
+            assertSame(premier.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+            assertSame(premier.get(), troisieme.get(5, TimeUnit.SECONDS));
+            assertEquals(1, calculs.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testCleReutiliseeAvecUnAutreContenu() {
+        IdempotenceService service = new IdempotenceService(registry, Duration.ofMinutes(10), 100);
+        String empreinte = service.empreinte(List.of(new UE("Java", 6, 85.0)), "Awa", true, "uy1");
+        String autre = service.empreinte(List.of(new UE("Java", 6, 15.0)), "Awa", true, "uy1");
+        String cle = service.construireCle("paiement-1", empreinte);
+
+        ResultatMGPDTO premier = service.executer(cle, empreinte, () -> resultat(1));
+        assertSame(premier, service.executer(cle, empreinte, () -> resultat(2)));
+        assertThrows(IdempotenceService.DemandeDifferenteException.class,
+            () -> service.executer(service.construireCle("paiement-1", autre), autre, () -> resultat(3)));
+        assertEquals(1.0, requetes("hit"));
+        assertEquals(1.0, requetes("miss"));
+        assertNotEquals(registry.get("mgp.idempotence.requetes").tag("resultat", "hit").functionCounter().getId().getDescription(),
+            registry.get("mgp.idempotence.requetes").tag("resultat", "miss").functionCounter().getId().getDescription());
+    }
+}
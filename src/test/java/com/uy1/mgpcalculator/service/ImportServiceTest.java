@@ -0,0 +1,150 @@
+// src/test/java/com/uy1/mgpcalculator/service/ImportServiceTest.java
+package com.uy1.mgpcalculator.service;
+
+import com.uy1.mgpcalculator.model.ResultatMGP;
+import com.uy1.mgpcalculator.model.UE;
+import com.uy1.mgpcalculator.utils.NotationUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+public class ImportServiceTest {
+
+    private MGPService mgpService;
+    private List<Integer> tailleLots;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        mgpService = mock(MGPService.class);
+        tailleLots = new ArrayList<>();
+        AtomicLong sequence = new AtomicLong();
+        when(mgpService.sauvegarderResultats(anyList())).thenAnswer(invocation -> {
+            List<ResultatMGP> lot = invocation.getArgument(0);
+            tailleLots.add(lot.size());
+            lot.forEach(resultat -> resultat.setId(sequence.incrementAndGet()));
+            return new ArrayList<>(lot);
+        });
+    }
+
+    private List<ImportService.LigneImport> importer(String csv, int tailleLot, ImportService.BilanImport[] bilan) throws Exception {
+        ImportService service = new ImportService(mgpService, new SimpleMeterRegistry(), tailleLot);
+        List<ImportService.LigneImport> lignes = new ArrayList<>();
+        bilan[0] = service.importer(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), true,
+                NotationUtils.BAREME_UY1, lignes::add);
+        return lignes;
+    }
+
+    @Test
+    public void testRegroupementParEtudiant() throws Exception {
+        String csv = """
+            Awa,Java,6,85
+            Awa,Réseaux,3,42.5
+            Paul,Java,6,30
+            "Ngono, Éloïse",Java,6,72
+            "Ngono, Éloïse",Bases de données,3,55
+            """;
+        ImportService.BilanImport[] bilan = new ImportService.BilanImport[1];
+        List<ImportService.LigneImport> lignes = importer(csv, 2, bilan);
+
+        assertEquals(List.of("Awa", "Paul", "Ngono, Éloïse"),
+            lignes.stream().map(ImportService.LigneImport::getNomEtudiant).toList());
+        assertEquals(List.of(1L, 2L, 3L), lignes.stream().map(ImportService.LigneImport::getId).toList());
+        assertEquals(List.of(2, 1), tailleLots);
+
+        double attendu = NotationUtils.calculerMGP(List.of(new UE("Java", 6, 85.0), new UE("Réseaux", 3, 42.5)));
+        assertEquals(attendu, lignes.get(0).getMgp());
+        assertEquals(2, lignes.get(0).getNombreUE());
+        assertEquals(1, lignes.get(0).getUeValidees());
+        assertEquals(1, lignes.get(1).getUeEchecs());
+        assertEquals(4, lignes.get(2).getLigne());
+
+        assertEquals(5, bilan[0].getLignes());
+        assertEquals(3, bilan[0].getEtudiants());
+        assertEquals(3, bilan[0].getResultatsSauvegardes());
+    }
+
+    @Test
+    public void testEnTeteEtPointVirgule() throws Exception {
+        String csv = "\uFEFFNote;Crédits;UE;Étudiant\n12,5;3;Java;Awa\n80;6;Réseaux;Awa\n";
+        ImportService.BilanImport[] bilan = new ImportService.BilanImport[1];
+        List<ImportService.LigneImport> lignes = importer(csv, 10, bilan);
+
+        assertEquals(1, lignes.size());
+        assertEquals(9, lignes.get(0).getTotalCredits());
+        assertEquals(NotationUtils.calculerMGP(List.of(new UE("Java", 3, 12.5), new UE("Réseaux", 6, 80.0))),
+            lignes.get(0).getMgp());
+        assertEquals(2, bilan[0].getLignes());
+    }
+
+    @Test
+    public void testLigneInvalideEcarteSeulementSonEtudiant() throws Exception {
+        String csv = """
+            Awa,Java,6,85
+            Paul,Java,6,130
+            Paul,Réseaux,3,60
+            Marie,Java,4,50
+            Zoé,Java,6,abc
+            Luc
+            Jean,Java,6,65
+            """;
+        ImportService.BilanImport[] bilan = new ImportService.BilanImport[1];
+        List<ImportService.LigneImport> lignes = importer(csv, 100, bilan);
+
+        List<String> erreurs = lignes.stream()
+            .filter(ligne -> ligne.getErreur() != null)
+            .map(ligne -> ligne.getLigne() + ":" + ligne.getNomEtudiant())
+            .toList();
+        assertEquals(List.of("2:Paul", "2:Paul", "4:Marie", "4:Marie", "5:Zoé", "6:Zoé", "5:Zoé"), erreurs);
+        assertEquals(List.of("Awa", "Jean"), lignes.stream()
+            .filter(ligne -> ligne.getErreur() == null)
+            .map(ImportService.LigneImport::getNomEtudiant)
+            .toList());
+
+        assertEquals(7, bilan[0].getLignes());
+        assertEquals(4, bilan[0].getLignesRejetees());
+        assertEquals(5, bilan[0].getEtudiants());
+        assertEquals(3, bilan[0].getEtudiantsRejetes());
+        verify(mgpService, times(1)).sauvegarderResultats(anyList());
+    }
+
+    @Test
+    public void testLignesNonConsecutivesRejetees() throws Exception {
+        String csv = """
+            Awa,Java,6,85
+            Paul,Java,6,30
+            Awa,Réseaux,3,42.5
+            AWA ,Bases de données,3,60
+            Paul,Réseaux,3,70
+            Marie,Java,6,55
+            """;
+        ImportService.BilanImport[] bilan = new ImportService.BilanImport[1];
+        List<ImportService.LigneImport> lignes = importer(csv, 100, bilan);
+
+        // Un seul résultat par étudiant, calculé avec ses lignes consécutives
+        assertEquals(List.of("Awa", "Paul", "Marie"), lignes.stream()
+            .filter(ligne -> ligne.getErreur() == null)
+            .map(ImportService.LigneImport::getNomEtudiant)
+            .toList());
+        assertEquals(1, lignes.get(0).getNombreUE());
+        assertEquals(List.of(3, 4, 5), lignes.stream()
+            .filter(ligne -> ligne.getErreur() != null)
+            .map(ImportService.LigneImport::getLigne)
+            .toList());
+
+        assertEquals(6, bilan[0].getLignes());
+        assertEquals(3, bilan[0].getLignesRejetees());
+        assertEquals(3, bilan[0].getEtudiants());
+        assertEquals(3, bilan[0].getResultatsSauvegardes());
+    }
+}
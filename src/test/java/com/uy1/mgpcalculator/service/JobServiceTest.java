@@ -0,0 +1,142 @@
+// src/test/java/com/uy1/mgpcalculator/service/JobServiceTest.java
+package com.uy1.mgpcalculator.service;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.uy1.mgpcalculator.dto.CalculMGPPayload;
+import com.uy1.mgpcalculator.model.ResultatMGP;
+import com.uy1.mgpcalculator.model.UE;
+import com.uy1.mgpcalculator.utils.NotationUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class JobServiceTest {
+
+    @TempDir
+    Path repertoire;
+
+    private CohorteService cohorteService;
+    private ExportBulletinService exportService;
+    private ThreadPoolExecutor executor;
+    private JobService jobService;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        cohorteService = mock(CohorteService.class);
+        exportService = mock(ExportBulletinService.class);
+        // Un seul travail à la fois, un seul en attente
+        executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1));
+        jobService = new JobService(cohorteService, exportService, JsonMapper.builder().findAndAddModules().build(), executor,
+            new SimpleMeterRegistry(), repertoire.toString(), Duration.ofHours(1));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private static List<CalculMGPPayload> cohorte(int taille) {
+        return Collections.nCopies(taille, new CalculMGPPayload());
+    }
+
+    private static void attendreFin(JobService.Job job) throws InterruptedException {
+        long limite = System.currentTimeMillis() + 5000;
+        while (job.getFin() == null && System.currentTimeMillis() < limite) {
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testCalculSuiviEtResultat() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<CohorteService.LigneCohorte> sortie = invocation.getArgument(3);
+            ResultatMGP resultat = new ResultatMGP(List.of(new UE("Java", 6, 85.0)), 4.0, "Excellent", 6, 24.0, "Awa");
+            sortie.accept(CohorteService.LigneCohorte.succes(0, resultat));
+            sortie.accept(CohorteService.LigneCohorte.erreur(1, "Paul", "Liste d'UE invalide"));
+            sortie.accept(CohorteService.LigneCohorte.succes(2, resultat));
+            return null;
+        }).when(cohorteService).calculerCohorte(anyList(), eq(false), any(), any(Consumer.class));
+
+        JobService.Job job = jobService.soumettreCalcul(cohorte(3), false, NotationUtils.BAREME_UY1).orElseThrow();
+        attendreFin(job);
+
+        assertEquals(JobService.StatutJob.TERMINE, job.getStatut());
+        assertEquals(3, job.getTraites());
+        assertEquals(1, job.getEchecs());
+        assertEquals(3L, job.getTotal());
+        assertNotNull(job.getDebit());
+
+        List<String> lignes = Files.readAllLines(job.resultat().orElseThrow());
+        assertEquals(3, lignes.size());
+        assertTrue(lignes.get(1).contains("Liste d'UE invalide"));
+        assertSame(job, jobService.trouver(job.getId()).orElseThrow());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testFilePleineEtAnnulation() throws Exception {
+        CountDownLatch demarre = new CountDownLatch(1);
+        CountDownLatch liberer = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            demarre.countDown();
+            liberer.await();
+            return null;
+        }).when(cohorteService).calculerCohorte(anyList(), anyBoolean(), any(), any(Consumer.class));
+        when(exportService.exporterArchive(anyList(), any(), any(OutputStream.class),
+                any(ExportBulletinService.Progression.class))).thenReturn(0);
+
+        JobService.Job enCours = jobService.soumettreCalcul(cohorte(1), true, NotationUtils.BAREME_UY1).orElseThrow();
+        assertTrue(demarre.await(5, TimeUnit.SECONDS));
+        JobService.Job enAttente = jobService.soumettreBulletins(List.of(1L, 2L), null).orElseThrow();
+        assertEquals(JobService.StatutJob.EN_ATTENTE, enAttente.getStatut());
+        assertEquals(2L, enAttente.getTotal());
+
+        // File pleine : refus immédiat
+        assertTrue(jobService.soumettreBulletins(List.of(3L), null).isEmpty());
+
+        // L'annulation du travail en attente libère sa place
+        assertTrue(jobService.supprimer(enAttente.getId()));
+        assertTrue(jobService.trouver(enAttente.getId()).isEmpty());
+        assertTrue(jobService.soumettreBulletins(List.of(3L), null).isPresent());
+
+        liberer.countDown();
+        attendreFin(enCours);
+        assertEquals(JobService.StatutJob.TERMINE, enCours.getStatut());
+        assertTrue(enAttente.resultat().isEmpty());
+    }
+
+    @Test
+    public void testEchecDuTravail() throws Exception {
+        when(exportService.exporterArchive(anyList(), any(), any(OutputStream.class),
+                any(ExportBulletinService.Progression.class))).thenThrow(new IllegalStateException("Base indisponible"));
+
+        JobService.Job job = jobService.soumettreBulletins(List.of(1L), null).orElseThrow();
+        attendreFin(job);
+
+        assertEquals(JobService.StatutJob.ECHEC, job.getStatut());
+        assertEquals("Base indisponible", job.getErreur());
+        assertTrue(job.resultat().isEmpty());
+        try (var fichiers = Files.list(repertoire)) {
+            assertEquals(0, fichiers.count());
+        }
+    }
+}
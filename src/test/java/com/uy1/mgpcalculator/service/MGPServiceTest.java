@@ -0,0 +1,243 @@
+// src/test/java/com/uy1/mgpcalculator/service/MGPServiceTest.java
+package com.uy1.mgpcalculator.service;
+
+import com.uy1.mgpcalculator.dto.ResultatMGPDTO;
+import com.uy1.mgpcalculator.model.ResultatMGP;
+import com.uy1.mgpcalculator.model.UE;
+import com.uy1.mgpcalculator.repository.JournalResultatStore;
+import com.uy1.mgpcalculator.repository.ResultatMGPRepository;
+import com.uy1.mgpcalculator.utils.BaremeNotation;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class MGPServiceTest {
+
+    @Autowired
+    private MGPService mgpService;
+
+    @Autowired
+    private ResultatMGPRepository resultatRepository;
+
+    @Autowired
+    private BaremeService baremeService;
+
+    private static List<UE> ues(double... notes) {
+        List<UE> ues = new ArrayList<>();
+        for (int i = 0; i < notes.length; i++) {
+            ues.add(new UE("UE " + i, i % 2 == 0 ? 6 : 3, notes[i]));
+        }
+        return ues;
+    }
+
+    @Test
+    public void testCorrectionIncrementaleIdentiqueAuRecalcul() {
+        ResultatMGP resultat = mgpService.sauvegarderResultat(
+            mgpService.calculerResultatMGP(ues(45, 72, 38, 91, 55, 63), "Correction Test"));
+        long version = resultat.getVersion();
+
+        double[] corrections = {85, 12, 49.5, 100, 0, 67.3};
+        List<UE> attendues = ues(45, 72, 38, 91, 55, 63);
+        MGPService.CorrectionUE derniere = null;
+        for (int i = 0; i < corrections.length; i++) {
+            UE ue = resultat.getUes().get(i);
+            Integer credits = i == 1 ? 6 : null;
+            derniere = mgpService.corrigerUE(resultat.getId(), ue.getId(), corrections[i], credits).orElseThrow();
+
+            attendues.get(i).setNote(corrections[i]);
+            if (credits != null) {
+                attendues.get(i).setCredits(credits);
+            }
+        }
+
+        ResultatMGP recalcule = mgpService.calculerResultatMGP(attendues, "Correction Test");
+        assertEquals(recalcule.getMgp(), derniere.getMgp(), 1e-9);
+        assertEquals(recalcule.getTotalCredits(), derniere.getTotalCredits());
+        assertEquals(recalcule.getTotalPoints(), derniere.getTotalPoints(), 1e-9);
+        assertEquals(recalcule.getMention(), derniere.getMention());
+        assertEquals(recalcule.getAdmis(), derniere.getAdmis());
+        assertEquals(version + corrections.length, derniere.getVersion());
+    }
+
+    @Test
+    public void testCorrectionRefusee() {
+        ResultatMGP resultat = mgpService.sauvegarderResultat(
+            mgpService.calculerResultatMGP(ues(50, 60), "Autre Test"));
+        Long ueId = resultat.getUes().get(0).getId();
+
+        assertThrows(IllegalArgumentException.class,
+            () -> mgpService.corrigerUE(resultat.getId(), ueId, 120.0, null));
+        assertThrows(IllegalArgumentException.class,
+            () -> mgpService.corrigerUE(resultat.getId(), ueId, 50.0, 4));
+        // UE d'un autre résultat ou résultat inexistant
+        assertTrue(mgpService.corrigerUE(resultat.getId() + 1000, ueId, 50.0, null).isEmpty());
+        assertTrue(mgpService.corrigerUE(resultat.getId(), ueId + 1000, 50.0, null).isEmpty());
+    }
+
+    @Test
+    public void testStatistiquesIdentiquesAuCalculEnMemoire() {
+        Random aleatoire = new Random(7);
+        List<ResultatMGP> resultats = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            double[] notes = new double[1 + aleatoire.nextInt(8)];
+            for (int j = 0; j < notes.length; j++) {
+                notes[j] = aleatoire.nextInt(1001) / 10.0;
+            }
+            resultats.add(mgpService.calculerResultatMGP(ues(notes), "Statistiques " + i));
+        }
+        mgpService.sauvegarderResultats(resultats);
+
+        StatistiquesCohorte statistiques = mgpService.calculerStatistiques(25);
+
+        List<ResultatMGP> tous = resultatRepository.findAll();
+        double[] mgps = tous.stream().mapToDouble(ResultatMGP::getMgp).sorted().toArray();
+        assertEquals(tous.size(), statistiques.getNombreResultats());
+        assertEquals(tous.stream().filter(ResultatMGP::getAdmis).count(), statistiques.getNombreAdmis());
+        assertEquals(tous.stream().filter(r -> "Bien".equals(r.getMention())).count(),
+            statistiques.getParMention().getOrDefault("Bien", 0L));
+        assertEquals(mgps[0], statistiques.getMgpMin());
+        assertEquals(mgps[mgps.length - 1], statistiques.getMgpMax());
+        assertEquals(Arrays.stream(mgps).average().orElseThrow(), statistiques.getMgpMoyen(), 0.005);
+        assertEquals(tous.size(), statistiques.getDistribution().stream().mapToLong(StatistiquesCohorte.ClasseMGP::getNombre).sum());
+        assertEquals(16, statistiques.getDistribution().size());
+
+        // Percentile au rang le plus proche, exact au centième près
+        double mediane = mgps[(int) Math.ceil(0.5 * mgps.length) - 1];
+        assertEquals(ResultatMGP.centieme(mediane), ResultatMGP.centieme(statistiques.getMediane()));
+        // Borne basse du centième : jamais au-dessus de la valeur exacte (1.86 peut valoir 1.8599999999999999)
+        assertTrue(statistiques.getMediane() <= mediane + 1e-9, statistiques.getMediane() + " > " + mediane);
+
+        assertThrows(IllegalArgumentException.class, () -> mgpService.calculerStatistiques(0));
+    }
+
+    @Test
+    public void testHistoriqueParMotsEtPagesParCle() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(mgpService.sauvegarderResultat(
+                mgpService.calculerResultatMGP(ues(60 + i), "Éloïse Pagination " + i)).getId());
+        }
+        mgpService.sauvegarderResultat(mgpService.calculerResultatMGP(ues(60), "Autre Pagination"));
+
+        // Pages de 2, du plus récent au plus ancien, chaque curseur reprenant après le dernier id lu
+        List<Long> lus = new ArrayList<>();
+        Long curseur = null;
+        for (int page = 0; page < 3; page++) {
+            List<ResultatMGP> resultats = mgpService.rechercherHistorique("ELOISE pagination", curseur, 2);
+            assertEquals(page < 2 ? 2 : 1, resultats.size());
+            resultats.forEach(r -> lus.add(r.getId()));
+            curseur = resultats.get(resultats.size() - 1).getId();
+        }
+        assertTrue(mgpService.rechercherHistorique("eloise pagination", curseur, 2).isEmpty());
+        Collections.reverse(ids);
+        assertEquals(ids, lus);
+
+        // Mots entiers dans n'importe quel ordre, y compris au milieu du nom
+        assertEquals(6, mgpService.rechercherHistorique("pagination", null, 10).size());
+        assertEquals(5, mgpService.rechercherHistorique("Pagination Éloïse", null, 10).size());
+        assertEquals(List.of(ids.get(0)), mgpService.rechercherHistorique("4 pagination", null, 10)
+            .stream().map(ResultatMGP::getId).toList());
+        // Un début de mot ne suffit pas, la ponctuation sépare les mots
+        assertTrue(mgpService.rechercherHistorique("pagin", null, 10).isEmpty());
+        assertTrue(mgpService.rechercherHistorique("%", null, 10).isEmpty());
+        assertEquals(5, mgpService.rechercherHistorique("eloise_pagination", null, 10).size());
+    }
+
+    @Test
+    public void testHistoriqueEnCacheInvalideParLesEcritures() {
+        ResultatMGP premier = mgpService.sauvegarderResultat(
+            mgpService.calculerResultatMGP(ues(70), "Historique Cache"));
+
+        List<ResultatMGPDTO> page = mgpService.consulterHistorique("historique cache", null, 10);
+        assertEquals(1, page.size());
+        assertSame(page, mgpService.consulterHistorique("Historique Cache", null, 10));
+
+        // Sauvegarde d'un autre étudiant : la page reste en cache
+        mgpService.sauvegarderResultat(mgpService.calculerResultatMGP(ues(70), "Autre Historique"));
+        assertSame(page, mgpService.consulterHistorique("historique cache", null, 10));
+
+        // Sauvegarde (par lot) d'un nom correspondant au préfixe : page relue
+        mgpService.sauvegarderResultats(List.of(
+            mgpService.calculerResultatMGP(ues(20), "Historique Cache Bis")));
+        page = mgpService.consulterHistorique("historique cache", null, 10);
+        assertEquals(2, page.size());
+
+        // Correction d'une note : page relue avec le nouveau MGP
+        mgpService.corrigerUE(premier.getId(), premier.getUes().get(0).getId(), 95.0, null);
+        page = mgpService.consulterHistorique("historique cache", null, 10);
+        assertEquals(4.0, page.stream().filter(r -> r.getId().equals(premier.getId())).findFirst().orElseThrow().getMgp());
+    }
+
+    @Test
+    public void testBaremeChoisiParCalculEtCorrection() {
+        BaremeNotation strict = baremeService.trouver("uy1-admission-2-5").orElseThrow();
+
+        // MGP 2.3 : admis avec UY1 (seuil 2.0), pas avec le barème à 2.5
+        assertTrue(mgpService.calculerResultatMGP(ues(57), "Bareme UY1").getAdmis());
+        ResultatMGP resultat = mgpService.sauvegarderResultat(
+            mgpService.calculerResultatMGP(ues(57), "Bareme Strict", strict));
+        assertFalse(resultat.getAdmis());
+        assertEquals("CANT", resultat.getDecisionFinale());
+        assertEquals("Assez Bien", resultat.getMention());
+
+        assertEquals("uy1-admission-2-5", resultat.getBaremeId());
+
+        // Les corrections suivent le barème enregistré avec le résultat
+        Long ueId = resultat.getUes().get(0).getId();
+        MGPService.CorrectionUE correction = mgpService.corrigerUE(resultat.getId(), ueId, 62.0, null).orElseThrow();
+        assertEquals(2.7, correction.getMgp(), 1e-9);
+        assertTrue(correction.getAdmis());
+        assertEquals("Bien", correction.getMention());
+
+        correction = mgpService.corrigerUE(resultat.getId(), ueId, 57.0, null).orElseThrow();
+        assertFalse(correction.getAdmis());
+        ResultatMGP relu = mgpService.trouverResultat(resultat.getId()).orElseThrow();
+        assertEquals("CANT", relu.getDecisionFinale());
+        assertEquals("uy1-admission-2-5", relu.getBaremeId());
+    }
+
+    @Test
+    public void testHistoriqueCorrectionEtStatistiquesAvecLeJournal(@TempDir Path repertoire) {
+        Long id;
+        Long ueId;
+        try (JournalResultatStore journal = new JournalResultatStore(repertoire, 64 * 1024, false)) {
+            MGPService service = new MGPService(journal, baremeService,
+                new HistoriqueCacheService(new SimpleMeterRegistry(), 100), new SimpleMeterRegistry());
+            ResultatMGP resultat = service.sauvegarderResultat(service.calculerResultatMGP(ues(45, 72), "Journal Test"));
+            service.sauvegarderResultat(service.calculerResultatMGP(ues(20), "Journal Autre"));
+            id = resultat.getId();
+            ueId = resultat.getUes().get(0).getId();
+            assertEquals(1L, service.corrigerUE(id, ueId, 57.0, null).orElseThrow().getVersion());
+            assertTrue(service.corrigerUE(id, ueId + 1000, 57.0, null).isEmpty());
+        }
+
+        // Après redémarrage : historique, correction et statistiques relus depuis le journal
+        try (JournalResultatStore journal = new JournalResultatStore(repertoire, 64 * 1024, false)) {
+            MGPService service = new MGPService(journal, baremeService,
+                new HistoriqueCacheService(new SimpleMeterRegistry(), 100), new SimpleMeterRegistry());
+            List<ResultatMGP> historique = service.rechercherHistorique("journal test", null, 10);
+            assertEquals(1, historique.size());
+            assertEquals(57.0, historique.get(0).getUes().get(0).getNote());
+
+            MGPService.CorrectionUE correction = service.corrigerUE(id, ueId, 100.0, null).orElseThrow();
+            assertEquals(2L, correction.getVersion());
+            assertEquals(correction.getMgp(), service.trouverResultat(id).orElseThrow().getMgp());
+
+            StatistiquesCohorte statistiques = service.calculerStatistiques(25);
+            assertEquals(2, statistiques.getNombreResultats());
+            assertEquals(correction.getMgp(), statistiques.getMgpMax());
+        }
+    }
+}
@@ -0,0 +1,109 @@
+// src/test/java/com/uy1/mgpcalculator/service/PDFServiceTest.java
+package com.uy1.mgpcalculator.service;
+
+import com.itextpdf.text.pdf.PdfReader;
+import com.itextpdf.text.pdf.parser.PdfTextExtractor;
+import com.uy1.mgpcalculator.model.ResultatMGP;
+import com.uy1.mgpcalculator.model.UE;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PDFServiceTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private PDFService pdfService;
+
+    @BeforeEach
+    public void setUp(@TempDir Path repertoire) throws Exception {
+        // Barème sur 5 : MGP 2.5 admis, CANT dès 1.5
+        Files.writeString(repertoire.resolve("sur-5.json"), """
+            {"id": "sur-5", "libelle": "Sur 5",
+             "tranches": [
+               {"seuil": 0,  "cote": "F", "qualitePoints": 0.0, "mention": "Échec"},
+               {"seuil": 50, "cote": "C", "qualitePoints": 2.5, "mention": "Passable"},
+               {"seuil": 80, "cote": "A", "qualitePoints": 5.0, "mention": "Très Bien"}],
+             "mentionsMgp": [{"seuil": 0, "mention": "Échec"}, {"seuil": 2.5, "mention": "Admis"}],
+             "mgpAdmission": 2.5, "mgpCant": 1.5}
+            """);
+        BaremeService baremeService = new BaremeService(new ObjectMapper(), registry, repertoire.toString(), "uy1");
+        pdfService = new PDFService(baremeService, registry);
+    }
+
+    private static String texte(byte[] pdf) throws Exception {
+        PdfReader reader = new PdfReader(pdf);
+        StringBuilder texte = new StringBuilder();
+        for (int page = 1; page <= reader.getNumberOfPages(); page++) {
+            texte.append(PdfTextExtractor.getTextFromPage(reader, page)).append('\n');
+        }
+        reader.close();
+        return texte.toString();
+    }
+
+    @Test
+    public void testContenuDuBulletin() throws Exception {
+        List<UE> ues = List.of(
+            new UE("Programmation orientée objet avancée et génie logiciel", 6, 85.0),
+            new UE("Réseaux", 3, 30.0));
+        ResultatMGP resultat = new ResultatMGP(ues, 2.67, "Assez Bien", 9, 24.0, "Awa Ngono");
+        resultat.setAdmis(true);
+
+        byte[] pdf = pdfService.genererBulletinMGP(resultat);
+        String texte = texte(pdf);
+
+        assertEquals(1, new PdfReader(pdf).getNumberOfPages());
+        for (String attendu : List.of("Université de Yaoundé I", "Bulletin de Notes - Calcul MGP",
+                "Awa Ngono", "Points Qualité", "Réseaux", String.format("%.2f", 85.0),
+                String.format("%.2f/4.00", 2.67), "Assez Bien", "ADMIS")) {
+            assertTrue(texte.contains(attendu), attendu);
+        }
+        // Nom d'UE trop long pour sa colonne : renvoyé à la ligne, sans perte
+        assertTrue(texte.contains("Programmation") && texte.contains("orientée objet") && texte.contains("logiciel"), texte);
+        assertEquals(1, registry.get("mgp.pdf.taille").summary().count());
+        assertEquals(pdf.length, registry.get("mgp.pdf.taille").summary().totalAmount());
+    }
+
+    @Test
+    public void testPaginationAvecBeaucoupDUE() throws Exception {
+        List<UE> ues = new ArrayList<>();
+        for (int i = 1; i <= 80; i++) {
+            ues.add(new UE("UE " + i, 3, 60.0));
+        }
+        ResultatMGP resultat = new ResultatMGP(ues, 1.5, "Passable", 240, 360.0, "Paul");
+
+        byte[] pdf = pdfService.genererBulletinMGP(resultat);
+        String texte = texte(pdf);
+
+        assertTrue(new PdfReader(pdf).getNumberOfPages() >= 2);
+        assertTrue(texte.contains("UE 1\n") || texte.contains("UE 1 "), texte);
+        assertTrue(texte.contains("UE 80"));
+        assertTrue(texte.contains("CANT"));
+    }
+
+    @Test
+    public void testEchelleEtDecisionDuBaremeDuResultat() throws Exception {
+        ResultatMGP resultat = new ResultatMGP(List.of(new UE("Analyse", 6, 45.0)), 2.0, "Échec", 6, 12.0, "Awa");
+        resultat.setBaremeId("sur-5");
+        resultat.setAdmis(false);
+        resultat.setDecisionFinale("CANT");
+
+        String texte = texte(pdfService.genererBulletinMGP(resultat));
+        assertTrue(texte.contains(String.format("%.2f/%.2f", 2.0, 5.0)), texte);
+        assertTrue(texte.contains("CANT"), texte);
+        assertFalse(texte.contains("/4.00"), texte);
+
+        // Barème retiré depuis le calcul : MGP sans échelle
+        resultat.setBaremeId("retire");
+        texte = texte(pdfService.genererBulletinMGP(resultat));
+        assertTrue(texte.contains(String.format("%.2f", 2.0)) && !texte.contains(String.format("%.2f/", 2.0)), texte);
+    }
+}
@@ -0,0 +1,188 @@
+// src/test/java/com/uy1/mgpcalculator/service/ProgressionServiceTest.java
+package com.uy1.mgpcalculator.service;
+
+import com.uy1.mgpcalculator.dto.CalculMGPPayload;
+import com.uy1.mgpcalculator.model.ResultatMGP;
+import com.uy1.mgpcalculator.model.UE;
+import com.uy1.mgpcalculator.service.CohorteService.LigneCohorte;
+import com.uy1.mgpcalculator.utils.NotationUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class ProgressionServiceTest {
+
+    private static final long MILLI = 1_000_000L;
+
+    private CohorteService cohorteService;
+    private ThreadPoolExecutor executor;
+    private SimpleMeterRegistry registry;
+    private ProgressionService service;
+
+    @BeforeEach
+    public void setUp() {
+        cohorteService = mock(CohorteService.class);
+        // Un seul calcul à la fois, un seul en attente
+        executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1));
+        registry = new SimpleMeterRegistry();
+        service = new ProgressionService(cohorteService, executor, registry, Duration.ofMillis(250), 100);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private static LigneCohorte ligne(int index) {
+        ResultatMGP resultat = new ResultatMGP(List.of(new UE("Java", 6, 85.0)), 4.0, "Excellent", 6, 24.0, "Awa");
+        return index % 10 == 0
+            ? LigneCohorte.erreur(index, "Paul", "Liste d'UE invalide")
+            : LigneCohorte.succes(index, resultat);
+    }
+
+    /**
+     * Événements reçus, dans l'ordre
+     */
+    private static class Enregistreur implements ProgressionService.Emetteur {
+        final List<String> noms = new ArrayList<>();
+        final List<Object> donnees = new ArrayList<>();
+        final CountDownLatch termine = new CountDownLatch(1);
+
+        @Override
+        public synchronized void envoyer(String evenement, Object contenu) throws IOException {
+            noms.add(evenement);
+            donnees.add(contenu);
+        }
+
+        @Override
+        public void terminer() {
+            termine.countDown();
+        }
+    }
+
+    @Test
+    public void testLignesRegroupeesEtRythmeLimite() {
+        long[] horloge = {0};
+        Enregistreur enregistreur = new Enregistreur();
+        ProgressionService.FluxProgression flux = service.new FluxProgression(
+            1000, 250 * MILLI, 100, enregistreur, () -> horloge[0]);
+
+        flux.demarrer();
+        // 1000 lignes à 1 ms d'intervalle : la taille maximale (100) passe avant l'intervalle (250 ms)
+        for (int i = 0; i < 1000; i++) {
+            horloge[0] += MILLI;
+            flux.accept(ligne(i));
+        }
+        flux.terminer();
+
+        // Départ, 10 événements de 100 lignes, fin : pas un événement par ligne
+        assertEquals(12, enregistreur.noms.size());
+        assertEquals("progression", enregistreur.noms.get(0));
+        assertEquals("fin", enregistreur.noms.get(11));
+        ProgressionService.Progression premier = (ProgressionService.Progression) enregistreur.donnees.get(1);
+        assertEquals(100, premier.getResultats().size());
+        assertEquals(100, premier.getTraites());
+        assertEquals(10, premier.getEchecs());
+        assertEquals(1000.0, premier.getDebit(), 1e-9);
+        assertEquals(0.9, premier.getSecondesRestantes(), 1e-9);
+
+        ProgressionService.Progression fin = (ProgressionService.Progression) enregistreur.donnees.get(11);
+        assertEquals(1000, fin.getTraites());
+        assertEquals(100, fin.getEchecs());
+        assertNull(fin.getResultats());
+        assertEquals(0.0, fin.getSecondesRestantes(), 1e-9);
+
+        // Calcul lent : une ligne toutes les 100 ms => un événement toutes les 3 lignes
+        horloge[0] = 0;
+        Enregistreur lent = new Enregistreur();
+        flux = service.new FluxProgression(9, 250 * MILLI, 100, lent, () -> horloge[0]);
+        flux.demarrer();
+        for (int i = 0; i < 9; i++) {
+            horloge[0] += 100 * MILLI;
+            flux.accept(ligne(i + 1));
+        }
+        flux.terminer();
+        assertEquals(List.of("progression", "progression", "progression", "progression", "fin"), lent.noms);
+
+        assertEquals(1009.0, registry.get("mgp.progression.lignes").counter().count());
+        assertEquals(17.0, registry.get("mgp.progression.evenements").counter().count());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testCalculSuiviPuisFileCompleteRefusee() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<LigneCohorte> sortie = invocation.getArgument(3);
+            sortie.accept(ligne(1));
+            sortie.accept(ligne(2));
+            return null;
+        }).when(cohorteService).calculerCohorte(anyList(), eq(false), any(), any(Consumer.class));
+
+        Enregistreur enregistreur = new Enregistreur();
+        List<CalculMGPPayload> cohorte = Collections.nCopies(2, new CalculMGPPayload());
+        assertTrue(service.suivreCalcul(cohorte, false, NotationUtils.BAREME_UY1, enregistreur).isPresent());
+        assertTrue(enregistreur.termine.await(5, TimeUnit.SECONDS));
+        assertEquals("fin", enregistreur.noms.get(enregistreur.noms.size() - 1));
+        int lignes = 0;
+        for (Object donnees : enregistreur.donnees) {
+            List<LigneCohorte> resultats = ((ProgressionService.Progression) donnees).getResultats();
+            lignes += resultats != null ? resultats.size() : 0;
+        }
+        assertEquals(2, lignes);
+
+        // Le pool occupé par un calcul, la file par un autre : le suivant est refusé
+        CountDownLatch bloque = new CountDownLatch(1);
+        CountDownLatch occupe = new CountDownLatch(1);
+        executor.submit(() -> { occupe.countDown(); bloque.await(); return null; });
+        assertTrue(occupe.await(5, TimeUnit.SECONDS));
+        executor.submit(() -> null);
+        assertTrue(service.suivreCalcul(cohorte, false, NotationUtils.BAREME_UY1, new Enregistreur()).isEmpty());
+        assertEquals(1.0, registry.get("mgp.progression.rejets").counter().count());
+        bloque.countDown();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testErreurEnvoyeeEtClientDeconnecte() throws Exception {
+        doThrow(new IllegalStateException("Calcul de cohorte interrompu"))
+            .when(cohorteService).calculerCohorte(anyList(), eq(false), any(), any(Consumer.class));
+        Enregistreur enregistreur = new Enregistreur();
+        List<CalculMGPPayload> cohorte = Collections.nCopies(1, new CalculMGPPayload());
+        service.suivreCalcul(cohorte, false, NotationUtils.BAREME_UY1, enregistreur);
+        assertTrue(enregistreur.termine.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("progression", "erreur"), enregistreur.noms);
+        assertEquals("Calcul de cohorte interrompu",
+            ((ProgressionService.Erreur) enregistreur.donnees.get(1)).getMessage());
+
+        // Client parti dès le premier événement : l'émetteur est quand même terminé
+        CountDownLatch termine = new CountDownLatch(1);
+        service.suivreCalcul(cohorte, false, NotationUtils.BAREME_UY1, new ProgressionService.Emetteur() {
+            @Override
+            public void envoyer(String evenement, Object donnees) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+
+            @Override
+            public void terminer() {
+                termine.countDown();
+            }
+        });
+        assertTrue(termine.await(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,81 @@
+// src/test/java/com/uy1/mgpcalculator/utils/GrilleNotationTest.java
+package com.uy1.mgpcalculator.utils;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GrilleNotationTest {
+
+    // Barème UY1 de référence, parcouru linéairement comme avant la table
+    private static final double[] SEUILS = {0, 30, 35, 40, 45, 50, 55, 60, 65, 70, 75, 80};
+    private static final String[] COTES = {"F", "E", "D", "D+", "C-", "C", "C+", "B-", "B", "B+", "A-", "A"};
+    private static final double[] QUALITE_POINTS = {0.0, 0.0, 1.0, 1.3, 1.7, 2.0, 2.3, 2.7, 3.0, 3.3, 3.7, 4.0};
+    private static final String[] MENTIONS = {
+        "Échec", "Échec", "CANT", "CANT", "CANT",
+        "Passable", "Passable", "Assez Bien", "Assez Bien", "Bien", "Bien", "Très Bien"
+    };
+
+    private static int trancheReference(double note) {
+        for (int i = SEUILS.length - 1; i >= 0; i--) {
+            if (note >= SEUILS[i]) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    private static void verifier(double note) {
+        int attendu = trancheReference(note);
+        ClassementNote classement = NotationUtils.classerNote(note);
+
+        assertEquals(COTES[attendu], classement.getCote(), "cote pour " + note);
+        assertEquals(QUALITE_POINTS[attendu], classement.getQualitePoints(), "points pour " + note);
+        assertEquals(MENTIONS[attendu], classement.getMention(), "mention pour " + note);
+    }
+
+    @Test
+    public void testSeuilsExacts() {
+        for (double seuil : SEUILS) {
+            verifier(seuil);
+            verifier(Math.nextUp(seuil));
+            if (seuil > 0) {
+                verifier(Math.nextDown(seuil));
+                verifier(seuil - 0.005);
+                verifier(seuil - 0.0001);
+            }
+        }
+        verifier(100.0);
+        verifier(Math.nextDown(100.0));
+    }
+
+    @Test
+    public void testBalayageCompletAuMillieme() {
+        for (int i = 0; i <= 100_000; i++) {
+            verifier(i / 1000.0);
+        }
+    }
+
+    @Test
+    public void testConversionsIdentiquesAuClassement() {
+        assertEquals("B+", NotationUtils.convertirNoteEnCote(70.0));
+        assertEquals(3.0, NotationUtils.convertirNoteEnQualitePoints(69.99));
+        assertEquals("CANT", NotationUtils.convertirNoteEnMention(35.0));
+        assertEquals("Échec", NotationUtils.convertirNoteEnMention(34.999999));
+    }
+
+    @Test
+    public void testNoteHorsPlage() {
+        assertThrows(IllegalArgumentException.class, () -> NotationUtils.classerNote(-0.01));
+        assertThrows(IllegalArgumentException.class, () -> NotationUtils.classerNote(100.01));
+    }
+
+    @Test
+    public void testGrilleIncoherente() {
+        assertThrows(IllegalArgumentException.class, () ->
+            new GrilleNotation(new double[] {0, 50, 40}, new String[] {"F", "C", "B"},
+                new double[] {0, 2, 3}, new String[] {"Échec", "Passable", "Bien"}));
+        assertThrows(IllegalArgumentException.class, () ->
+            new GrilleNotation(new double[] {10, 50}, new String[] {"F", "C"},
+                new double[] {0, 2}, new String[] {"Échec", "Passable"}));
+    }
+}
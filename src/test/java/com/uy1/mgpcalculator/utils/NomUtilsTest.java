@@ -0,0 +1,32 @@
+// src/test/java/com/uy1/mgpcalculator/utils/NomUtilsTest.java
+package com.uy1.mgpcalculator.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NomUtilsTest {
+
+    @Test
+    public void testNormaliserAccentsCasseEtEspaces() {
+        assertEquals("eloise ngono", NomUtils.normaliser("  Éloïse   NGONO "));
+        assertEquals("francois", NomUtils.normaliser("FRANÇOIS"));
+        assertEquals("jean-pierre o'neil", NomUtils.normaliser("Jean-Pierre\tO'Neil"));
+        assertEquals("", NomUtils.normaliser("   "));
+        assertNull(NomUtils.normaliser(null));
+        // Même clé quelle que soit la forme Unicode de l'accent (composé ou décomposé)
+        assertEquals(NomUtils.normaliser("Éloïse"), NomUtils.normaliser("Éloïse"));
+    }
+
+    @Test
+    public void testMotsDuNomNormalise() {
+        assertEquals(List.of("eloise", "ngono"), NomUtils.mots("eloise ngono"));
+        assertEquals(List.of("jean", "pierre", "o", "neil"), NomUtils.mots("jean-pierre o'neil"));
+        assertEquals(List.of("awa", "2"), NomUtils.mots("awa awa 2"));
+        assertEquals(List.of("eloise"), NomUtils.mots("eloise%"));
+        assertTrue(NomUtils.mots("% _").isEmpty());
+        assertTrue(NomUtils.mots(null).isEmpty());
+    }
+}
@@ -0,0 +1,90 @@
+// src/test/java/com/uy1/mgpcalculator/utils/NoyauMGPTest.java
+package com.uy1.mgpcalculator.utils;
+
+import com.uy1.mgpcalculator.model.UE;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class NoyauMGPTest {
+
+    @Test
+    public void testMemesResultatsQueNotationUtils() {
+        NoyauMGP noyau = new NoyauMGP(NotationUtils.BAREME_UY1, 2);
+        Random random = new Random(42);
+
+        for (int essai = 0; essai < 10_000; essai++) {
+            int nombreUE = 1 + random.nextInt(12);
+            double[] notes = new double[nombreUE];
+            byte[] credits = new byte[nombreUE];
+            List<UE> ues = new ArrayList<>(nombreUE);
+            for (int i = 0; i < nombreUE; i++) {
+                notes[i] = Math.round(random.nextDouble() * 10_000) / 100.0;
+                credits[i] = (byte) (random.nextBoolean() ? 6 : 3);
+                ues.add(new UE("UE " + i, (int) credits[i], notes[i]));
+            }
+
+            double mgp = NotationUtils.calculerMGP(ues);
+            // Somme dans l'ordre des UE, comme calculerMGP (DoubleStream.sum compense les arrondis)
+            double totalPoints = 0;
+            for (UE ue : ues) {
+                totalPoints += ue.getPointsTotaux();
+            }
+            assertEquals(mgp, noyau.calculer(notes, credits, nombreUE));
+            assertEquals(ues.stream().mapToInt(UE::getCredits).sum(), noyau.getTotalCredits());
+            assertEquals(totalPoints, noyau.getTotalPoints());
+            assertEquals(NotationUtils.convertirMgpEnMention(mgp), noyau.getMention());
+            assertEquals(mgp >= 2.0, noyau.isAdmis());
+            assertEquals(ues.stream().filter(NotationUtils::isUEValidee).count(), noyau.getNombreValidees());
+            assertEquals(ues.stream().filter(NotationUtils::isUEEnEchec).count(), noyau.getNombreEchecs());
+            for (int i = 0; i < nombreUE; i++) {
+                assertEquals(ues.get(i).getCote(), noyau.getClassement(i).getCote());
+            }
+        }
+    }
+
+    @Test
+    public void testEntreesInvalides() {
+        NoyauMGP noyau = new NoyauMGP();
+        assertThrows(IllegalArgumentException.class, () -> noyau.calculer(new double[0], new byte[0], 0));
+        assertThrows(IllegalArgumentException.class, () -> noyau.calculer(new double[] {100.5}, new byte[] {3}, 1));
+        assertThrows(IllegalArgumentException.class, () -> noyau.calculer(new double[] {Double.NaN}, new byte[] {3}, 1));
+        assertThrows(IllegalArgumentException.class, () -> noyau.calculer(new double[] {50}, new byte[] {-3}, 1));
+    }
+
+    @Test
+    public void testAucuneAllocationParCalcul() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        int nombreCalculs = 200_000;
+        double[] notes = {85.0, 42.5, 67.0, 31.0, 55.25, 78.0};
+        byte[] credits = {6, 3, 6, 3, 6, 3};
+        NoyauMGP noyau = new NoyauMGP();
+
+        // Préchauffage : compilation du noyau
+        double somme = 0;
+        for (int i = 0; i < nombreCalculs; i++) {
+            notes[0] = i % 101;
+            somme += noyau.calculer(notes, credits, notes.length) + noyau.getMention().length();
+        }
+
+        long avant = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < nombreCalculs; i++) {
+            notes[0] = i % 101;
+            somme += noyau.calculer(notes, credits, notes.length) + noyau.getMention().length();
+        }
+        long alloues = threads.getCurrentThreadAllocatedBytes() - avant;
+
+        assertTrue(somme > 0);
+        assertEquals(0, alloues / nombreCalculs, "octets alloués par calcul (" + alloues + " au total)");
+    }
+}